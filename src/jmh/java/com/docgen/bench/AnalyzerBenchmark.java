@@ -0,0 +1,55 @@
+package com.docgen.bench;
+
+import com.docgen.model.JavaFileInfo;
+import com.docgen.progress.ProgressSink;
+import com.docgen.service.CodeAnalyzerService;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AnalyzerBenchmark - CodeAnalyzerService.analyzeFile on small, typical and huge files.
+ *
+ * Sources are generated in memory, so this measures parsing and model
+ * extraction only (no disk, no cache). The score is the average time per
+ * file. ParseModeBenchmark compares the analysis modes on one size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyzerBenchmark {
+
+    private static final int FILES = 10;
+
+    @Param({"SMALL", "TYPICAL", "HUGE"})
+    public SyntheticCorpus.SourceSize size;
+
+    private List<String> sources;
+    private final Path path = Paths.get("Generated.java");
+    private CodeAnalyzerService analyzer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sources = SyntheticCorpus.javaSources(FILES, size);
+        analyzer = new CodeAnalyzerService();
+        analyzer.setProgressSink(ProgressSink.silent());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILES)
+    public int analyzeFile() {
+        int methods = 0;
+        for (String source : sources) {
+            JavaFileInfo fileInfo = new JavaFileInfo(path);
+            fileInfo.setContent(source);
+            methods += analyzer.analyzeFile(fileInfo).getTotalMethodCount();
+        }
+        return methods;
+    }
+}
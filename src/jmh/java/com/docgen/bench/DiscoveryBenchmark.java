@@ -0,0 +1,95 @@
+package com.docgen.bench;
+
+import com.docgen.config.DocGeneratorConfig;
+import com.docgen.model.JavaFileInfo;
+import com.docgen.progress.ProgressSink;
+import com.docgen.service.FileDiscoveryService;
+import com.docgen.service.ParallelFileWalker;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * DiscoveryBenchmark - Finding .java files in a large synthetic tree.
+ *
+ * The tree has 500k entries, 40% of them under node_modules/ and target/.
+ * Compares:
+ * - filesWalk: the old approach, Files.walk over everything and then
+ *   filtering each path with shouldExclude
+ * - prunedSerial: ParallelFileWalker with one thread (pruning only)
+ * - prunedParallel: ParallelFileWalker with one thread per core
+ * - discoverJavaFiles: the full FileDiscoveryService call (walk with one
+ *   thread per core, plus a JavaFileInfo for every file found)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DiscoveryBenchmark {
+
+    @Param({"500000"})
+    public int entries;
+
+    private Path root;
+    private DocGeneratorConfig serialConfig;
+    private DocGeneratorConfig parallelConfig;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("docgen-bench-tree");
+        SyntheticCorpus.createSourceTree(root, entries);
+
+        serialConfig = config(1);
+        parallelConfig = config(Runtime.getRuntime().availableProcessors());
+    }
+
+    private DocGeneratorConfig config(int threads) {
+        return DocGeneratorConfig.builder()
+                .projectPath(root)
+                .excludePattern("node_modules")
+                .excludePattern("target")
+                .parallelism(threads)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        SyntheticCorpus.deleteRecursively(root);
+    }
+
+    @Benchmark
+    public List<Path> filesWalk() throws IOException {
+        try (Stream<Path> paths = Files.walk(root, serialConfig.getMaxDepth())) {
+            return paths
+                    .filter(Files::isRegularFile)
+                    .filter(path -> path.toString().endsWith(".java"))
+                    .filter(path -> !serialConfig.shouldExclude(path))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Benchmark
+    public List<Path> prunedSerial() {
+        return new ParallelFileWalker(serialConfig, ProgressSink.silent()).walk(root);
+    }
+
+    @Benchmark
+    public List<Path> prunedParallel() {
+        return new ParallelFileWalker(parallelConfig, ProgressSink.silent()).walk(root);
+    }
+
+    @Benchmark
+    public List<JavaFileInfo> discoverJavaFiles() throws IOException {
+        FileDiscoveryService discovery = new FileDiscoveryService(parallelConfig);
+        discovery.setProgressSink(ProgressSink.silent());
+        return discovery.discoverJavaFiles();
+    }
+}
@@ -0,0 +1,92 @@
+package com.docgen.bench;
+
+import com.docgen.config.ChangeDetail;
+import com.docgen.model.CommitInfo;
+import com.docgen.progress.ProgressSink;
+import com.docgen.service.GitAnalyzerService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GitAnalyzerBenchmark - GitAnalyzerService.getCommitHistory on a generated repository.
+ *
+ * Measures the whole service call the way Main uses it: open the
+ * repository, read the full history, close.
+ * - fullHistory: no commit index, every commit is walked and diffed
+ *   (diffThreads > 1 diffs on a worker pool while the log is walked;
+ *   PATHS only compares trees, LINE_STATS also counts every file's lines)
+ * - indexedHistory: with a warm commit index (nothing new since last run)
+ *
+ * GitHistoryBenchmark looks at the diff loop alone, in commits/second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GitAnalyzerBenchmark {
+
+    @Param({"500"})
+    public int commits;
+
+    @Param({"200"})
+    public int files;
+
+    @Param({"1", "4"})
+    public int diffThreads;
+
+    @Param({"PATHS", "LINE_STATS"})
+    public ChangeDetail changeDetail;
+
+    private Path repoDir;
+    private Path indexFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        repoDir = Files.createTempDirectory("docgen-bench-history");
+        SyntheticCorpus.createGitRepository(repoDir, commits, files);
+
+        // Fill the commit index once, so indexedHistory only measures the warm path
+        indexFile = Files.createTempDirectory("docgen-bench-index").resolve("commit-index.bin");
+        indexedHistory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        SyntheticCorpus.deleteRecursively(repoDir);
+        SyntheticCorpus.deleteRecursively(indexFile.getParent());
+    }
+
+    @Benchmark
+    public List<CommitInfo> fullHistory() {
+        GitAnalyzerService service = new GitAnalyzerService();
+        service.setProgressSink(ProgressSink.silent());
+        try {
+            service.openRepository(repoDir);
+            service.enableConcurrentDiffs(diffThreads);
+            service.setChangeDetail(changeDetail);
+            return service.getCommitHistory(0);
+        } finally {
+            service.close();
+        }
+    }
+
+    @Benchmark
+    public List<CommitInfo> indexedHistory() {
+        GitAnalyzerService service = new GitAnalyzerService();
+        service.setProgressSink(ProgressSink.silent());
+        try {
+            service.openRepository(repoDir);
+            service.enableCommitIndex(indexFile);
+            return service.getCommitHistory(0);
+        } finally {
+            service.close();
+        }
+    }
+}
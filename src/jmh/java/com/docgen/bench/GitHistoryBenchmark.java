@@ -0,0 +1,160 @@
+package com.docgen.bench;
+
+import com.docgen.config.ChangeDetail;
+import com.docgen.model.FileChangeInfo;
+import com.docgen.service.GitHistoryWalk;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffFormatter;
+import org.eclipse.jgit.diff.Edit;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.treewalk.AbstractTreeIterator;
+import org.eclipse.jgit.treewalk.CanonicalTreeParser;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
+import org.eclipse.jgit.util.io.DisabledOutputStream;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GitHistoryBenchmark - Commits per second when diffing a whole history.
+ *
+ * Compares:
+ * - perCommitResources: the old approach, which opened a new ObjectReader,
+ *   DiffFormatter and RevWalk for every commit (and for every tree)
+ * - sharedSession: one GitHistoryWalk for the whole traversal
+ * - pathsOnly: the same session with ChangeDetail.PATHS - tree diffs only,
+ *   no blobs are loaded (what a changed-path list actually needs)
+ *
+ * The score is in commits/second (ops = commits).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GitHistoryBenchmark {
+
+    private static final int COMMITS = 500;
+
+    @Param({"200"})
+    public int files;
+
+    private Path repoDir;
+    private Repository repository;
+    private List<RevCommit> commits;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        repoDir = Files.createTempDirectory("docgen-bench-git");
+        SyntheticCorpus.createGitRepository(repoDir, COMMITS, files);
+
+        repository = new FileRepositoryBuilder()
+                .setGitDir(repoDir.resolve(".git").toFile())
+                .build();
+
+        commits = new ArrayList<>(COMMITS);
+        try (RevWalk walk = new RevWalk(repository)) {
+            walk.markStart(walk.parseCommit(repository.resolve("HEAD")));
+            for (RevCommit commit : walk) {
+                commits.add(commit);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        repository.close();
+        SyntheticCorpus.deleteRecursively(repoDir);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COMMITS)
+    public long sharedSession() throws IOException {
+        long lines = 0;
+        try (GitHistoryWalk walk = new GitHistoryWalk(repository)) {
+            for (RevCommit commit : commits) {
+                for (FileChangeInfo change : walk.getFileChanges(commit)) {
+                    lines += change.getTotalLinesChanged();
+                }
+            }
+        }
+        return lines;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COMMITS)
+    public long pathsOnly() throws IOException {
+        long changes = 0;
+        try (GitHistoryWalk walk = new GitHistoryWalk(repository, ChangeDetail.PATHS)) {
+            for (RevCommit commit : commits) {
+                changes += walk.getFileChanges(commit).size();
+            }
+        }
+        return changes;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COMMITS)
+    public long perCommitResources() throws IOException {
+        long lines = 0;
+        for (RevCommit commit : commits) {
+            lines += legacyLinesChanged(commit);
+        }
+        return lines;
+    }
+
+    // ==================== BASELINE ====================
+    // A copy of the per-commit allocation pattern GitAnalyzerService used
+    // before GitHistoryWalk existed. Kept here only as a reference point.
+
+    private long legacyLinesChanged(RevCommit commit) throws IOException {
+        long lines = 0;
+
+        try (ObjectReader reader = repository.newObjectReader();
+             DiffFormatter diffFormatter = new DiffFormatter(DisabledOutputStream.INSTANCE)) {
+
+            diffFormatter.setRepository(repository);
+            diffFormatter.setDetectRenames(true);
+
+            AbstractTreeIterator newTreeIter = legacyTreeParser(commit);
+            AbstractTreeIterator oldTreeIter;
+            if (commit.getParentCount() > 0) {
+                RevCommit parent;
+                try (RevWalk revWalk = new RevWalk(repository)) {
+                    parent = revWalk.parseCommit(commit.getParent(0).getId());
+                }
+                oldTreeIter = legacyTreeParser(parent);
+            } else {
+                oldTreeIter = new EmptyTreeIterator();
+            }
+
+            for (DiffEntry diff : diffFormatter.scan(oldTreeIter, newTreeIter)) {
+                for (Edit edit : diffFormatter.toFileHeader(diff).toEditList()) {
+                    lines += (edit.getEndB() - edit.getBeginB()) + (edit.getEndA() - edit.getBeginA());
+                }
+            }
+        }
+
+        return lines;
+    }
+
+    private AbstractTreeIterator legacyTreeParser(RevCommit commit) throws IOException {
+        try (RevWalk walk = new RevWalk(repository)) {
+            CanonicalTreeParser treeParser = new CanonicalTreeParser();
+            try (ObjectReader reader = repository.newObjectReader()) {
+                treeParser.reset(reader, walk.parseTree(commit.getTree().getId()).getId());
+            }
+            return treeParser;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.docgen.bench;
+
+import com.docgen.config.ChangeDetail;
+import com.docgen.model.FileChangeInfo;
+import com.docgen.service.GitHistoryWalk;
+import com.docgen.service.HistoryPathFilter;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GitPathFilterBenchmark - Time to diff a whole mixed-language history.
+ *
+ * The repository has Java, JavaScript, JSON and binary image files, and
+ * only about a quarter of the edits touch Java.
+ *
+ * Compares (filter param):
+ * - ALL: every path is diffed and counted, then non-Java files are thrown
+ *   away - what the generator did before the history path filter existed
+ * - JAVA: HistoryPathFilter limits both the walk and the diffs to .java
+ *   files, so commits without Java changes are skipped entirely
+ *
+ * Both return the same number (lines changed in Java files).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GitPathFilterBenchmark {
+
+    private static final int COMMITS = 500;
+
+    @Param({"ALL", "JAVA"})
+    public String filter;
+
+    @Param({"100"})
+    public int files;
+
+    private Path repoDir;
+    private Repository repository;
+    private TreeFilter pathFilter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        repoDir = Files.createTempDirectory("docgen-bench-mixed");
+        SyntheticCorpus.createMixedGitRepository(repoDir, COMMITS, files);
+
+        repository = new FileRepositoryBuilder()
+                .setGitDir(repoDir.resolve(".git").toFile())
+                .build();
+
+        pathFilter = filter.equals("JAVA")
+                ? HistoryPathFilter.create(List.of(".java"), List.of(), List.of())
+                : TreeFilter.ALL;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        repository.close();
+        SyntheticCorpus.deleteRecursively(repoDir);
+    }
+
+    @Benchmark
+    public long javaLinesChanged() throws IOException {
+        long lines = 0;
+        try (RevWalk log = new RevWalk(repository);
+             GitHistoryWalk walk = new GitHistoryWalk(repository, ChangeDetail.LINE_STATS, pathFilter)) {
+            log.markStart(log.parseCommit(repository.resolve("HEAD")));
+            if (pathFilter != TreeFilter.ALL) {
+                // Same setup as GitAnalyzerService: skip commits the filter hides
+                log.setTreeFilter(AndTreeFilter.create(pathFilter, TreeFilter.ANY_DIFF));
+                log.setRewriteParents(false);
+            }
+            for (RevCommit commit : log) {
+                for (FileChangeInfo change : walk.getFileChanges(commit)) {
+                    if (change.getPath().endsWith(".java")) {
+                        lines += change.getTotalLinesChanged();
+                    }
+                }
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,77 @@
+package com.docgen.bench;
+
+import com.docgen.model.LineIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LineIndexBenchmark - Line counting and previews: split("\n") vs LineIndex.
+ *
+ * Compares, for one generated source file:
+ * - splitCount / splitPreview: the old approach, content.split("\n")
+ *   (one String per line, plus the array holding them)
+ * - indexCount / indexPreview: one scan into an int[] of line starts,
+ *   previews copy characters straight from the content
+ *
+ * The interesting number is the allocation per operation, so run with the
+ * GC profiler:
+ *
+ *   java -jar target/benchmarks.jar LineIndexBenchmark -prof gc
+ *
+ * and compare gc.alloc.rate.norm (bytes/op) between the two approaches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LineIndexBenchmark {
+
+    private static final int PREVIEW_LINES = 20;
+
+    @Param({"20", "500"})
+    public int methods;
+
+    private String content;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        content = SyntheticCorpus.javaSource("Generated", methods, new Random(42));
+    }
+
+    @Benchmark
+    public int splitCount() {
+        return content.isEmpty() ? 0 : content.split("\n").length;
+    }
+
+    @Benchmark
+    public int indexCount() {
+        return LineIndex.of(content).getLineCount();
+    }
+
+    @Benchmark
+    public void splitPreview(Blackhole blackhole) {
+        String[] lines = content.split("\n");
+        StringBuilder preview = new StringBuilder();
+        for (int i = 0; i < Math.min(lines.length, PREVIEW_LINES); i++) {
+            preview.append(lines[i]).append('\n');
+        }
+        blackhole.consume(lines.length);
+        blackhole.consume(preview);
+    }
+
+    @Benchmark
+    public void indexPreview(Blackhole blackhole) {
+        LineIndex lines = LineIndex.of(content);
+        StringBuilder preview = new StringBuilder();
+        for (int line = 1; line <= Math.min(lines.getLineCount(), PREVIEW_LINES); line++) {
+            preview.append(content, lines.getLineStart(line), lines.getLineEnd(line)).append('\n');
+        }
+        blackhole.consume(lines.getLineCount());
+        blackhole.consume(preview);
+    }
+}
@@ -0,0 +1,100 @@
+package com.docgen.bench;
+
+import com.docgen.model.ClassInfo;
+import com.docgen.model.FieldInfo;
+import com.docgen.model.JavaFileInfo;
+import com.docgen.model.JavaModifier;
+import com.docgen.model.MethodInfo;
+import com.docgen.progress.ProgressSink;
+import com.docgen.service.CodeAnalyzerService;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ModifierBenchmark - Filtering every member of a project by visibility.
+ *
+ * What report generation does over and over: "how many public methods
+ * and fields are there?". Compares:
+ * - modifierMask: isPublic() on the model, one AND on an int per member
+ * - stringList: the old List<String>.contains("public") check, on copies
+ *   of the same modifiers (a reference point only)
+ *
+ * The score is the time for one pass over all members.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModifierBenchmark {
+
+    private static final int FILES = 100;
+
+    private List<MethodInfo> methods;
+    private List<FieldInfo> fields;
+    private List<List<String>> methodModifiers;
+    private List<List<String>> fieldModifiers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CodeAnalyzerService analyzer = new CodeAnalyzerService();
+        analyzer.setProgressSink(ProgressSink.silent());
+        methods = new ArrayList<>();
+        fields = new ArrayList<>();
+        for (String source : SyntheticCorpus.javaSources(FILES, SyntheticCorpus.SourceSize.TYPICAL)) {
+            JavaFileInfo fileInfo = new JavaFileInfo(Paths.get("Generated.java"));
+            fileInfo.setContent(source);
+            for (ClassInfo classInfo : analyzer.analyzeFile(fileInfo).getClasses()) {
+                methods.addAll(classInfo.getMethods());
+                fields.addAll(classInfo.getFields());
+            }
+        }
+
+        // The old representation: a mutable list of keywords per member
+        methodModifiers = new ArrayList<>();
+        for (MethodInfo method : methods) {
+            methodModifiers.add(new ArrayList<>(method.getModifiers()));
+        }
+        fieldModifiers = new ArrayList<>();
+        for (FieldInfo field : fields) {
+            fieldModifiers.add(new ArrayList<>(field.getModifiers()));
+        }
+    }
+
+    @Benchmark
+    public int modifierMask() {
+        int count = 0;
+        for (MethodInfo method : methods) {
+            if (method.isPublic()) {
+                count++;
+            }
+        }
+        for (FieldInfo field : fields) {
+            if (field.isPublic()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int stringList() {
+        int count = 0;
+        for (List<String> modifiers : methodModifiers) {
+            if (modifiers.contains(JavaModifier.PUBLIC.getKeyword())) {
+                count++;
+            }
+        }
+        for (List<String> modifiers : fieldModifiers) {
+            if (modifiers.contains(JavaModifier.PUBLIC.getKeyword())) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
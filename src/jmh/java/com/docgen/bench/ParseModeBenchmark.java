@@ -0,0 +1,80 @@
+package com.docgen.bench;
+
+import com.docgen.config.AnalysisMode;
+import com.docgen.config.DocGeneratorConfig;
+import com.docgen.model.JavaFileInfo;
+import com.docgen.progress.ProgressSink;
+import com.docgen.service.CodeAnalyzerService;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ParseModeBenchmark - Full parsing vs structure-only parsing.
+ *
+ * Analyzes the same corpus of generated classes with each AnalysisMode:
+ * - FULL: JavaParser builds every statement and expression of every body
+ * - STRUCTURE_ONLY: bodies are blanked first, only declarations are built
+ *
+ * The score is in files/second (ops = files). For the allocation side run
+ * with the GC profiler and compare gc.alloc.rate.norm (bytes per file):
+ *
+ *   java -jar target/benchmarks.jar ParseModeBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseModeBenchmark {
+
+    private static final int FILES = 200;
+
+    @Param({"FULL", "STRUCTURE_ONLY"})
+    public AnalysisMode mode;
+
+    @Param({"40"})
+    public int methods;
+
+    private final List<String> sources = new ArrayList<>(FILES);
+    private final List<Path> paths = new ArrayList<>(FILES);
+    private CodeAnalyzerService analyzer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < FILES; i++) {
+            sources.add(SyntheticCorpus.javaSource("Generated" + i, methods, random));
+            paths.add(Paths.get("Generated" + i + ".java"));
+        }
+
+        analyzer = new CodeAnalyzerService(DocGeneratorConfig.builder()
+                .projectPath(".")
+                .analysisMode(mode)
+                .build(), ProgressSink.silent());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        analyzer.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILES)
+    public int analyze() {
+        int methodCount = 0;
+        for (int i = 0; i < FILES; i++) {
+            JavaFileInfo fileInfo = new JavaFileInfo(paths.get(i));
+            fileInfo.setContent(sources.get(i));
+            analyzer.analyzeFile(fileInfo);
+            methodCount += fileInfo.getTotalMethodCount();
+        }
+        return methodCount;
+    }
+}
@@ -0,0 +1,64 @@
+package com.docgen.bench;
+
+import com.docgen.config.ReadMode;
+import com.docgen.model.JavaFileInfo;
+import com.docgen.progress.ProgressSink;
+import com.docgen.service.FileReaderService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReaderBenchmark - FileReaderService.readFile on small, typical and huge files.
+ *
+ * Each invocation reads every file of the corpus once; the score is the
+ * average time per file. Run with -prof gc to see bytes allocated per file
+ * for each ReadMode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReaderBenchmark {
+
+    private static final int FILES = 50;
+
+    @Param({"SMALL", "TYPICAL", "HUGE"})
+    public SyntheticCorpus.SourceSize size;
+
+    @Param({"STANDARD", "BYTES"})
+    public ReadMode readMode;
+
+    private Path dir;
+    private List<Path> files;
+    private FileReaderService reader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("docgen-bench-read");
+        files = SyntheticCorpus.writeJavaFiles(dir, FILES, size);
+        reader = new FileReaderService(readMode);
+        reader.setProgressSink(ProgressSink.silent());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        SyntheticCorpus.deleteRecursively(dir);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILES)
+    public int readFile() throws IOException {
+        int lines = 0;
+        for (Path file : files) {
+            lines += reader.readFile(new JavaFileInfo(file)).getLineCount();
+        }
+        return lines;
+    }
+}
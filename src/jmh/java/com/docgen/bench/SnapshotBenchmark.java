@@ -0,0 +1,89 @@
+package com.docgen.bench;
+
+import com.docgen.model.CommitInfo;
+import com.docgen.model.JavaFileInfo;
+import com.docgen.progress.ProgressSink;
+import com.docgen.service.CodeAnalyzerService;
+import com.docgen.storage.SnapshotReader;
+import com.docgen.storage.SnapshotWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SnapshotBenchmark - Time to save and load the model of a whole project.
+ *
+ * The model is TYPICAL generated files, analyzed once in setup. Compares:
+ * - write: SnapshotWriter, every file to one snapshot
+ * - load: SnapshotReader, mapping the snapshot and decoding every file
+ *   (what a later step pays instead of analyzing again - see
+ *   AnalyzerBenchmark for the cost of that, per file)
+ *
+ * The score is the time for the whole project.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    @Param({"1000", "10000"})
+    public int files;
+
+    private Path dir;
+    private Path snapshot;
+    private List<JavaFileInfo> model;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("docgen-bench-snapshot");
+        snapshot = dir.resolve("model-snapshot.bin");
+
+        // Analyzing 10k files takes a while - analyze distinct sources once, then reuse them
+        List<String> sources = SyntheticCorpus.javaSources(Math.min(files, 200), SyntheticCorpus.SourceSize.TYPICAL);
+        CodeAnalyzerService analyzer = new CodeAnalyzerService();
+        analyzer.setProgressSink(ProgressSink.silent());
+        model = new ArrayList<>(files);
+        for (int i = 0; i < files; i++) {
+            JavaFileInfo fileInfo = new JavaFileInfo(dir.resolve("src/p" + (i / 100)).resolve("Generated" + i + ".java"));
+            fileInfo.setContent(sources.get(i % sources.size()));
+            analyzer.analyzeFile(fileInfo);
+            fileInfo.releaseContent();
+            model.add(fileInfo);
+        }
+
+        write();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        SyntheticCorpus.deleteRecursively(dir);
+    }
+
+    @Benchmark
+    public long write() throws IOException {
+        try (SnapshotWriter writer = SnapshotWriter.create(snapshot, dir)) {
+            for (JavaFileInfo fileInfo : model) {
+                writer.writeFile(fileInfo);
+            }
+        }
+        return Files.size(snapshot);
+    }
+
+    @Benchmark
+    public int load() throws IOException {
+        List<JavaFileInfo> loaded = new ArrayList<>(files);
+        List<CommitInfo> commits = new ArrayList<>();
+        try (SnapshotReader reader = SnapshotReader.open(snapshot)) {
+            reader.read(loaded::add, commits::add);
+        }
+        return loaded.size();
+    }
+}
@@ -0,0 +1,339 @@
+package com.docgen.bench;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.PersonIdent;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * SyntheticCorpus - Generates reproducible inputs for the benchmarks.
+ *
+ * Everything is derived from a fixed seed, so two runs (on two machines)
+ * benchmark exactly the same data - no network, no real project needed.
+ */
+public final class SyntheticCorpus {
+
+    private static final long SEED = 42L;
+
+    // Commit timestamps start here and advance one minute per commit
+    private static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+
+    private SyntheticCorpus() {
+    }
+
+    // ==================== GIT REPOSITORIES ====================
+
+    /**
+     * Create a Git repository with a linear history.
+     *
+     * The first commit adds all files; every later commit edits a few
+     * random files, so each diff has real line changes to count.
+     *
+     * @param dir Empty directory for the repository
+     * @param commitCount Number of commits to create
+     * @param fileCount Number of Java files in the tree
+     */
+    public static void createGitRepository(Path dir, int commitCount, int fileCount)
+            throws IOException, GitAPIException {
+        Random random = new Random(SEED);
+
+        try (Git git = Git.init().setDirectory(dir.toFile()).call()) {
+            for (int i = 0; i < fileCount; i++) {
+                writeJavaFile(dir, i, 40, random);
+            }
+            commit(git, 0, "Initial commit");
+
+            for (int c = 1; c < commitCount; c++) {
+                int edits = 1 + random.nextInt(4);
+                for (int e = 0; e < edits; e++) {
+                    appendLines(dir.resolve(javaFileName(random.nextInt(fileCount))), c, random);
+                }
+                commit(git, c, "Change " + c);
+            }
+        }
+    }
+
+    /**
+     * Create a Git repository that mixes Java with other languages and assets.
+     *
+     * Next to every Java file there is a JavaScript file, a JSON file and a
+     * binary image. Every later commit edits a few random files of any kind,
+     * so only about a quarter of the changes touch Java - like a web app
+     * with a Java backend.
+     *
+     * @param dir Empty directory for the repository
+     * @param commitCount Number of commits to create
+     * @param fileCount Number of Java files (the tree has 4x as many files)
+     */
+    public static void createMixedGitRepository(Path dir, int commitCount, int fileCount)
+            throws IOException, GitAPIException {
+        Random random = new Random(SEED);
+        Files.createDirectories(dir.resolve("web"));
+        Files.createDirectories(dir.resolve("data"));
+        Files.createDirectories(dir.resolve("assets"));
+
+        try (Git git = Git.init().setDirectory(dir.toFile()).call()) {
+            for (int i = 0; i < fileCount; i++) {
+                writeJavaFile(dir, i, 40, random);
+                Files.writeString(dir.resolve(scriptFileName(i)), script(i, random), StandardCharsets.UTF_8);
+                Files.writeString(dir.resolve(dataFileName(i)), json(i, random), StandardCharsets.UTF_8);
+                Files.write(dir.resolve(imageFileName(i)), image(random));
+            }
+            commit(git, 0, "Initial commit");
+
+            for (int c = 1; c < commitCount; c++) {
+                int edits = 1 + random.nextInt(4);
+                for (int e = 0; e < edits; e++) {
+                    int file = random.nextInt(fileCount);
+                    switch (random.nextInt(4)) {
+                        case 0 -> appendLines(dir.resolve(javaFileName(file)), c, random);
+                        case 1 -> appendLines(dir.resolve(scriptFileName(file)), c, random);
+                        case 2 -> Files.writeString(dir.resolve(dataFileName(file)), json(c, random),
+                                StandardCharsets.UTF_8);
+                        default -> Files.write(dir.resolve(imageFileName(file)), image(random));
+                    }
+                }
+                commit(git, c, "Change " + c);
+            }
+        }
+    }
+
+    private static void commit(Git git, int index, String message) throws GitAPIException {
+        PersonIdent ident = new PersonIdent("Bench Author", "bench@example.com",
+                EPOCH.plusSeconds(60L * index), ZoneOffset.UTC);
+
+        git.add().addFilepattern(".").call();
+        git.commit()
+                .setMessage(message)
+                .setAuthor(ident)
+                .setCommitter(ident)
+                .setSign(false)
+                .call();
+    }
+
+    // ==================== JAVA SOURCES ====================
+
+    /**
+     * Source file sizes used by the per-file benchmarks
+     */
+    public enum SourceSize {
+        SMALL(5),       // ~80 lines: a DTO, a small interface
+        TYPICAL(40),    // ~500 lines: an ordinary service class
+        HUGE(2000);     // ~26k lines: generated code, a giant legacy class
+
+        private final int methodCount;
+
+        SourceSize(int methodCount) {
+            this.methodCount = methodCount;
+        }
+
+        public int getMethodCount() {
+            return methodCount;
+        }
+    }
+
+    /**
+     * Generate the given number of Java sources of one size (same seed, same sources)
+     */
+    public static List<String> javaSources(int count, SourceSize size) {
+        Random random = new Random(SEED);
+        List<String> sources = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            sources.add(javaSource("Generated" + i, size.getMethodCount(), random));
+        }
+        return sources;
+    }
+
+    /**
+     * Write Java sources of one size into a directory
+     *
+     * @return The written files, in order
+     */
+    public static List<Path> writeJavaFiles(Path dir, int count, SourceSize size) throws IOException {
+        List<Path> files = new ArrayList<>(count);
+        List<String> sources = javaSources(count, size);
+        for (int i = 0; i < count; i++) {
+            Path file = dir.resolve(javaFileName(i));
+            Files.writeString(file, sources.get(i), StandardCharsets.UTF_8);
+            files.add(file);
+        }
+        return files;
+    }
+
+    /**
+     * Generate a Java class with roughly the given number of methods
+     *
+     * @param className Name of the class
+     * @param methodCount Number of methods
+     * @param random Source of randomness (use a seeded Random)
+     * @return Java source code
+     */
+    public static String javaSource(String className, int methodCount, Random random) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("package com.example.generated;\n\n");
+        sb.append("import java.util.List;\n");
+        sb.append("import java.util.ArrayList;\n\n");
+        sb.append("/**\n * Generated class ").append(className).append(".\n */\n");
+        sb.append("public class ").append(className).append(" {\n\n");
+        sb.append("    private final List<String> items = new ArrayList<>();\n");
+        sb.append("    private int counter = ").append(random.nextInt(100)).append(";\n\n");
+
+        for (int m = 0; m < methodCount; m++) {
+            sb.append("    /**\n");
+            sb.append("     * Method number ").append(m).append(".\n");
+            sb.append("     * @param value the input value\n");
+            sb.append("     * @return the computed result\n");
+            sb.append("     */\n");
+            sb.append("    public int method").append(m).append("(int value) {\n");
+            sb.append("        int result = value * ").append(random.nextInt(50) + 1).append(";\n");
+            sb.append("        for (String item : items) {\n");
+            sb.append("            if (item.length() > result) {\n");
+            sb.append("                result += item.hashCode() % ").append(random.nextInt(9) + 2).append(";\n");
+            sb.append("            }\n");
+            sb.append("        }\n");
+            sb.append("        counter++;\n");
+            sb.append("        return result;\n");
+            sb.append("    }\n\n");
+        }
+
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private static void writeJavaFile(Path dir, int index, int methodCount, Random random)
+            throws IOException {
+        String className = "Generated" + index;
+        Files.writeString(dir.resolve(javaFileName(index)),
+                javaSource(className, methodCount, random), StandardCharsets.UTF_8);
+    }
+
+    private static void appendLines(Path file, int commitIndex, Random random) throws IOException {
+        StringBuilder extra = new StringBuilder();
+        int lines = 1 + random.nextInt(5);
+        for (int i = 0; i < lines; i++) {
+            extra.append("// change ").append(commitIndex).append('.').append(i).append('\n');
+        }
+        Files.writeString(file, extra, StandardCharsets.UTF_8,
+                java.nio.file.StandardOpenOption.APPEND);
+    }
+
+    private static String javaFileName(int index) {
+        return "Generated" + index + ".java";
+    }
+
+    // ==================== OTHER FILES ====================
+
+    private static String script(int index, Random random) {
+        StringBuilder sb = new StringBuilder("// Generated script ").append(index).append('\n');
+        for (int f = 0; f < 60; f++) {
+            sb.append("export function handler").append(f).append("(event) {\n");
+            sb.append("    return event.value * ").append(random.nextInt(50) + 1).append(";\n");
+            sb.append("}\n\n");
+        }
+        return sb.toString();
+    }
+
+    private static String json(int seed, Random random) {
+        StringBuilder sb = new StringBuilder("{\n  \"version\": ").append(seed).append(",\n  \"items\": [\n");
+        for (int i = 0; i < 100; i++) {
+            sb.append("    {\"id\": ").append(i).append(", \"weight\": ").append(random.nextInt(1000)).append("},\n");
+        }
+        return sb.append("    {}\n  ]\n}\n").toString();
+    }
+
+    private static byte[] image(Random random) {
+        byte[] bytes = new byte[16 * 1024];
+        random.nextBytes(bytes);
+        bytes[0] = (byte) 0x89;  // PNG signature start, and a NUL so Git sees it as binary
+        bytes[1] = 0;
+        return bytes;
+    }
+
+    private static String scriptFileName(int index) {
+        return "web/handler" + index + ".js";
+    }
+
+    private static String dataFileName(int index) {
+        return "data/config" + index + ".json";
+    }
+
+    private static String imageFileName(int index) {
+        return "assets/image" + index + ".png";
+    }
+
+    // ==================== SOURCE TREES ====================
+
+    /**
+     * Create a directory tree with the given number of entries (files + directories).
+     *
+     * Shaped like a real checkout: 60% of the entries are under src/ (mostly
+     * .java files, some resources), 40% are under node_modules/ and target/,
+     * which discovery is expected to skip. Files are empty - discovery never
+     * reads them.
+     *
+     * @param dir Empty directory to fill
+     * @param entryCount Total number of files and directories to create
+     */
+    public static void createSourceTree(Path dir, int entryCount) throws IOException {
+        int excluded = entryCount * 2 / 5;
+        int created = fillTree(dir.resolve("node_modules"), excluded / 2, ".js");
+        created += fillTree(dir.resolve("target"), excluded - created, ".class");
+        fillTree(dir.resolve("src"), entryCount - created, ".java");
+    }
+
+    /**
+     * Fill a tree breadth-first: 16 files and 4 subdirectories per directory
+     *
+     * @return Number of entries created (including the root)
+     */
+    private static int fillTree(Path root, int entries, String extension) throws IOException {
+        Deque<Path> directories = new ArrayDeque<>();
+        Files.createDirectories(root);
+        directories.add(root);
+        int created = 1;
+
+        while (created < entries) {
+            Path directory = directories.remove();
+            for (int f = 0; f < 16 && created < entries; f++, created++) {
+                // Every fourth file is a resource, not source
+                String name = "File" + created + (f % 4 == 3 ? ".properties" : extension);
+                Files.createFile(directory.resolve(name));
+            }
+            for (int d = 0; d < 4 && created < entries; d++, created++) {
+                Path subdirectory = directory.resolve("pkg" + created);
+                Files.createDirectory(subdirectory);
+                directories.add(subdirectory);
+            }
+        }
+        return created;
+    }
+
+    // ==================== CLEANUP ====================
+
+    /**
+     * Delete a generated directory tree
+     */
+    public static void deleteRecursively(Path dir) throws IOException {
+        if (dir == null || !Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
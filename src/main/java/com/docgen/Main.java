@@ -1,15 +1,30 @@
 package com.docgen;
 
+import com.docgen.config.AnalysisMode;
+import com.docgen.config.ChangeDetail;
+import com.docgen.config.DiscoveryMode;
 import com.docgen.config.DocGeneratorConfig;
+import com.docgen.config.ProgressMode;
+import com.docgen.config.ReadMode;
+import com.docgen.metrics.MetricsExporter;
+import com.docgen.metrics.MetricsRegistry;
+import com.docgen.metrics.MetricsReporter;
 import com.docgen.model.*;
+import com.docgen.progress.ProgressSink;
+import com.docgen.service.AnalysisPipeline;
 import com.docgen.service.CodeAnalyzerService;
 import com.docgen.service.FileDiscoveryService;
 import com.docgen.service.FileReaderService;
 import com.docgen.service.GitAnalyzerService;
+import com.docgen.service.HistoryPathFilter;
+import com.docgen.service.ProjectWatcher;
+import com.docgen.storage.SnapshotWriter;
 
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -32,8 +47,11 @@ public class Main {
         printBanner();
 
         try {
-            String projectPath = getProjectPath(args);
-            runDocGenerator(projectPath);
+            boolean watch = Arrays.asList(args).contains("--watch");
+            String[] positional = getPositionalArgs(args);
+            String projectPath = getProjectPath(positional);
+            String revision = getRevision(positional);
+            runDocGenerator(projectPath, revision, watch);
 
         } catch (Exception e) {
             System.err.println();
@@ -43,7 +61,7 @@ public class Main {
         }
     }
 
-    private static void runDocGenerator(String projectPath) throws IOException {
+    private static void runDocGenerator(String projectPath, String revision, boolean watch) throws IOException {
 
         // ============================================================
         // STEP 1: Create Configuration
@@ -58,54 +76,48 @@ public class Main {
                 .excludePattern("build")
                 .excludePattern(".git")
                 .excludePattern("test")
+                .excludePattern("*Test.java")
                 .recursive(true)
                 .maxDepth(10)
+                .parallelism(Runtime.getRuntime().availableProcessors())
+                .gitDiffThreads(Runtime.getRuntime().availableProcessors())
+                // Tree diffs only - lines are counted for the commits that get printed
+                .changeDetail(ChangeDetail.PATHS)
+                // Only Java sources matter in the history - other files are never diffed
+                .historySuffix(".java")
+                .historyUsesExcludes(true)
+                .cacheEnabled(true)
+                .streaming(true)
+                .memoryLean(true)
+                .readMode(ReadMode.BYTES)
+                .analysisMode(AnalysisMode.STRUCTURE_ONLY)
+                // With a revision argument, document that commit straight from Git
+                .discoveryMode(revision != null ? DiscoveryMode.GIT_REVISION : DiscoveryMode.FILESYSTEM)
+                .sourceRevision(revision != null ? revision : "HEAD")
+                .metricsEnabled(true)
+                // One redrawn status line instead of a line per file
+                .progressMode(ProgressMode.PROGRESS_BAR)
+                // Save the model so later steps can load it instead of analyzing again
+                .snapshotEnabled(true)
                 .build();
 
         System.out.println("Project: " + config.getProjectPath());
         System.out.println();
 
-        // ============================================================
-        // STEP 2: Discover Java Files
-        // ============================================================
-        System.out.println("🔍 STEP 2: Discovering Java files...");
-        System.out.println("─".repeat(60));
-
-        FileDiscoveryService discoveryService = new FileDiscoveryService(config);
-        List<JavaFileInfo> javaFiles = discoveryService.discoverJavaFiles();
-
-        if (javaFiles.isEmpty()) {
-            System.out.println("⚠️  No Java files found in: " + projectPath);
-            System.out.println("   Continuing with Git analysis only...");
-        }
-
-        System.out.println();
-
-        // ============================================================
-        // STEP 3: Read File Contents
-        // ============================================================
-        if (!javaFiles.isEmpty()) {
-            System.out.println("📖 STEP 3: Reading file contents...");
-            System.out.println("─".repeat(60));
-
-            FileReaderService readerService = new FileReaderService();
-            readerService.readAllFiles(javaFiles);
-
-            System.out.println();
-        }
-
-        // ============================================================
-        // STEP 4: Analyze Code Structure
-        // ============================================================
-        if (!javaFiles.isEmpty()) {
-            System.out.println("🔬 STEP 4: Analyzing code structure...");
-            System.out.println("─".repeat(60));
+        // JSON lines go to stderr, so a tool can read them apart from the report on stdout
+        ProgressSink progress = ProgressSink.forMode(config.getProgressMode(),
+                config.getProgressMode() == ProgressMode.JSON_LINES ? System.err : System.out);
 
-            CodeAnalyzerService analyzerService = new CodeAnalyzerService();
-            analyzerService.analyzeAllFiles(javaFiles);
+        // Metrics: timings and throughput per stage, plus a periodic summary line
+        // (through the progress sink, so it doesn't break into the progress bar)
+        MetricsRegistry metrics = config.isMetricsEnabled() ? new MetricsRegistry() : MetricsRegistry.DISABLED;
+        MetricsReporter reporter = config.isMetricsEnabled() && config.getMetricsReportIntervalSeconds() > 0
+                ? MetricsReporter.start(metrics, config.getMetricsReportIntervalSeconds(), progress::status)
+                : null;
 
-            System.out.println();
-        }
+        List<JavaFileInfo> javaFiles = config.isStreaming()
+                ? discoverAndAnalyzeStreaming(config, metrics, progress)
+                : discoverAndAnalyze(config, metrics, progress);
 
         // ============================================================
         // STEP 5: Analyze Git History (NEW in Day 3!)
@@ -114,10 +126,26 @@ public class Main {
         System.out.println("─".repeat(60));
 
         GitAnalyzerService gitService = new GitAnalyzerService();
-        List<CommitInfo> commits = analyzeGitHistory(gitService, config.getProjectPath());
+        gitService.setProgressSink(progress);
+        if (config.isCacheEnabled()) {
+            gitService.enableCommitIndex(config.getCacheDirectory().resolve("commit-index.bin"));
+        }
+        gitService.enableMetrics(metrics);
+        gitService.enableConcurrentDiffs(config.getGitDiffThreads());
+        gitService.setChangeDetail(config.getChangeDetail());
+        gitService.setPathFilter(HistoryPathFilter.fromConfig(config));
+        List<CommitInfo> commits = analyzeGitHistory(gitService, config.getProjectPath(), config.isCacheEnabled());
+        if (reporter != null) {
+            reporter.close();
+        }
+        progress.close();
 
         System.out.println();
 
+        if (config.isSnapshotEnabled()) {
+            writeSnapshot(config, javaFiles, commits);
+        }
+
         // ============================================================
         // STEP 6: Display Results
         // ============================================================
@@ -126,8 +154,9 @@ public class Main {
 
         // Code analysis results
         if (!javaFiles.isEmpty()) {
-            CodeAnalyzerService analyzerService = new CodeAnalyzerService();
-            System.out.println(analyzerService.generateAnalysisSummary(javaFiles));
+            try (CodeAnalyzerService analyzerService = new CodeAnalyzerService()) {
+                System.out.println(analyzerService.generateAnalysisSummary(javaFiles));
+            }
             System.out.println();
         }
 
@@ -148,13 +177,10 @@ public class Main {
             System.out.println("─".repeat(60));
 
             for (JavaFileInfo file : javaFiles) {
-                printFileAnalysis(file, commits);
+                printFileAnalysis(file, gitService);
             }
         }
 
-        // Cleanup
-        gitService.close();
-
         // ============================================================
         // COMPLETION
         // ============================================================
@@ -164,23 +190,191 @@ public class Main {
         System.out.println("   Files analyzed: " + javaFiles.size());
         System.out.println("   Commits analyzed: " + commits.size());
         System.out.println("═".repeat(60));
+
+        if (config.isMetricsEnabled()) {
+            System.out.println(MetricsReporter.summaryLine(metrics));
+            Path metricsDir = MetricsExporter.write(metrics, config.getOutputPath());
+            System.out.println("📈 Metrics written to: " + metricsDir.resolve(MetricsExporter.JSON_FILE) +
+                    " and " + MetricsExporter.PROMETHEUS_FILE);
+        }
         System.out.println();
         System.out.println("🎯 Next Steps (Day 4):");
         System.out.println("   - Add NLP processing for comments");
         System.out.println("   - Generate documentation descriptions");
         System.out.println("   - Improve code understanding");
+
+        // ============================================================
+        // WATCH MODE: keep the results up to date until Ctrl+C
+        // ============================================================
+        if (watch) {
+            if (revision != null) {
+                System.out.println();
+                System.out.println("⚠️  --watch ignored: a Git revision never changes");
+            } else {
+                watchProject(config, javaFiles, gitService);
+            }
+        }
+
+        // Cleanup
+        gitService.close();
+    }
+
+    /**
+     * Watch the project and re-print the results after every batch of changes
+     *
+     * Only changed files are read and analyzed again; the summary is
+     * rebuilt from the updated model. Runs until the JVM is stopped.
+     */
+    private static void watchProject(DocGeneratorConfig config, List<JavaFileInfo> javaFiles,
+                                     GitAnalyzerService gitService) throws IOException {
+        System.out.println();
+        System.out.println("👀 WATCH MODE (press Ctrl+C to stop)");
+        System.out.println("─".repeat(60));
+
+        CodeAnalyzerService analyzerService = new CodeAnalyzerService(config);
+        ProjectWatcher watcher = new ProjectWatcher(config,
+                new FileReaderService(config.getReadMode()), analyzerService, javaFiles);
+
+        // Ctrl+C: stop watching cleanly
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                watcher.close();
+            } catch (IOException e) {
+                // Shutting down anyway
+            }
+        }));
+
+        try {
+            watcher.watch((updated, removed, allFiles) -> {
+                System.out.println();
+                System.out.println("🔄 " + updated.size() + " file(s) updated, " + removed.size() + " removed");
+                System.out.println("─".repeat(60));
+
+                for (Path path : removed) {
+                    System.out.println("   ✗ " + config.getProjectPath().relativize(path));
+                }
+                for (JavaFileInfo file : updated) {
+                    printFileAnalysis(file, gitService);
+                }
+
+                System.out.println();
+                System.out.println(analyzerService.generateAnalysisSummary(allFiles));
+            });
+        } finally {
+            analyzerService.close();
+        }
+    }
+
+    /**
+     * Steps 2-4 as separate batch phases: discover everything, then read
+     * everything, then analyze everything
+     */
+    private static List<JavaFileInfo> discoverAndAnalyze(DocGeneratorConfig config,
+                                                         MetricsRegistry metrics,
+                                                         ProgressSink progress) throws IOException {
+        // ============================================================
+        // STEP 2: Discover Java Files
+        // ============================================================
+        System.out.println("🔍 STEP 2: Discovering Java files...");
+        System.out.println("─".repeat(60));
+
+        FileDiscoveryService discoveryService = new FileDiscoveryService(config);
+        discoveryService.enableMetrics(metrics);
+        discoveryService.setProgressSink(progress);
+        List<JavaFileInfo> javaFiles = discoveryService.discoverJavaFiles();
+
+        if (javaFiles.isEmpty()) {
+            System.out.println("⚠️  No Java files found in: " + config.getProjectPath());
+            System.out.println("   Continuing with Git analysis only...");
+        }
+
+        System.out.println();
+
+        // ============================================================
+        // STEP 3: Read File Contents
+        // ============================================================
+        if (!javaFiles.isEmpty()) {
+            System.out.println("📖 STEP 3: Reading file contents...");
+            System.out.println("─".repeat(60));
+
+            FileReaderService readerService = new FileReaderService(config.getReadMode());
+            readerService.enableMetrics(metrics);
+            readerService.setProgressSink(progress);
+            readerService.readAllFiles(javaFiles);
+
+            System.out.println();
+        }
+
+        // ============================================================
+        // STEP 4: Analyze Code Structure
+        // ============================================================
+        if (!javaFiles.isEmpty()) {
+            System.out.println("🔬 STEP 4: Analyzing code structure...");
+            System.out.println("─".repeat(60));
+
+            try (CodeAnalyzerService analyzerService = new CodeAnalyzerService(config, progress)) {
+                analyzerService.enableMetrics(metrics);
+                analyzerService.analyzeAllFiles(javaFiles);
+            }
+
+            System.out.println();
+        }
+
+        return javaFiles;
+    }
+
+    /**
+     * Steps 2-4 as one streaming pipeline: files are read and analyzed
+     * while discovery is still walking the tree
+     */
+    private static List<JavaFileInfo> discoverAndAnalyzeStreaming(DocGeneratorConfig config,
+                                                                  MetricsRegistry metrics,
+                                                                  ProgressSink progress) throws IOException {
+        System.out.println("🚰 STEPS 2-4: Discovering, reading and analyzing (streaming)...");
+        System.out.println("─".repeat(60));
+
+        List<JavaFileInfo> javaFiles;
+        try (AnalysisPipeline pipeline = new AnalysisPipeline(config,
+                new FileDiscoveryService(config),
+                new FileReaderService(config.getReadMode()),
+                new CodeAnalyzerService(config, progress))) {
+            pipeline.enableMetrics(metrics);
+            pipeline.setProgressSink(progress);
+            javaFiles = pipeline.run();
+        }
+
+        if (javaFiles.isEmpty()) {
+            System.out.println("⚠️  No Java files found in: " + config.getProjectPath());
+            System.out.println("   Continuing with Git analysis only...");
+        }
+
+        System.out.println();
+        return javaFiles;
     }
 
     /**
      * Analyze Git history for the project
+     *
+     * @param indexed Whether the commit index is enabled. The index only
+     *                covers full-history requests, so then the whole history
+     *                is loaded (after the first run, mostly from the index)
+     *                and cut down to the newest commits here.
      */
-    private static List<CommitInfo> analyzeGitHistory(GitAnalyzerService gitService, Path projectPath) {
+    private static List<CommitInfo> analyzeGitHistory(GitAnalyzerService gitService, Path projectPath,
+                                                      boolean indexed) {
         List<CommitInfo> commits = List.of();
+        int limit = 50;  // Limit to 50 for demo
 
         // Try to open as Git repository
         if (gitService.openRepository(projectPath)) {
-            // Get commit history (limit to 50 for demo)
-            commits = gitService.getCommitHistory(50);
+            if (indexed) {
+                commits = gitService.getCommitHistory(0);
+                if (commits.size() > limit) {
+                    commits = new ArrayList<>(commits.subList(0, limit));
+                }
+            } else {
+                commits = gitService.getCommitHistory(limit);
+            }
         } else {
             System.out.println("   ℹ️  No Git repository found at: " + projectPath);
             System.out.println("   ℹ️  To test Git features, run this on a Git repository.");
@@ -195,6 +389,28 @@ public class Main {
         return commits;
     }
 
+    /**
+     * Save the analyzed files and commits so later steps can load them
+     * with SnapshotReader. A failure is reported but doesn't stop the run.
+     */
+    private static void writeSnapshot(DocGeneratorConfig config, List<JavaFileInfo> javaFiles,
+                                      List<CommitInfo> commits) {
+        Path snapshotPath = config.getSnapshotPath();
+        try (SnapshotWriter writer = SnapshotWriter.create(snapshotPath, config.getProjectPath())) {
+            for (JavaFileInfo file : javaFiles) {
+                writer.writeFile(file);
+            }
+            for (CommitInfo commit : commits) {
+                writer.writeCommit(commit);
+            }
+        } catch (IOException e) {
+            System.err.println("⚠️  Could not write snapshot: " + e.getMessage());
+            return;
+        }
+        System.out.println("💾 Snapshot written to: " + snapshotPath);
+        System.out.println();
+    }
+
     /**
      * Print recent commits
      */
@@ -248,7 +464,7 @@ public class Main {
     /**
      * Print detailed analysis of a file including Git history
      */
-    private static void printFileAnalysis(JavaFileInfo file, List<CommitInfo> allCommits) {
+    private static void printFileAnalysis(JavaFileInfo file, GitAnalyzerService gitService) {
         System.out.println();
         System.out.println("╔══════════════════════════════════════════════════════════╗");
         System.out.println("║ 📄 " + padRight(file.getFileName(), 55) + "║");
@@ -260,6 +476,10 @@ public class Main {
 
         // Code analysis
         if (file.isParsed()) {
+            if (file.getParseError() != null) {
+                // Parsed, but in a degraded mode (see the parse budget)
+                System.out.println("   ⚠️  " + file.getParseError());
+            }
             for (ClassInfo classInfo : file.getClasses()) {
                 printClassInfoCompact(classInfo);
             }
@@ -267,10 +487,9 @@ public class Main {
             System.out.println("   ⚠️  Parse Error: " + file.getParseError());
         }
 
-        // Git history for this file
-        if (!allCommits.isEmpty()) {
-            String relativePath = getRelativePath(file);
-            List<CommitInfo> fileCommits = findCommitsForFile(allCommits, relativePath);
+        // Git history for this file (path index lookup, follows renames)
+        if (gitService.isConnected()) {
+            List<CommitInfo> fileCommits = gitService.getCommitsForFile(file.getFilePath());
 
             if (!fileCommits.isEmpty()) {
                 System.out.println();
@@ -290,27 +509,6 @@ public class Main {
         }
     }
 
-    /**
-     * Find commits that affected a specific file
-     */
-    private static List<CommitInfo> findCommitsForFile(List<CommitInfo> commits, String filePath) {
-        return commits.stream()
-                .filter(c -> c.hasFileChange(filePath) ||
-                        c.getFileChanges().stream()
-                                .anyMatch(f -> f.getPath().endsWith(filePath) ||
-                                        filePath.endsWith(f.getPath())))
-                .toList();
-    }
-
-    /**
-     * Get relative path for matching with git
-     */
-    private static String getRelativePath(JavaFileInfo file) {
-        String path = file.getFilePath().toString();
-        // Try to get just the filename for matching
-        return file.getFileName();
-    }
-
     /**
      * Print compact class info
      */
@@ -325,6 +523,19 @@ public class Main {
         }
     }
 
+    /**
+     * Command line arguments without the --flags
+     */
+    private static String[] getPositionalArgs(String[] args) {
+        List<String> positional = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                positional.add(arg);
+            }
+        }
+        return positional.toArray(new String[0]);
+    }
+
     /**
      * Get project path from args or default
      */
@@ -335,6 +546,17 @@ public class Main {
         return "sample-project";
     }
 
+    /**
+     * Get the Git revision to document from command line (optional)
+     * Usage: java Main <projectPath> <revision> [--watch]
+     */
+    private static String getRevision(String[] args) {
+        if (args.length > 1) {
+            return args[1];
+        }
+        return null;
+    }
+
     /**
      * Truncate string to max length
      */
@@ -0,0 +1,21 @@
+package com.docgen.config;
+
+/**
+ * AnalysisMode - How much of each file CodeAnalyzerService parses.
+ */
+public enum AnalysisMode {
+
+    /**
+     * Parse everything, including every statement and expression inside
+     * method bodies
+     */
+    FULL,
+
+    /**
+     * Parse declarations only: method, constructor and initializer bodies
+     * are blanked out before parsing, so JavaParser never builds their
+     * statements. Types, fields, signatures, javadoc and line numbers are
+     * the same as FULL; classes declared inside method bodies are not seen.
+     */
+    STRUCTURE_ONLY
+}
@@ -0,0 +1,21 @@
+package com.docgen.config;
+
+/**
+ * ChangeDetail - How much GitAnalyzerService works out about each changed file.
+ */
+public enum ChangeDetail {
+
+    /**
+     * Path and change type only - a tree diff, no file contents are read.
+     * Line counts are still available: the first getLinesAdded() /
+     * getLinesDeleted() call on a change diffs its two blobs and remembers
+     * the result.
+     */
+    PATHS,
+
+    /**
+     * Also count added/deleted lines for every change during the walk
+     * (loads and diffs both versions of every changed file)
+     */
+    LINE_STATS
+}
@@ -0,0 +1,26 @@
+package com.docgen.config;
+
+/**
+ * DiscoveryMode - Where FileDiscoveryService finds the .java files.
+ */
+public enum DiscoveryMode {
+
+    /**
+     * Walk the directory tree on disk
+     */
+    FILESYSTEM,
+
+    /**
+     * List the files tracked in the Git index (.git/index).
+     * No directory walk, and untracked / ignored files never show up.
+     * Contents are still read from the working tree.
+     */
+    GIT_INDEX,
+
+    /**
+     * List the files of a commit (DocGeneratorConfig.sourceRevision) and
+     * read their contents straight from the Git object database, so any
+     * revision can be documented without checking it out.
+     */
+    GIT_REVISION
+}
@@ -40,11 +40,16 @@ public class DocGeneratorConfig {
     private final Path outputPath;
 
     /**
-     * Patterns to exclude (file/folder names containing these strings)
-     * Example: ["test", "build", "target"] - skip test files and build folders
+     * Patterns to exclude, gitignore-style (see ExclusionRules)
+     * Example: ["test", "build", "target"] - skip folders with those names
      */
     private final List<String> excludePatterns;
 
+    /**
+     * The exclude patterns compiled once, for fast matching
+     */
+    private final ExclusionRules exclusionRules;
+
     /**
      * Whether to scan subdirectories (recursive)
      * true = scan all nested folders
@@ -63,6 +68,140 @@ public class DocGeneratorConfig {
      */
     private final String projectName;
 
+    /**
+     * Number of worker threads used to parse files and walk directories
+     * 1 = serial (one JavaParser), N = N parsers working in parallel
+     */
+    private final int parallelism;
+
+    /**
+     * Whether parsed results are cached on disk between runs
+     * Cache lives in <outputPath>/.docgen-cache
+     */
+    private final boolean cacheEnabled;
+
+    /**
+     * Maximum size of the analysis cache in bytes
+     * Least recently used entries are evicted beyond this
+     */
+    private final long cacheMaxBytes;
+
+    /**
+     * Whether discovery, reading and parsing run as one streaming pipeline
+     * false = three batch phases, each finishing before the next starts
+     */
+    private final boolean streaming;
+
+    /**
+     * Number of threads reading file contents in streaming mode
+     */
+    private final int readerThreads;
+
+    /**
+     * Capacity of each queue between pipeline stages
+     * A full queue blocks the stage in front of it (backpressure)
+     */
+    private final int queueCapacity;
+
+    /**
+     * Whether file contents are released once their structure is extracted
+     * Keeps heap usage flat; source text is re-read from disk on demand
+     */
+    private final boolean memoryLean;
+
+    /**
+     * How source files are read from disk (see ReadMode)
+     */
+    private final ReadMode readMode;
+
+    /**
+     * Where source files are discovered (see DiscoveryMode)
+     */
+    private final DiscoveryMode discoveryMode;
+
+    /**
+     * Commit to read sources from in DiscoveryMode.GIT_REVISION
+     * Anything Git understands: "HEAD", "main", "v1.2.0", a commit id...
+     */
+    private final String sourceRevision;
+
+    /**
+     * How long watch mode waits for file events to settle before handling them
+     * Editors often write a file several times per save; these become one batch
+     */
+    private final long watchDebounceMillis;
+
+    /**
+     * How much of each file is parsed (see AnalysisMode)
+     */
+    private final AnalysisMode analysisMode;
+
+    /**
+     * Parse budget: files longer than this (in characters) are parsed
+     * without method bodies, and skipped if that is still too long
+     * 0 = no limit
+     */
+    private final int maxParseChars;
+
+    /**
+     * Parse budget: how long one file may take to parse
+     * A FULL parse that runs out of time is retried without method bodies;
+     * if that times out too, the file is skipped. 0 = no limit (default)
+     * A parse that runs out of time can't be killed - its thread may keep
+     * running (and using CPU) in the background until JavaParser stops
+     */
+    private final long parseTimeoutMillis;
+
+    /**
+     * How many threads diff commits while the Git history is walked
+     * 1 = serial (one diff after the other on the walking thread)
+     */
+    private final int gitDiffThreads;
+
+    /**
+     * How much detail the Git history walk gets for each changed file
+     * PATHS = path + change type, line counts only when asked for
+     */
+    private final ChangeDetail changeDetail;
+
+    /**
+     * Which files the Git history looks at (empty lists = all files)
+     * Example: suffixes [".java"], prefixes ["src/main"] - other paths are
+     * never diffed, and commits that only touch them are left out
+     */
+    private final List<String> historySuffixes;
+    private final List<String> historyPathPrefixes;
+
+    /**
+     * Whether the exclude patterns also apply to the Git history
+     * (matched against repository paths)
+     */
+    private final boolean historyUsesExcludes;
+
+    /**
+     * Whether to collect per-stage metrics (timings, throughput, cache hits)
+     * They are written to metrics.json and metrics.prom in the output folder
+     */
+    private final boolean metricsEnabled;
+
+    /**
+     * How often a one-line metrics summary is printed while running
+     * 0 = never (metrics are still exported at the end)
+     */
+    private final int metricsReportIntervalSeconds;
+
+    /**
+     * How the services report progress (see ProgressMode)
+     * CONSOLE prints a line per file; the other modes are meant for big runs
+     */
+    private final ProgressMode progressMode;
+
+    /**
+     * Whether to save the analyzed model (files + commits) as a snapshot
+     * Written to model-snapshot.bin in the output folder (see SnapshotWriter)
+     */
+    private final boolean snapshotEnabled;
+
 
     // ==================== PRIVATE CONSTRUCTOR ====================
     // Private = only the Builder can create instances
@@ -72,9 +211,33 @@ public class DocGeneratorConfig {
         this.projectPath = builder.projectPath;
         this.outputPath = builder.outputPath;
         this.excludePatterns = new ArrayList<>(builder.excludePatterns);
+        this.exclusionRules = ExclusionRules.compile(excludePatterns, projectPath);
         this.recursive = builder.recursive;
         this.maxDepth = builder.maxDepth;
         this.projectName = builder.projectName;
+        this.parallelism = builder.parallelism;
+        this.cacheEnabled = builder.cacheEnabled;
+        this.cacheMaxBytes = builder.cacheMaxBytes;
+        this.streaming = builder.streaming;
+        this.readerThreads = builder.readerThreads;
+        this.queueCapacity = builder.queueCapacity;
+        this.memoryLean = builder.memoryLean;
+        this.readMode = builder.readMode;
+        this.discoveryMode = builder.discoveryMode;
+        this.sourceRevision = builder.sourceRevision;
+        this.watchDebounceMillis = builder.watchDebounceMillis;
+        this.analysisMode = builder.analysisMode;
+        this.maxParseChars = builder.maxParseChars;
+        this.parseTimeoutMillis = builder.parseTimeoutMillis;
+        this.gitDiffThreads = builder.gitDiffThreads;
+        this.changeDetail = builder.changeDetail;
+        this.historySuffixes = new ArrayList<>(builder.historySuffixes);
+        this.historyPathPrefixes = new ArrayList<>(builder.historyPathPrefixes);
+        this.historyUsesExcludes = builder.historyUsesExcludes;
+        this.metricsEnabled = builder.metricsEnabled;
+        this.metricsReportIntervalSeconds = builder.metricsReportIntervalSeconds;
+        this.progressMode = builder.progressMode;
+        this.snapshotEnabled = builder.snapshotEnabled;
     }
 
 
@@ -106,22 +269,136 @@ public class DocGeneratorConfig {
         return projectName;
     }
 
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    public long getCacheMaxBytes() {
+        return cacheMaxBytes;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public int getReaderThreads() {
+        return readerThreads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public boolean isMemoryLean() {
+        return memoryLean;
+    }
+
+    public ReadMode getReadMode() {
+        return readMode;
+    }
+
+    public DiscoveryMode getDiscoveryMode() {
+        return discoveryMode;
+    }
+
+    public String getSourceRevision() {
+        return sourceRevision;
+    }
+
+    public long getWatchDebounceMillis() {
+        return watchDebounceMillis;
+    }
+
+    public AnalysisMode getAnalysisMode() {
+        return analysisMode;
+    }
+
+    public int getMaxParseChars() {
+        return maxParseChars;
+    }
+
+    public long getParseTimeoutMillis() {
+        return parseTimeoutMillis;
+    }
+
+    public int getGitDiffThreads() {
+        return gitDiffThreads;
+    }
+
+    public ChangeDetail getChangeDetail() {
+        return changeDetail;
+    }
+
+    public List<String> getHistorySuffixes() {
+        return new ArrayList<>(historySuffixes);
+    }
+
+    public List<String> getHistoryPathPrefixes() {
+        return new ArrayList<>(historyPathPrefixes);
+    }
+
+    public boolean isHistoryUsesExcludes() {
+        return historyUsesExcludes;
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    public int getMetricsReportIntervalSeconds() {
+        return metricsReportIntervalSeconds;
+    }
+
+    public ProgressMode getProgressMode() {
+        return progressMode;
+    }
+
+    public boolean isSnapshotEnabled() {
+        return snapshotEnabled;
+    }
+
     /**
-     * Check if a path should be excluded based on exclude patterns
+     * Where the model snapshot is written
+     * Example: /home/user/my-java-project/docs/model-snapshot.bin
+     */
+    public Path getSnapshotPath() {
+        return outputPath.resolve("model-snapshot.bin");
+    }
+
+    /**
+     * Directory holding all on-disk caches
+     * Example: /home/user/my-java-project/docs/.docgen-cache
+     */
+    public Path getCacheDirectory() {
+        return outputPath.resolve(".docgen-cache");
+    }
+
+    /**
+     * Check if a file should be excluded based on exclude patterns
+     *
+     * Patterns match whole file/folder names relative to the project root,
+     * so "test" skips src/test/ but not latest/.
      *
      * @param path The path to check
      * @return true if this path should be skipped
      */
     public boolean shouldExclude(Path path) {
-        String pathString = path.toString().toLowerCase();
+        return exclusionRules.isExcluded(path, false);
+    }
 
-        // Check each exclude pattern
-        for (String pattern : excludePatterns) {
-            if (pathString.contains(pattern.toLowerCase())) {
-                return true;  // This path matches an exclude pattern
-            }
-        }
-        return false;  // No patterns matched, include this path
+    /**
+     * Check if a file or directory should be excluded
+     *
+     * @param path The path to check
+     * @param directory true if the path is a directory (patterns ending in '/' only match those)
+     * @return true if this path should be skipped
+     */
+    public boolean shouldExclude(Path path, boolean directory) {
+        return exclusionRules.isExcluded(path, directory);
     }
 
 
@@ -152,6 +429,29 @@ public class DocGeneratorConfig {
         private boolean recursive = true;  // Default: scan recursively
         private int maxDepth = 20;         // Default: 20 levels deep
         private String projectName = "My Project";  // Default name
+        private int parallelism = 1;       // Default: serial parsing
+        private boolean cacheEnabled = false;              // Default: no cache
+        private long cacheMaxBytes = 256L * 1024 * 1024;   // Default: 256 MB
+        private boolean streaming = false;  // Default: batch phases
+        private int readerThreads = 2;      // Default: 2 reader threads
+        private int queueCapacity = 64;     // Default: 64 files per queue
+        private boolean memoryLean = false; // Default: keep contents
+        private ReadMode readMode = ReadMode.STANDARD;  // Default: read as String
+        private DiscoveryMode discoveryMode = DiscoveryMode.FILESYSTEM;  // Default: walk the disk
+        private String sourceRevision = "HEAD";  // Default: latest commit
+        private long watchDebounceMillis = 300;  // Default: 300 ms of quiet
+        private AnalysisMode analysisMode = AnalysisMode.FULL;  // Default: parse everything
+        private int maxParseChars = 2_000_000;     // Default: ~50k lines
+        private long parseTimeoutMillis = 0;       // Default: no time limit
+        private int gitDiffThreads = 1;                // Default: serial diffs
+        private ChangeDetail changeDetail = ChangeDetail.PATHS;  // Default: line counts on demand
+        private List<String> historySuffixes = new ArrayList<>();      // Default: any file type
+        private List<String> historyPathPrefixes = new ArrayList<>();  // Default: anywhere in the repo
+        private boolean historyUsesExcludes = false;   // Default: excludes only affect discovery
+        private boolean metricsEnabled = false;        // Default: no metrics
+        private int metricsReportIntervalSeconds = 10; // Default: summary every 10 s
+        private ProgressMode progressMode = ProgressMode.CONSOLE;  // Default: a line per file
+        private boolean snapshotEnabled = false;       // Default: no snapshot
 
         /**
          * Set the project path to analyze (REQUIRED)
@@ -190,9 +490,10 @@ public class DocGeneratorConfig {
 
         /**
          * Add a single exclude pattern
-         * Files/folders containing this string will be skipped
+         * Files/folders with this name will be skipped (globs, '/' anchors
+         * and '!' negation work as in .gitignore - see ExclusionRules)
          *
-         * @param pattern String to match against paths
+         * @param pattern Pattern to match against paths
          */
         public Builder excludePattern(String pattern) {
             this.excludePatterns.add(pattern);
@@ -231,6 +532,197 @@ public class DocGeneratorConfig {
             return this;
         }
 
+        /**
+         * Set how many threads parse files in parallel (default: 1)
+         *
+         * @param parallelism Number of parser threads (must be at least 1)
+         */
+        public Builder parallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Enable or disable the on-disk analysis cache (default: false)
+         */
+        public Builder cacheEnabled(boolean cacheEnabled) {
+            this.cacheEnabled = cacheEnabled;
+            return this;
+        }
+
+        /**
+         * Set the analysis cache size limit in bytes (default: 256 MB)
+         */
+        public Builder cacheMaxBytes(long cacheMaxBytes) {
+            this.cacheMaxBytes = cacheMaxBytes;
+            return this;
+        }
+
+        /**
+         * Run discovery, reading and parsing as a streaming pipeline (default: false)
+         */
+        public Builder streaming(boolean streaming) {
+            this.streaming = streaming;
+            return this;
+        }
+
+        /**
+         * Set how many threads read files in streaming mode (default: 2)
+         */
+        public Builder readerThreads(int readerThreads) {
+            this.readerThreads = readerThreads;
+            return this;
+        }
+
+        /**
+         * Set the capacity of each pipeline queue (default: 64)
+         */
+        public Builder queueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Release file contents after analysis (default: false)
+         */
+        public Builder memoryLean(boolean memoryLean) {
+            this.memoryLean = memoryLean;
+            return this;
+        }
+
+        /**
+         * Set how source files are read (default: STANDARD)
+         */
+        public Builder readMode(ReadMode readMode) {
+            this.readMode = readMode;
+            return this;
+        }
+
+        /**
+         * Set where source files are discovered (default: FILESYSTEM)
+         */
+        public Builder discoveryMode(DiscoveryMode discoveryMode) {
+            this.discoveryMode = discoveryMode;
+            return this;
+        }
+
+        /**
+         * Set the commit to document in GIT_REVISION mode (default: "HEAD")
+         */
+        public Builder sourceRevision(String sourceRevision) {
+            this.sourceRevision = sourceRevision;
+            return this;
+        }
+
+        /**
+         * Set how long watch mode waits for events to settle (default: 300 ms)
+         */
+        public Builder watchDebounceMillis(long watchDebounceMillis) {
+            this.watchDebounceMillis = watchDebounceMillis;
+            return this;
+        }
+
+        /**
+         * Set how much of each file is parsed (default: FULL)
+         */
+        public Builder analysisMode(AnalysisMode analysisMode) {
+            this.analysisMode = analysisMode;
+            return this;
+        }
+
+        /**
+         * Set the largest file that gets a full parse (default: 2,000,000 chars, 0 = no limit)
+         */
+        public Builder maxParseChars(int maxParseChars) {
+            this.maxParseChars = maxParseChars;
+            return this;
+        }
+
+        /**
+         * Set how long one file may take to parse (default: 0 = no limit)
+         *
+         * Each parse then runs on an extra thread. One that runs out of time
+         * is given up on, but its thread may keep running for a while.
+         */
+        public Builder parseTimeoutMillis(long parseTimeoutMillis) {
+            this.parseTimeoutMillis = parseTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Set how many threads diff Git commits (default: 1 = serial)
+         */
+        public Builder gitDiffThreads(int gitDiffThreads) {
+            this.gitDiffThreads = gitDiffThreads;
+            return this;
+        }
+
+        /**
+         * Set how much detail the Git history gets per changed file (default: PATHS)
+         */
+        public Builder changeDetail(ChangeDetail changeDetail) {
+            this.changeDetail = changeDetail;
+            return this;
+        }
+
+        /**
+         * Only look at files ending in this suffix in the Git history (e.g. ".java")
+         * Can be called several times - a file matches if it has ANY of the suffixes
+         */
+        public Builder historySuffix(String suffix) {
+            this.historySuffixes.add(suffix);
+            return this;
+        }
+
+        /**
+         * Only look at files under this repository path in the Git history (e.g. "src/main")
+         * Can be called several times - a file matches if it is under ANY of them
+         */
+        public Builder historyPathPrefix(String prefix) {
+            this.historyPathPrefixes.add(prefix);
+            return this;
+        }
+
+        /**
+         * Apply the exclude patterns to the Git history too (default: false)
+         */
+        public Builder historyUsesExcludes(boolean historyUsesExcludes) {
+            this.historyUsesExcludes = historyUsesExcludes;
+            return this;
+        }
+
+        /**
+         * Enable or disable metrics collection and export (default: disabled)
+         */
+        public Builder metricsEnabled(boolean metricsEnabled) {
+            this.metricsEnabled = metricsEnabled;
+            return this;
+        }
+
+        /**
+         * Set how often a metrics summary is printed (default: 10 s, 0 = never)
+         */
+        public Builder metricsReportIntervalSeconds(int metricsReportIntervalSeconds) {
+            this.metricsReportIntervalSeconds = metricsReportIntervalSeconds;
+            return this;
+        }
+
+        /**
+         * Set how progress is reported (default: CONSOLE)
+         */
+        public Builder progressMode(ProgressMode progressMode) {
+            this.progressMode = progressMode;
+            return this;
+        }
+
+        /**
+         * Save the analyzed model as a snapshot for later steps (default: disabled)
+         */
+        public Builder snapshotEnabled(boolean snapshotEnabled) {
+            this.snapshotEnabled = snapshotEnabled;
+            return this;
+        }
+
         /**
          * Build the final configuration object
          *
@@ -245,6 +737,59 @@ public class DocGeneratorConfig {
                 );
             }
 
+            if (parallelism < 1) {
+                throw new IllegalStateException(
+                        "Parallelism must be at least 1, got: " + parallelism
+                );
+            }
+
+            if (gitDiffThreads < 1) {
+                throw new IllegalStateException(
+                        "Git diff threads must be at least 1, got: " + gitDiffThreads
+                );
+            }
+
+            if (historySuffixes.stream().anyMatch(s -> s == null || s.isEmpty())
+                    || historyPathPrefixes.stream().anyMatch(p -> p == null || p.isBlank())) {
+                throw new IllegalStateException(
+                        "History suffixes and path prefixes cannot be empty, got: " +
+                                historySuffixes + ", " + historyPathPrefixes
+                );
+            }
+
+            if (readerThreads < 1 || queueCapacity < 1) {
+                throw new IllegalStateException(
+                        "Reader threads and queue capacity must be at least 1, got: " +
+                                readerThreads + ", " + queueCapacity
+                );
+            }
+
+            if (discoveryMode == DiscoveryMode.GIT_REVISION
+                    && (sourceRevision == null || sourceRevision.isBlank())) {
+                throw new IllegalStateException(
+                        "GIT_REVISION discovery needs a source revision! Use .sourceRevision(\"HEAD\")"
+                );
+            }
+
+            if (watchDebounceMillis < 0) {
+                throw new IllegalStateException(
+                        "Watch debounce cannot be negative, got: " + watchDebounceMillis
+                );
+            }
+
+            if (maxParseChars < 0 || parseTimeoutMillis < 0) {
+                throw new IllegalStateException(
+                        "Parse budgets cannot be negative, got: " + maxParseChars + " chars, " +
+                                parseTimeoutMillis + " ms"
+                );
+            }
+
+            if (metricsReportIntervalSeconds < 0) {
+                throw new IllegalStateException(
+                        "Metrics report interval cannot be negative, got: " + metricsReportIntervalSeconds
+                );
+            }
+
             // Set default output path if not specified
             if (outputPath == null) {
                 outputPath = projectPath.resolve("generated-docs");
@@ -276,6 +821,16 @@ public class DocGeneratorConfig {
                         "  projectName='%s'\n" +
                         "  recursive=%s\n" +
                         "  maxDepth=%d\n" +
+                        "  parallelism=%d\n" +
+                        "  cacheEnabled=%s\n" +
+                        "  streaming=%s\n" +
+                        "  memoryLean=%s\n" +
+                        "  readMode=%s\n" +
+                        "  analysisMode=%s\n" +
+                        "  discoveryMode=%s\n" +
+                        "  metricsEnabled=%s\n" +
+                        "  progressMode=%s\n" +
+                        "  snapshotEnabled=%s\n" +
                         "  excludePatterns=%s\n" +
                         "}",
                 projectPath,
@@ -283,6 +838,18 @@ public class DocGeneratorConfig {
                 projectName,
                 recursive,
                 maxDepth,
+                parallelism,
+                cacheEnabled,
+                streaming,
+                memoryLean,
+                readMode,
+                analysisMode,
+                discoveryMode == DiscoveryMode.GIT_REVISION
+                        ? discoveryMode + " (" + sourceRevision + ")"
+                        : discoveryMode,
+                metricsEnabled,
+                progressMode,
+                snapshotEnabled,
                 excludePatterns
         );
     }
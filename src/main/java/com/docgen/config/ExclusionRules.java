@@ -0,0 +1,454 @@
+package com.docgen.config;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * ExclusionRules - Exclude patterns compiled once into a matcher over path segments.
+ *
+ * PATTERN SYNTAX (gitignore-style, case-insensitive):
+ *
+ *   target          any file or folder NAMED "target", at any depth
+ *                   (matches src/target/, NOT latest/ or retarget.java)
+ *   *Test.java      globs inside one name: '*' = any chars, '?' = one char
+ *   /build          anchored: only "build" directly under the project root
+ *   docs/generated  anything with a '/' is anchored to the project root too
+ *   src/**          '**' as a whole name = zero or more folders
+ *                   (also in the middle, e.g. src/, then **, then gen)
+ *   generated/      trailing '/' = only match directories
+ *   !Keep.java      negation: re-include what an earlier pattern excluded
+ *   # comment       blank lines and '#' lines are ignored
+ *
+ * As in .gitignore, the LAST matching pattern wins, and once a directory
+ * is excluded everything inside it is excluded too (a '!' rule cannot
+ * reach into an excluded folder).
+ *
+ * HOW IT WORKS:
+ * All patterns are compiled into one automaton whose states are
+ * "how far into some pattern we are". Matching walks the path one name at
+ * a time, moving a set of active states forward - so the cost grows with
+ * the path depth, not with the number of patterns, and a path is scanned
+ * in place without splitting it into Strings.
+ */
+public final class ExclusionRules {
+
+    /** Marks "no rule matched" */
+    private static final int NO_RULE = -1;
+
+    // ---- Per pattern (rule) ----
+    private final boolean[] negated;
+
+    // ---- Per state ----
+    // Highest rule index that ends at this state, for directories / for files
+    private final int[] lastRuleForDirectory;
+    private final int[] lastRuleForFile;
+    // State reached by following a '**' from here without consuming a name (or -1)
+    private final int[] doubleStarChild;
+    // True if this state is a '**' (it stays active for any name)
+    private final boolean[] doubleStar;
+    // Glob transitions: for each state, pairs of (glob, target state)
+    private final String[][] globs;
+    private final int[][] globTargets;
+
+    // ---- Literal transitions: open-addressing hash of (state, name) → state ----
+    private final int[] literalFrom;
+    private final String[] literalName;
+    private final int[] literalTo;
+    private final int literalMask;
+
+    private final int words;
+
+    // Project root as a string prefix; paths are matched relative to it
+    private final String root;
+
+    // Reused state sets, one pair per thread, so matching never allocates
+    private final ThreadLocal<long[]> scratch;
+
+    private ExclusionRules(Compiler compiler, Path root) {
+        this.negated = toBooleanArray(compiler.negated);
+        int stateCount = compiler.states.size();
+
+        this.lastRuleForDirectory = new int[stateCount];
+        this.lastRuleForFile = new int[stateCount];
+        this.doubleStarChild = new int[stateCount];
+        this.doubleStar = new boolean[stateCount];
+        this.globs = new String[stateCount][];
+        this.globTargets = new int[stateCount][];
+
+        int literalCount = 0;
+        for (int i = 0; i < stateCount; i++) {
+            State state = compiler.states.get(i);
+            lastRuleForDirectory[i] = state.lastRuleForDirectory;
+            lastRuleForFile[i] = state.lastRuleForFile;
+            doubleStarChild[i] = state.doubleStarChild;
+            doubleStar[i] = state.doubleStar;
+            globs[i] = state.globs.toArray(new String[0]);
+            globTargets[i] = state.globTargets.stream().mapToInt(Integer::intValue).toArray();
+            literalCount += state.literalNames.size();
+        }
+
+        // Keep the literal table at most half full
+        int capacity = Integer.highestOneBit(Math.max(4, literalCount * 2 + 1) - 1) << 1;
+        this.literalMask = capacity - 1;
+        this.literalFrom = new int[capacity];
+        this.literalName = new String[capacity];
+        this.literalTo = new int[capacity];
+        Arrays.fill(literalFrom, -1);
+        for (int i = 0; i < stateCount; i++) {
+            State state = compiler.states.get(i);
+            for (int j = 0; j < state.literalNames.size(); j++) {
+                String name = state.literalNames.get(j);
+                int slot = hash(i, name, 0, name.length()) & literalMask;
+                while (literalFrom[slot] != -1) {
+                    slot = (slot + 1) & literalMask;
+                }
+                literalFrom[slot] = i;
+                literalName[slot] = name;
+                literalTo[slot] = state.literalTargets.get(j);
+            }
+        }
+
+        this.words = (stateCount + 63) >>> 6;
+        this.scratch = ThreadLocal.withInitial(() -> new long[words * 2]);
+        this.root = root != null ? root.toString() : "";
+    }
+
+    /**
+     * Compile exclude patterns
+     *
+     * @param patterns The patterns, in order (later ones win)
+     * @param root Project root; paths under it are matched relative to it
+     * @return The compiled rules
+     */
+    public static ExclusionRules compile(List<String> patterns, Path root) {
+        Compiler compiler = new Compiler();
+        for (String pattern : patterns) {
+            compiler.add(pattern);
+        }
+        return new ExclusionRules(compiler, root);
+    }
+
+    /**
+     * Check whether a path is excluded
+     *
+     * @param path The path (absolute under the project root, or relative to it)
+     * @param directory Whether the path is a directory (for patterns ending in '/')
+     * @return true if this path, or a directory containing it, is excluded
+     */
+    public boolean isExcluded(Path path, boolean directory) {
+        return isExcluded(path.toString(), directory);
+    }
+
+    /**
+     * Check whether a path is excluded, without making a Path first
+     * (for Git tree walks, which see paths like "src/main/User.java")
+     *
+     * @param text The path ('/' or platform separators)
+     * @param directory Whether the path is a directory (for patterns ending in '/')
+     * @return true if this path, or a directory containing it, is excluded
+     */
+    public boolean isExcluded(String text, boolean directory) {
+        int end = text.length();
+        int pos = relativeStart(text);
+
+        long[] sets = scratch.get();
+        int current = 0;
+        int next = words;
+        Arrays.fill(sets, 0, words, 0L);
+        activate(sets, current, 0);
+
+        while (true) {
+            // Find the next name: [pos, nameEnd)
+            while (pos < end && isSeparator(text.charAt(pos))) {
+                pos++;
+            }
+            if (pos >= end) {
+                return false;
+            }
+            int nameEnd = pos;
+            while (nameEnd < end && !isSeparator(text.charAt(nameEnd))) {
+                nameEnd++;
+            }
+
+            // Move every active state forward over this name
+            Arrays.fill(sets, next, next + words, 0L);
+            boolean anyActive = false;
+            for (int state = nextSetBit(sets, current, 0); state >= 0; state = nextSetBit(sets, current, state + 1)) {
+                anyActive |= step(sets, next, state, text, pos, nameEnd);
+            }
+            if (!anyActive) {
+                return false;  // No pattern can match this path any more
+            }
+
+            // Is the path up to here excluded? (last matching rule wins)
+            boolean last = !hasMoreNames(text, nameEnd, end);
+            boolean asDirectory = !last || directory;
+            int rule = NO_RULE;
+            for (int state = nextSetBit(sets, next, 0); state >= 0; state = nextSetBit(sets, next, state + 1)) {
+                rule = Math.max(rule, asDirectory ? lastRuleForDirectory[state] : lastRuleForFile[state]);
+            }
+            if (rule != NO_RULE && !negated[rule]) {
+                return true;
+            }
+            if (last) {
+                return false;
+            }
+
+            int swap = current;
+            current = next;
+            next = swap;
+            pos = nameEnd;
+        }
+    }
+
+    /**
+     * Follow all transitions of one state over the name text[from, to)
+     *
+     * @return true if any state was activated
+     */
+    private boolean step(long[] sets, int offset, int state, String text, int from, int to) {
+        boolean activated = false;
+
+        if (doubleStar[state]) {
+            activate(sets, offset, state);
+            activated = true;
+        }
+
+        int slot = hash(state, text, from, to) & literalMask;
+        while (literalFrom[slot] != -1) {
+            if (literalFrom[slot] == state
+                    && literalName[slot].length() == to - from
+                    && text.regionMatches(true, from, literalName[slot], 0, to - from)) {
+                activate(sets, offset, literalTo[slot]);
+                activated = true;
+                break;
+            }
+            slot = (slot + 1) & literalMask;
+        }
+
+        String[] stateGlobs = globs[state];
+        for (int i = 0; i < stateGlobs.length; i++) {
+            if (globMatches(stateGlobs[i], 0, text, from, to)) {
+                activate(sets, offset, globTargets[state][i]);
+                activated = true;
+            }
+        }
+        return activated;
+    }
+
+    /**
+     * Mark a state active, plus the '**' states reachable without consuming a name
+     */
+    private void activate(long[] sets, int offset, int state) {
+        while (state >= 0) {
+            sets[offset + (state >>> 6)] |= 1L << state;
+            state = doubleStarChild[state];
+        }
+    }
+
+    private int relativeStart(String text) {
+        int rootLength = root.length();
+        if (rootLength > 0 && text.startsWith(root)
+                && (text.length() == rootLength || isSeparator(text.charAt(rootLength))
+                || isSeparator(root.charAt(rootLength - 1)))) {
+            return rootLength;
+        }
+        return 0;
+    }
+
+    private static boolean hasMoreNames(String text, int pos, int end) {
+        for (int i = pos; i < end; i++) {
+            if (!isSeparator(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '/' || c == File.separatorChar;
+    }
+
+    private static int nextSetBit(long[] sets, int offset, int from) {
+        int word = from >>> 6;
+        int words = sets.length >>> 1;
+        if (word >= words) {
+            return -1;
+        }
+        long bits = sets[offset + word] & (-1L << from);
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == words) {
+                return -1;
+            }
+            bits = sets[offset + word];
+        }
+    }
+
+    /**
+     * Case-insensitive hash of (state, name) - same value for a pattern
+     * name and for the same name found inside a path
+     */
+    private static int hash(int state, CharSequence text, int from, int to) {
+        int h = state * 0x9E3779B9;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + Character.toLowerCase(text.charAt(i));
+        }
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Match a lowercase glob ('*' and '?') against text[from, to), ignoring case
+     */
+    private static boolean globMatches(String glob, int g, String text, int from, int to) {
+        int star = -1;
+        int starText = 0;
+        int t = from;
+        while (t < to) {
+            if (g < glob.length() && glob.charAt(g) == '*') {
+                star = g++;
+                starText = t;
+            } else if (g < glob.length()
+                    && (glob.charAt(g) == '?' || glob.charAt(g) == Character.toLowerCase(text.charAt(t)))) {
+                g++;
+                t++;
+            } else if (star >= 0) {
+                // Let the last '*' swallow one more char and retry
+                g = star + 1;
+                t = ++starText;
+            } else {
+                return false;
+            }
+        }
+        while (g < glob.length() && glob.charAt(g) == '*') {
+            g++;
+        }
+        return g == glob.length();
+    }
+
+    private static boolean[] toBooleanArray(List<Boolean> values) {
+        boolean[] array = new boolean[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+
+    // ==================== COMPILATION ====================
+
+    /**
+     * One automaton state while compiling (a node in the pattern trie)
+     */
+    private static final class State {
+        final boolean doubleStar;
+        int doubleStarChild = -1;
+        int lastRuleForDirectory = NO_RULE;
+        int lastRuleForFile = NO_RULE;
+        final List<String> literalNames = new ArrayList<>();
+        final List<Integer> literalTargets = new ArrayList<>();
+        final List<String> globs = new ArrayList<>();
+        final List<Integer> globTargets = new ArrayList<>();
+
+        State(boolean doubleStar) {
+            this.doubleStar = doubleStar;
+        }
+    }
+
+    /**
+     * Builds the pattern trie; patterns that share a prefix share states
+     */
+    private static final class Compiler {
+        final List<State> states = new ArrayList<>(List.of(new State(false)));
+        final List<Boolean> negated = new ArrayList<>();
+
+        void add(String raw) {
+            String pattern = raw.trim();
+            if (pattern.isEmpty() || pattern.startsWith("#")) {
+                return;
+            }
+
+            boolean negate = pattern.startsWith("!");
+            if (negate) {
+                pattern = pattern.substring(1);
+            }
+
+            boolean directoryOnly = pattern.endsWith("/");
+            while (pattern.endsWith("/")) {
+                pattern = pattern.substring(0, pattern.length() - 1);
+            }
+
+            // A '/' at the start or in the middle anchors the pattern to the root
+            boolean anchored = pattern.contains("/");
+
+            List<String> names = new ArrayList<>();
+            if (!anchored) {
+                names.add("**");
+            }
+            for (String name : pattern.toLowerCase(Locale.ROOT).split("/")) {
+                boolean repeatedStar = name.equals("**") && !names.isEmpty()
+                        && names.get(names.size() - 1).equals("**");
+                if (!name.isEmpty() && !repeatedStar) {
+                    names.add(name);
+                }
+            }
+            if (names.isEmpty()) {
+                return;  // Nothing left to match (e.g. "/" or "!")
+            }
+
+            // A trailing '**' means "everything inside"; since everything inside
+            // an excluded folder is excluded anyway, '*' does the same job
+            if (names.get(names.size() - 1).equals("**")) {
+                names.set(names.size() - 1, "*");
+            }
+
+            int rule = negated.size();
+            negated.add(negate);
+
+            int state = 0;
+            for (String name : names) {
+                state = child(state, name);
+            }
+            State end = states.get(state);
+            end.lastRuleForDirectory = rule;
+            if (!directoryOnly) {
+                end.lastRuleForFile = rule;
+            }
+        }
+
+        private int child(int parent, String name) {
+            State state = states.get(parent);
+
+            if (name.equals("**")) {
+                if (state.doubleStarChild < 0) {
+                    state.doubleStarChild = newState(true);
+                }
+                return state.doubleStarChild;
+            }
+
+            boolean glob = name.indexOf('*') >= 0 || name.indexOf('?') >= 0;
+            List<String> names = glob ? state.globs : state.literalNames;
+            List<Integer> targets = glob ? state.globTargets : state.literalTargets;
+
+            int existing = names.indexOf(name);
+            if (existing >= 0) {
+                return targets.get(existing);
+            }
+            int created = newState(false);
+            names.add(name);
+            targets.add(created);
+            return created;
+        }
+
+        private int newState(boolean doubleStar) {
+            states.add(new State(doubleStar));
+            return states.size() - 1;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.docgen.config;
+
+/**
+ * ProgressMode - How the services report what they are doing.
+ */
+public enum ProgressMode {
+
+    /**
+     * One line per file, like it has always been (fine for small projects)
+     */
+    CONSOLE,
+
+    /**
+     * Nothing at all - errors are still recorded on each JavaFileInfo
+     */
+    SILENT,
+
+    /**
+     * A single progress line per stage, redrawn a few times per second.
+     * Warnings and failures still get a line of their own.
+     */
+    PROGRESS_BAR,
+
+    /**
+     * One JSON object per event (for CI logs and other tools), buffered
+     * and flushed at the end of every stage. Main writes these to
+     * System.err, so they don't mix with the report on System.out.
+     */
+    JSON_LINES
+}
@@ -0,0 +1,20 @@
+package com.docgen.config;
+
+/**
+ * ReadMode - How FileReaderService loads files from disk.
+ */
+public enum ReadMode {
+
+    /**
+     * Files.readString + a regex over the whole text for the package name
+     */
+    STANDARD,
+
+    /**
+     * Bulk-read raw bytes through a FileChannel, find the package by scanning
+     * only the file header, and keep ASCII files as bytes until something
+     * actually needs chars. Non-ASCII files are decoded right away with the
+     * same strict UTF-8 rules as STANDARD.
+     */
+    BYTES
+}
@@ -0,0 +1,33 @@
+package com.docgen.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter - A number that only goes up (errors, retries, ...).
+ *
+ * Backed by a LongAdder, so many threads can increment it without
+ * fighting over one memory location.
+ */
+public final class Counter {
+
+    private final boolean enabled;
+    private final LongAdder value = new LongAdder();
+
+    Counter(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void increment() {
+        add(1);
+    }
+
+    public void add(long amount) {
+        if (enabled) {
+            value.add(amount);
+        }
+    }
+
+    public long getValue() {
+        return value.sum();
+    }
+}
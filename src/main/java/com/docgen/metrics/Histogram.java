@@ -0,0 +1,116 @@
+package com.docgen.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram - Distribution of non-negative values, for percentiles.
+ *
+ * ╔══════════════════════════════════════════════════════════════════╗
+ * ║  0 1 2 ... 15 │ 16 18 20 ... 30 │ 32 36 ... 60 │ 64 72 ... 120 │ ║
+ * ║   exact       │  8 buckets      │  8 buckets   │  8 buckets    │ ║
+ * ╚══════════════════════════════════════════════════════════════════╝
+ *
+ * Values are counted in buckets instead of being stored: every power of
+ * two is split into 8 equal buckets. Recording is one array increment,
+ * memory is fixed (488 counters cover the whole long range), and a
+ * percentile is off by at most one bucket width - 12.5% of the value.
+ */
+public final class Histogram {
+
+    private static final int SUB_BUCKETS = 8;      // per power of two
+    private static final int SUB_BITS = 3;         // log2(SUB_BUCKETS)
+    private static final int EXACT = 16;           // values below this get their own bucket
+    private static final int EXACT_BITS = 4;       // log2(EXACT)
+    private static final int BUCKETS = EXACT + (63 - EXACT_BITS) * SUB_BUCKETS;
+
+    private final boolean enabled;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    Histogram(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Record one value (negative values count as 0)
+     */
+    public void record(long value) {
+        if (!enabled) {
+            return;
+        }
+        value = Math.max(0, value);
+        buckets.incrementAndGet(bucketOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long n = getCount();
+        return n == 0 ? 0 : (double) getSum() / n;
+    }
+
+    /**
+     * Estimate a percentile
+     *
+     * @param percentile Between 0 and 1 (0.5 = median, 0.99 = p99)
+     * @return The upper edge of the bucket holding that rank (never above max)
+     */
+    public long getPercentile(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    static int bucketOf(long value) {
+        if (value < EXACT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return EXACT + (exponent - EXACT_BITS) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < EXACT) {
+            return bucket;
+        }
+        int exponent = (bucket - EXACT) / SUB_BUCKETS + EXACT_BITS;
+        int sub = (bucket - EXACT) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BITS);
+        long lower = (SUB_BUCKETS + sub) * width;
+        return lower + width - 1;
+    }
+}
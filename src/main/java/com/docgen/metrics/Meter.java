@@ -0,0 +1,52 @@
+package com.docgen.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Meter - An amount of work and the wall-clock window it was done in.
+ *
+ * Used for throughput: files/sec discovered, bytes/sec read. Every mark()
+ * says "this much work happened between start and end"; the rate is the
+ * total amount divided by the time from the earliest start to the latest
+ * end. With several threads working at once, that is the real combined
+ * throughput of the stage, not the speed of one thread.
+ */
+public final class Meter {
+
+    private final boolean enabled;
+    private final LongAdder count = new LongAdder();
+    private final LongAccumulator firstStart = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator lastEnd = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    Meter(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Record work done between two System.nanoTime() readings
+     */
+    public void mark(long amount, long startNanos, long endNanos) {
+        if (enabled) {
+            count.add(amount);
+            firstStart.accumulate(startNanos);
+            lastEnd.accumulate(endNanos);
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Amount per second over the active window (0 before anything was marked)
+     */
+    public double getRatePerSecond() {
+        long start = firstStart.get();
+        long end = lastEnd.get();
+        if (start == Long.MAX_VALUE || end <= start) {
+            return 0;
+        }
+        return getCount() / ((end - start) / 1e9);
+    }
+}
@@ -0,0 +1,199 @@
+package com.docgen.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+
+/**
+ * MetricsExporter - Writes a MetricsRegistry in machine-readable formats.
+ *
+ * Two files, same numbers:
+ *
+ *   metrics.json - for scripts and dashboards
+ *     { "uptimeSeconds": 12.5,
+ *       "timers": { "parser.latency": { "count": 120, "p50Millis": 2.1, ... } }, ... }
+ *
+ *   metrics.prom - Prometheus text format (node_exporter textfile collector)
+ *     docgen_parser_latency_seconds{quantile="0.5"} 0.0021
+ *     docgen_parser_latency_seconds_count 120
+ */
+public final class MetricsExporter {
+
+    public static final String JSON_FILE = "metrics.json";
+    public static final String PROMETHEUS_FILE = "metrics.prom";
+
+    private static final String PREFIX = "docgen_";
+
+    private MetricsExporter() {
+    }
+
+    /**
+     * Write metrics.json and metrics.prom into a directory
+     *
+     * @return The directory the files were written to
+     */
+    public static Path write(MetricsRegistry registry, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve(JSON_FILE), toJson(registry), StandardCharsets.UTF_8);
+        Files.writeString(directory.resolve(PROMETHEUS_FILE), toPrometheus(registry), StandardCharsets.UTF_8);
+        return directory;
+    }
+
+    // ==================== JSON ====================
+
+    public static String toJson(MetricsRegistry registry) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"uptimeSeconds\": ").append(number(registry.getUptimeSeconds())).append(",\n");
+
+        json.append("  \"counters\": {");
+        String separator = "\n";
+        for (Map.Entry<String, Counter> entry : registry.getCounters().entrySet()) {
+            json.append(separator).append("    ").append(quote(entry.getKey())).append(": ")
+                    .append(entry.getValue().getValue());
+            separator = ",\n";
+        }
+        json.append(close(separator)).append(",\n");
+
+        json.append("  \"meters\": {");
+        separator = "\n";
+        for (Map.Entry<String, Meter> entry : registry.getMeters().entrySet()) {
+            Meter meter = entry.getValue();
+            json.append(separator).append("    ").append(quote(entry.getKey()))
+                    .append(": { \"count\": ").append(meter.getCount())
+                    .append(", \"perSecond\": ").append(number(meter.getRatePerSecond()))
+                    .append(" }");
+            separator = ",\n";
+        }
+        json.append(close(separator)).append(",\n");
+
+        json.append("  \"timers\": {");
+        separator = "\n";
+        for (Map.Entry<String, Timer> entry : registry.getTimers().entrySet()) {
+            Timer timer = entry.getValue();
+            json.append(separator).append("    ").append(quote(entry.getKey()))
+                    .append(": { \"count\": ").append(timer.getCount())
+                    .append(", \"totalMillis\": ").append(number(timer.getTotalMillis()))
+                    .append(", \"meanMillis\": ").append(number(timer.getMeanMillis()))
+                    .append(", \"p50Millis\": ").append(number(timer.getPercentileMillis(0.5)))
+                    .append(", \"p99Millis\": ").append(number(timer.getPercentileMillis(0.99)))
+                    .append(", \"maxMillis\": ").append(number(timer.getMaxMillis()))
+                    .append(" }");
+            separator = ",\n";
+        }
+        json.append(close(separator)).append(",\n");
+
+        json.append("  \"histograms\": {");
+        separator = "\n";
+        for (Map.Entry<String, Histogram> entry : registry.getHistograms().entrySet()) {
+            Histogram histogram = entry.getValue();
+            json.append(separator).append("    ").append(quote(entry.getKey()))
+                    .append(": { \"count\": ").append(histogram.getCount())
+                    .append(", \"mean\": ").append(number(histogram.getMean()))
+                    .append(", \"p50\": ").append(histogram.getPercentile(0.5))
+                    .append(", \"p99\": ").append(histogram.getPercentile(0.99))
+                    .append(", \"max\": ").append(histogram.getMax())
+                    .append(" }");
+            separator = ",\n";
+        }
+        json.append(close(separator)).append(",\n");
+
+        json.append("  \"gauges\": {");
+        separator = "\n";
+        for (Map.Entry<String, DoubleSupplier> entry : registry.getGauges().entrySet()) {
+            json.append(separator).append("    ").append(quote(entry.getKey())).append(": ")
+                    .append(number(entry.getValue().getAsDouble()));
+            separator = ",\n";
+        }
+        json.append(close(separator)).append("\n");
+
+        json.append("}\n");
+        return json.toString();
+    }
+
+    /**
+     * Close a JSON object: on its own line if it had entries, "{}" if empty
+     */
+    private static String close(String separator) {
+        return separator.equals("\n") ? "}" : "\n  }";
+    }
+
+    private static String quote(String name) {
+        return "\"" + name.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    // ==================== PROMETHEUS ====================
+
+    public static String toPrometheus(MetricsRegistry registry) {
+        StringBuilder prom = new StringBuilder();
+
+        gauge(prom, PREFIX + "uptime_seconds", registry.getUptimeSeconds());
+
+        for (Map.Entry<String, Counter> entry : registry.getCounters().entrySet()) {
+            String name = PREFIX + metricName(entry.getKey()) + "_total";
+            prom.append("# TYPE ").append(name).append(" counter\n");
+            prom.append(name).append(' ').append(entry.getValue().getValue()).append('\n');
+        }
+
+        for (Map.Entry<String, Meter> entry : registry.getMeters().entrySet()) {
+            String name = PREFIX + metricName(entry.getKey());
+            prom.append("# TYPE ").append(name).append("_total counter\n");
+            prom.append(name).append("_total ").append(entry.getValue().getCount()).append('\n');
+            gauge(prom, name + "_per_second", entry.getValue().getRatePerSecond());
+        }
+
+        for (Map.Entry<String, Timer> entry : registry.getTimers().entrySet()) {
+            Timer timer = entry.getValue();
+            String name = PREFIX + metricName(entry.getKey()) + "_seconds";
+            prom.append("# TYPE ").append(name).append(" summary\n");
+            quantile(prom, name, "0.5", timer.getPercentileMillis(0.5) / 1000);
+            quantile(prom, name, "0.99", timer.getPercentileMillis(0.99) / 1000);
+            prom.append(name).append("_sum ").append(number(timer.getTotalMillis() / 1000)).append('\n');
+            prom.append(name).append("_count ").append(timer.getCount()).append('\n');
+        }
+
+        for (Map.Entry<String, Histogram> entry : registry.getHistograms().entrySet()) {
+            Histogram histogram = entry.getValue();
+            String name = PREFIX + metricName(entry.getKey());
+            prom.append("# TYPE ").append(name).append(" summary\n");
+            quantile(prom, name, "0.5", histogram.getPercentile(0.5));
+            quantile(prom, name, "0.99", histogram.getPercentile(0.99));
+            prom.append(name).append("_sum ").append(histogram.getSum()).append('\n');
+            prom.append(name).append("_count ").append(histogram.getCount()).append('\n');
+        }
+
+        for (Map.Entry<String, DoubleSupplier> entry : registry.getGauges().entrySet()) {
+            gauge(prom, PREFIX + metricName(entry.getKey()), entry.getValue().getAsDouble());
+        }
+
+        return prom.toString();
+    }
+
+    private static void gauge(StringBuilder prom, String name, double value) {
+        prom.append("# TYPE ").append(name).append(" gauge\n");
+        prom.append(name).append(' ').append(number(value)).append('\n');
+    }
+
+    private static void quantile(StringBuilder prom, String name, String quantile, double value) {
+        prom.append(name).append("{quantile=\"").append(quantile).append("\"} ")
+                .append(number(value)).append('\n');
+    }
+
+    /**
+     * "parser.latency" → "parser_latency" (Prometheus allows [a-zA-Z0-9_:])
+     */
+    private static String metricName(String name) {
+        return name.replaceAll("[^a-zA-Z0-9_:]", "_");
+    }
+
+    private static String number(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return "0";
+        }
+        return String.format(Locale.ROOT, "%.6f", value).replaceAll("0+$", "").replaceAll("\\.$", "");
+    }
+}
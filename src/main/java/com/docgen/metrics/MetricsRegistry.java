@@ -0,0 +1,117 @@
+package com.docgen.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * MetricsRegistry - Named counters, meters, timers, histograms and gauges for one run.
+ *
+ * Services ask the registry for an instrument by name and update it as
+ * they work; the same name always gives the same instrument, from any
+ * thread. At the end (or periodically) MetricsExporter / MetricsReporter
+ * read everything back out.
+ *
+ * NAMES are "stage.what", e.g. "parser.latency", "reader.bytes".
+ *
+ * A service that was never given a registry uses DISABLED: its
+ * instruments accept updates but do nothing, so the code can record
+ * unconditionally without null checks.
+ *
+ * USAGE:
+ *   MetricsRegistry metrics = new MetricsRegistry();
+ *   analyzerService.enableMetrics(metrics);
+ *   ...
+ *   MetricsExporter.write(metrics, outputDir);
+ */
+public final class MetricsRegistry {
+
+    /**
+     * A registry whose instruments ignore every update
+     */
+    public static final MetricsRegistry DISABLED = new MetricsRegistry(false);
+
+    private final boolean enabled;
+    private final long startNanos = System.nanoTime();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Meter> meters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, DoubleSupplier> gauges = new ConcurrentHashMap<>();
+
+    public MetricsRegistry() {
+        this(true);
+    }
+
+    private MetricsRegistry(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ==================== INSTRUMENTS ====================
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, n -> new Counter(enabled));
+    }
+
+    public Meter meter(String name) {
+        return meters.computeIfAbsent(name, n -> new Meter(enabled));
+    }
+
+    public Timer timer(String name) {
+        return timers.computeIfAbsent(name, n -> new Timer(enabled));
+    }
+
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, n -> new Histogram(enabled));
+    }
+
+    /**
+     * Register a value that is read when metrics are reported
+     * (e.g. a cache's hit ratio). Registering a name again replaces it.
+     */
+    public void gauge(String name, DoubleSupplier value) {
+        if (enabled) {
+            gauges.put(name, value);
+        }
+    }
+
+    // ==================== READING BACK (sorted by name) ====================
+
+    /**
+     * Seconds since this registry was created
+     */
+    public double getUptimeSeconds() {
+        return (System.nanoTime() - startNanos) / 1e9;
+    }
+
+    public Map<String, Counter> getCounters() {
+        return sorted(counters);
+    }
+
+    public Map<String, Meter> getMeters() {
+        return sorted(meters);
+    }
+
+    public Map<String, Timer> getTimers() {
+        return sorted(timers);
+    }
+
+    public Map<String, Histogram> getHistograms() {
+        return sorted(histograms);
+    }
+
+    public Map<String, DoubleSupplier> getGauges() {
+        return sorted(gauges);
+    }
+
+    private static <T> Map<String, T> sorted(Map<String, T> map) {
+        return Collections.unmodifiableMap(new TreeMap<>(map));
+    }
+}
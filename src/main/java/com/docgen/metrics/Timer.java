@@ -0,0 +1,50 @@
+package com.docgen.metrics;
+
+/**
+ * Timer - How long something takes, per occurrence (parse one file,
+ * diff one commit). A Histogram of nanoseconds.
+ *
+ * USAGE:
+ *   long start = System.nanoTime();
+ *   ... work ...
+ *   timer.recordSince(start);
+ */
+public final class Timer {
+
+    private final Histogram nanos;
+
+    Timer(boolean enabled) {
+        this.nanos = new Histogram(enabled);
+    }
+
+    public void record(long durationNanos) {
+        nanos.record(durationNanos);
+    }
+
+    public void recordSince(long startNanos) {
+        nanos.record(System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+        return nanos.getCount();
+    }
+
+    public double getTotalMillis() {
+        return nanos.getSum() / 1e6;
+    }
+
+    public double getMeanMillis() {
+        return nanos.getMean() / 1e6;
+    }
+
+    public double getMaxMillis() {
+        return nanos.getMax() / 1e6;
+    }
+
+    /**
+     * @param percentile Between 0 and 1 (0.5 = median, 0.99 = p99)
+     */
+    public double getPercentileMillis(double percentile) {
+        return nanos.getPercentile(percentile) / 1e6;
+    }
+}
@@ -62,10 +62,10 @@ public class ClassInfo {
     private ClassType classType;
 
     /**
-     * Access and other modifiers
-     * Examples: "public", "abstract", "final"
+     * Access and other modifiers, one bit per JavaModifier
+     * Example: "public abstract" = PUBLIC | ABSTRACT
      */
-    private List<String> modifiers;
+    private int modifiers;
 
     /**
      * The parent class (extends clause)
@@ -130,7 +130,6 @@ public class ClassInfo {
      */
     public ClassInfo() {
         this.classType = ClassType.CLASS;
-        this.modifiers = new ArrayList<>();
         this.interfaces = new ArrayList<>();
         this.annotations = new ArrayList<>();
         this.fields = new ArrayList<>();
@@ -181,20 +180,48 @@ public class ClassInfo {
         return this;
     }
 
+    /**
+     * The modifier keywords, in the usual Java order
+     * (a read-only view of the modifier mask)
+     */
     public List<String> getModifiers() {
-        return modifiers;
+        return JavaModifier.keywords(modifiers);
     }
 
+    /**
+     * @throws IllegalArgumentException if a keyword is not a Java modifier
+     */
     public ClassInfo setModifiers(List<String> modifiers) {
-        this.modifiers = modifiers;
+        this.modifiers = JavaModifier.maskOf(modifiers);
         return this;
     }
 
     public ClassInfo addModifier(String modifier) {
-        this.modifiers.add(modifier);
+        this.modifiers |= JavaModifier.bitOf(modifier);
+        return this;
+    }
+
+    public ClassInfo addModifier(JavaModifier modifier) {
+        this.modifiers |= modifier.bit();
+        return this;
+    }
+
+    /**
+     * The modifiers as a mask of JavaModifier bits
+     */
+    public int getModifierMask() {
+        return modifiers;
+    }
+
+    public ClassInfo setModifierMask(int modifierMask) {
+        this.modifiers = JavaModifier.checkMask(modifierMask);
         return this;
     }
 
+    public boolean hasModifier(JavaModifier modifier) {
+        return modifier.isIn(modifiers);
+    }
+
     public String getSuperClass() {
         return superClass;
     }
@@ -345,21 +372,21 @@ public class ClassInfo {
      * Check if class is public
      */
     public boolean isPublic() {
-        return modifiers.contains("public");
+        return JavaModifier.PUBLIC.isIn(modifiers);
     }
 
     /**
      * Check if class is abstract
      */
     public boolean isAbstract() {
-        return modifiers.contains("abstract");
+        return JavaModifier.ABSTRACT.isIn(modifiers);
     }
 
     /**
      * Check if class is final
      */
     public boolean isFinal() {
-        return modifiers.contains("final");
+        return JavaModifier.FINAL.isIn(modifiers);
     }
 
     /**
@@ -416,8 +443,8 @@ public class ClassInfo {
         StringBuilder sb = new StringBuilder();
 
         // Modifiers
-        if (!modifiers.isEmpty()) {
-            sb.append(String.join(" ", modifiers)).append(" ");
+        if (modifiers != 0) {
+            sb.append(String.join(" ", getModifiers())).append(" ");
         }
 
         // Class type
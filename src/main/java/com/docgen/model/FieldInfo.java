@@ -1,6 +1,5 @@
 package com.docgen.model;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -23,7 +22,7 @@ import java.util.List;
  *   FieldInfo will contain:
  *     name = "name"
  *     type = "String"
- *     modifiers = ["private"]
+ *     modifiers = PRIVATE bit (getModifiers() = ["private"])
  *     initialValue = "\"John\""
  */
 public class FieldInfo {
@@ -43,10 +42,10 @@ public class FieldInfo {
     private String type;
 
     /**
-     * Access modifiers and other modifiers
-     * Examples: "private", "public", "static", "final", "volatile"
+     * Access modifiers and other modifiers, one bit per JavaModifier
+     * Example: "private static final" = PRIVATE | STATIC | FINAL
      */
-    private List<String> modifiers;
+    private int modifiers;
 
     /**
      * The initial value assigned to the field (if any)
@@ -74,7 +73,6 @@ public class FieldInfo {
      * Default constructor
      */
     public FieldInfo() {
-        this.modifiers = new ArrayList<>();
     }
 
     /**
@@ -110,20 +108,48 @@ public class FieldInfo {
         return this;
     }
 
+    /**
+     * The modifier keywords, in the usual Java order
+     * (a read-only view of the modifier mask)
+     */
     public List<String> getModifiers() {
-        return modifiers;
+        return JavaModifier.keywords(modifiers);
     }
 
+    /**
+     * @throws IllegalArgumentException if a keyword is not a Java modifier
+     */
     public FieldInfo setModifiers(List<String> modifiers) {
-        this.modifiers = modifiers;
+        this.modifiers = JavaModifier.maskOf(modifiers);
         return this;
     }
 
     public FieldInfo addModifier(String modifier) {
-        this.modifiers.add(modifier);
+        this.modifiers |= JavaModifier.bitOf(modifier);
+        return this;
+    }
+
+    public FieldInfo addModifier(JavaModifier modifier) {
+        this.modifiers |= modifier.bit();
+        return this;
+    }
+
+    /**
+     * The modifiers as a mask of JavaModifier bits
+     */
+    public int getModifierMask() {
+        return modifiers;
+    }
+
+    public FieldInfo setModifierMask(int modifierMask) {
+        this.modifiers = JavaModifier.checkMask(modifierMask);
         return this;
     }
 
+    public boolean hasModifier(JavaModifier modifier) {
+        return modifier.isIn(modifiers);
+    }
+
     public String getInitialValue() {
         return initialValue;
     }
@@ -158,38 +184,35 @@ public class FieldInfo {
      * Check if this field is private
      */
     public boolean isPrivate() {
-        return modifiers.contains("private");
+        return JavaModifier.PRIVATE.isIn(modifiers);
     }
 
     /**
      * Check if this field is public
      */
     public boolean isPublic() {
-        return modifiers.contains("public");
+        return JavaModifier.PUBLIC.isIn(modifiers);
     }
 
     /**
      * Check if this field is static
      */
     public boolean isStatic() {
-        return modifiers.contains("static");
+        return JavaModifier.STATIC.isIn(modifiers);
     }
 
     /**
      * Check if this field is final (constant)
      */
     public boolean isFinal() {
-        return modifiers.contains("final");
+        return JavaModifier.FINAL.isIn(modifiers);
     }
 
     /**
      * Get the visibility level as a string
      */
     public String getVisibility() {
-        if (modifiers.contains("public")) return "public";
-        if (modifiers.contains("protected")) return "protected";
-        if (modifiers.contains("private")) return "private";
-        return "package-private";  // Default in Java
+        return JavaModifier.visibility(modifiers);
     }
 
     /**
@@ -199,8 +222,8 @@ public class FieldInfo {
         StringBuilder sb = new StringBuilder();
 
         // Add modifiers
-        if (!modifiers.isEmpty()) {
-            sb.append(String.join(" ", modifiers)).append(" ");
+        if (modifiers != 0) {
+            sb.append(String.join(" ", getModifiers())).append(" ");
         }
 
         // Add type and name
@@ -27,6 +27,12 @@ package com.docgen.model;
  *     linesAdded = 25
  *     linesDeleted = 5
  *   }
+ *
+ * LAZY LINE COUNTS: Counting lines means loading and diffing both versions
+ * of the file, which costs far more than finding out WHICH files changed.
+ * So a change can be created with just its blob ids and a LineCounter; the
+ * first getLinesAdded() / getLinesDeleted() call runs the counter, and the
+ * result is kept. hasLineStats() tells whether that already happened.
  */
 public class FileChangeInfo {
 
@@ -43,6 +49,19 @@ public class FileChangeInfo {
         COPY      // File copied
     }
 
+    /**
+     * Works out the line counts of a change when they are first asked for
+     */
+    @FunctionalInterface
+    public interface LineCounter {
+
+        /**
+         * Count the lines of a change and store them with setLineStats()
+         * (leaving them unset means 0/0)
+         */
+        void countLines(FileChangeInfo change);
+    }
+
 
     // ==================== FIELDS ====================
 
@@ -73,6 +92,23 @@ public class FileChangeInfo {
      */
     private int linesDeleted;
 
+    /**
+     * Whether linesAdded / linesDeleted are known (set, or already counted)
+     */
+    private boolean lineStatsKnown;
+
+    /**
+     * Git blob ids of the old and new content (null = no such side,
+     * e.g. no old side for ADD). Used to count lines later.
+     */
+    private String oldBlobId;
+    private String newBlobId;
+
+    /**
+     * Counts the lines on first use (null = nothing to count with)
+     */
+    private LineCounter lineCounter;
+
 
     // ==================== CONSTRUCTORS ====================
 
@@ -121,20 +157,71 @@ public class FileChangeInfo {
     }
 
     public int getLinesAdded() {
+        ensureLineStats();
         return linesAdded;
     }
 
     public FileChangeInfo setLinesAdded(int linesAdded) {
         this.linesAdded = linesAdded;
+        this.lineStatsKnown = true;
         return this;
     }
 
     public int getLinesDeleted() {
+        ensureLineStats();
         return linesDeleted;
     }
 
     public FileChangeInfo setLinesDeleted(int linesDeleted) {
         this.linesDeleted = linesDeleted;
+        this.lineStatsKnown = true;
+        return this;
+    }
+
+    /**
+     * Set both line counts at once
+     */
+    public FileChangeInfo setLineStats(int linesAdded, int linesDeleted) {
+        this.linesAdded = linesAdded;
+        this.linesDeleted = linesDeleted;
+        this.lineStatsKnown = true;
+        return this;
+    }
+
+    /**
+     * Whether the line counts are known, so reading them is free
+     */
+    public boolean hasLineStats() {
+        return lineStatsKnown;
+    }
+
+    public String getOldBlobId() {
+        return oldBlobId;
+    }
+
+    public FileChangeInfo setOldBlobId(String oldBlobId) {
+        this.oldBlobId = oldBlobId;
+        return this;
+    }
+
+    public String getNewBlobId() {
+        return newBlobId;
+    }
+
+    public FileChangeInfo setNewBlobId(String newBlobId) {
+        this.newBlobId = newBlobId;
+        return this;
+    }
+
+    public LineCounter getLineCounter() {
+        return lineCounter;
+    }
+
+    /**
+     * Set what counts the lines if they are asked for before they are known
+     */
+    public FileChangeInfo setLineCounter(LineCounter lineCounter) {
+        this.lineCounter = lineCounter;
         return this;
     }
 
@@ -165,7 +252,7 @@ public class FileChangeInfo {
      * Get total lines changed (added + deleted)
      */
     public int getTotalLinesChanged() {
-        return linesAdded + linesDeleted;
+        return getLinesAdded() + getLinesDeleted();
     }
 
     /**
@@ -196,6 +283,20 @@ public class FileChangeInfo {
         };
     }
 
+    /**
+     * Run the line counter once, if the counts aren't known yet.
+     * Synchronized so two threads asking at once count only once.
+     */
+    private synchronized void ensureLineStats() {
+        if (lineStatsKnown || lineCounter == null) {
+            return;
+        }
+        lineCounter.countLines(this);
+        // Counted (or failed - then it stays 0/0); either way, don't retry
+        lineStatsKnown = true;
+        lineCounter = null;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -208,6 +309,7 @@ public class FileChangeInfo {
             sb.append(path);
         }
 
+        // Only counts that are already known - toString() shouldn't diff blobs
         if (linesAdded > 0 || linesDeleted > 0) {
             sb.append(" (+").append(linesAdded).append("/-").append(linesDeleted).append(")");
         }
@@ -1,5 +1,7 @@
 package com.docgen.model;
 
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -49,9 +51,23 @@ public class JavaFileInfo {
     private String content;
 
     /**
-     * How many lines of code in this file
+     * The content as raw bytes, when it was read in ReadMode.BYTES and is
+     * pure ASCII. Decoded into 'content' the first time getContent() is
+     * called, so files answered from the cache never need decoding.
      */
-    private int lineCount;
+    private byte[] asciiContent;
+
+    /**
+     * True once the content was dropped to save memory (see releaseContent)
+     * The text can be re-read from filePath when needed
+     */
+    private boolean contentReleased;
+
+    /**
+     * Where each line of the content starts
+     * Gives the line count and line lookups without splitting the content
+     */
+    private LineIndex lineIndex = LineIndex.EMPTY;
 
     /**
      * File size in bytes
@@ -63,6 +79,12 @@ public class JavaFileInfo {
      */
     private LocalDateTime lastModified;
 
+    /**
+     * Commit the content was read from (full id), or null if it was read
+     * from the working tree on disk
+     */
+    private String sourceRevision;
+
     // ==================== DAY 2: PARSED STRUCTURE ====================
     // These fields store the result of parsing with JavaParser
 
@@ -142,16 +164,72 @@ public class JavaFileInfo {
 
     /**
      * Get the file content
+     * (decodes it first if it is still held as ASCII bytes)
      */
     public String getContent() {
+        if (content == null && asciiContent != null) {
+            // For ASCII, ISO-8859-1 decoding is a plain byte copy
+            content = new String(asciiContent, StandardCharsets.ISO_8859_1);
+            asciiContent = null;
+        }
         return content;
     }
 
+    /**
+     * Get the content as ASCII bytes if it has not been decoded yet
+     *
+     * @return The raw bytes, or null if the content is (only) a String
+     */
+    public byte[] getAsciiContent() {
+        return asciiContent;
+    }
+
+    /**
+     * Get the content length in chars, without decoding it
+     */
+    public int getContentLength() {
+        if (content != null) {
+            return content.length();
+        }
+        return asciiContent != null ? asciiContent.length : 0;
+    }
+
+    /**
+     * Check if the content was released after analysis
+     */
+    public boolean isContentReleased() {
+        return contentReleased;
+    }
+
     /**
      * Get the line count
      */
     public int getLineCount() {
-        return lineCount;
+        return lineIndex.getLineCount();
+    }
+
+    /**
+     * Get the line start offsets of the content
+     * Still valid after releaseContent() (it describes the text that was analyzed)
+     */
+    public LineIndex getLineIndex() {
+        return lineIndex;
+    }
+
+    /**
+     * Get lines startLine..endLine (1-based, inclusive) as a view of the content.
+     * No substring is created; call toString() on the result if you need a copy.
+     *
+     * @return The text of those lines, or null if the content is not available
+     */
+    public CharSequence getSourceLines(int startLine, int endLine) {
+        String content = getContent();
+        if (content == null) {
+            return null;
+        }
+        return CharBuffer.wrap(content,
+                lineIndex.getLineStart(startLine),
+                lineIndex.getLineEnd(endLine));
     }
 
     /**
@@ -168,6 +246,13 @@ public class JavaFileInfo {
         return lastModified;
     }
 
+    /**
+     * Get the commit the content came from (null = working tree)
+     */
+    public String getSourceRevision() {
+        return sourceRevision;
+    }
+
 
     // ==================== SETTERS ====================
     // Methods to WRITE data (put values in)
@@ -192,8 +277,47 @@ public class JavaFileInfo {
      */
     public JavaFileInfo setContent(String content) {
         this.content = content;
-        // Automatically calculate line count when content is set
-        this.lineCount = content.isEmpty() ? 0 : content.split("\n").length;
+        // Automatically index the lines when content is set (one scan, no substrings)
+        this.lineIndex = LineIndex.of(content);
+        this.asciiContent = null;
+        this.contentReleased = false;
+        return this;
+    }
+
+    /**
+     * Set the file content as raw bytes that are all ASCII (below 0x80).
+     * They are decoded lazily by getContent().
+     */
+    public JavaFileInfo setAsciiContent(byte[] asciiContent) {
+        this.asciiContent = asciiContent;
+        this.content = null;
+        this.lineIndex = LineIndex.of(asciiContent);
+        this.contentReleased = false;
+        return this;
+    }
+
+    /**
+     * Drop the file content so it can be garbage collected.
+     * Line count, size and the parsed structure are kept.
+     */
+    public JavaFileInfo releaseContent() {
+        if (content != null || asciiContent != null) {
+            this.content = null;
+            this.asciiContent = null;
+            this.contentReleased = true;
+        }
+        return this;
+    }
+
+    /**
+     * Restore a file without its content (e.g. from a snapshot): the content
+     * counts as released, and lineIndex describes the text that was analyzed
+     */
+    public JavaFileInfo restoreReleased(LineIndex lineIndex) {
+        this.content = null;
+        this.asciiContent = null;
+        this.lineIndex = lineIndex;
+        this.contentReleased = true;
         return this;
     }
 
@@ -213,6 +337,14 @@ public class JavaFileInfo {
         return this;
     }
 
+    /**
+     * Set the commit the content was read from
+     */
+    public JavaFileInfo setSourceRevision(String sourceRevision) {
+        this.sourceRevision = sourceRevision;
+        return this;
+    }
+
 
     // ==================== DAY 2: GETTERS & SETTERS ====================
 
@@ -347,7 +479,7 @@ public class JavaFileInfo {
                         "  path=%s\n",
                 fileName,
                 packageName != null ? packageName : "(default package)",
-                lineCount,
+                getLineCount(),
                 fileSize,
                 filePath
         ));
@@ -378,6 +510,6 @@ public class JavaFileInfo {
      * Get a short summary - useful for quick display
      */
     public String getSummary() {
-        return String.format("%s (%d lines)", fileName, lineCount);
+        return String.format("%s (%d lines)", fileName, getLineCount());
     }
 }
\ No newline at end of file
@@ -0,0 +1,166 @@
+package com.docgen.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JavaModifier - The Java modifier keywords, each with its own bit.
+ *
+ * ClassInfo, MethodInfo and FieldInfo keep their modifiers as ONE int -
+ * a bit per modifier - instead of a list of strings:
+ *
+ *   public static final int MAX = 1;
+ *
+ *   modifiers = PUBLIC.bit() | STATIC.bit() | FINAL.bit()   = 0b1100001
+ *
+ * Checking a modifier is then a single AND, with no string comparisons
+ * and no allocation:
+ *
+ *   (modifiers & PUBLIC.bit()) != 0
+ *
+ * The constants are declared in the order the Java Language Specification
+ * recommends writing them, so the string view (keywords()) reads
+ * "public static final", never "final static public".
+ */
+public enum JavaModifier {
+    PUBLIC("public"),
+    PROTECTED("protected"),
+    PRIVATE("private"),
+    ABSTRACT("abstract"),
+    DEFAULT("default"),
+    STATIC("static"),
+    FINAL("final"),
+    SEALED("sealed"),
+    NON_SEALED("non-sealed"),
+    TRANSIENT("transient"),
+    VOLATILE("volatile"),
+    SYNCHRONIZED("synchronized"),
+    NATIVE("native"),
+    STRICTFP("strictfp"),
+    TRANSITIVE("transitive");   // Only in module-info requires
+
+    /** Every bit that belongs to a modifier */
+    public static final int ALL_BITS = (1 << values().length) - 1;
+
+    /** The bits of public, protected and private */
+    public static final int VISIBILITY_BITS = PUBLIC.bit() | PROTECTED.bit() | PRIVATE.bit();
+
+    private static final JavaModifier[] VALUES = values();
+    private static final Map<String, JavaModifier> BY_KEYWORD = new HashMap<>();
+
+    static {
+        for (JavaModifier modifier : VALUES) {
+            BY_KEYWORD.put(modifier.keyword, modifier);
+        }
+    }
+
+    // Mask → its read-only keyword list, built on first use (only a few masks ever occur)
+    private static final Map<Integer, List<String>> KEYWORD_VIEWS = new ConcurrentHashMap<>();
+
+    private final String keyword;
+
+    JavaModifier(String keyword) {
+        this.keyword = keyword;
+    }
+
+    /**
+     * The keyword as written in source code
+     * Example: "non-sealed" for NON_SEALED
+     */
+    public String getKeyword() {
+        return keyword;
+    }
+
+    /**
+     * This modifier's bit in a modifier mask
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Check if a mask contains this modifier
+     */
+    public boolean isIn(int mask) {
+        return (mask & bit()) != 0;
+    }
+
+    /**
+     * Find the modifier for a keyword
+     *
+     * @return The modifier, or null if the text is not a modifier keyword
+     */
+    public static JavaModifier fromKeyword(String keyword) {
+        return BY_KEYWORD.get(keyword);
+    }
+
+    /**
+     * Turn modifier keywords into a mask
+     *
+     * @throws IllegalArgumentException if a keyword is not a Java modifier
+     */
+    public static int maskOf(List<String> keywords) {
+        int mask = 0;
+        for (String keyword : keywords) {
+            mask |= bitOf(keyword);
+        }
+        return mask;
+    }
+
+    /**
+     * The bit of a modifier keyword
+     *
+     * @throws IllegalArgumentException if the keyword is not a Java modifier
+     */
+    public static int bitOf(String keyword) {
+        JavaModifier modifier = fromKeyword(keyword);
+        if (modifier == null) {
+            throw new IllegalArgumentException("Not a Java modifier: " + keyword);
+        }
+        return modifier.bit();
+    }
+
+    /**
+     * The keywords of a mask, in the usual Java order.
+     * The list is read-only and shared - repeated calls don't allocate.
+     */
+    public static List<String> keywords(int mask) {
+        checkMask(mask);
+        return KEYWORD_VIEWS.computeIfAbsent(mask, JavaModifier::buildKeywords);
+    }
+
+    /**
+     * The visibility of a mask: "public", "protected", "private" or
+     * "package-private" (Java's default when none is written)
+     */
+    public static String visibility(int mask) {
+        if (PUBLIC.isIn(mask)) return "public";
+        if (PROTECTED.isIn(mask)) return "protected";
+        if (PRIVATE.isIn(mask)) return "private";
+        return "package-private";
+    }
+
+    /**
+     * @throws IllegalArgumentException if the mask has bits that are no modifier
+     */
+    public static int checkMask(int mask) {
+        if ((mask & ~ALL_BITS) != 0) {
+            throw new IllegalArgumentException("Invalid modifier mask: 0x" + Integer.toHexString(mask));
+        }
+        return mask;
+    }
+
+    private static List<String> buildKeywords(int mask) {
+        List<String> keywords = new ArrayList<>(Integer.bitCount(mask));
+        for (JavaModifier modifier : VALUES) {
+            if (modifier.isIn(mask)) {
+                keywords.add(modifier.keyword);
+            }
+        }
+        return Collections.unmodifiableList(keywords);
+    }
+}
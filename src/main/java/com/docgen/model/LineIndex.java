@@ -0,0 +1,193 @@
+package com.docgen.model;
+
+import java.util.Arrays;
+
+/**
+ * LineIndex - Where each line of a file starts.
+ *
+ * Instead of splitting the content into one String per line, we remember
+ * only the offset of each line's first character:
+ *
+ *   content:  "package a;\n\nclass B {}\n"
+ *   starts:   [0, 11, 12]          → 3 lines
+ *
+ * From that int[] we can answer "how many lines?", "where does line 7
+ * start and end?" and "which line is offset 1234 on?" without creating
+ * any substrings.
+ *
+ * Line numbers are 1-based, like JavaParser positions.
+ *
+ * The line count follows the same rules as content.split("\n").length,
+ * which is what this project has always reported: empty lines at the very
+ * end of the file are not counted, and a file of only newlines has 0 lines.
+ */
+public final class LineIndex {
+
+    /** Index of a file with no lines */
+    public static final LineIndex EMPTY = new LineIndex(new int[0], 0, 0);
+
+    /** starts[i] = offset of the first character of line i + 1 */
+    private final int[] starts;
+
+    /** Offset just past the last counted line (where trailing newlines begin) */
+    private final int lastLineEnd;
+
+    /** Length of the content, in chars */
+    private final int length;
+
+    private LineIndex(int[] starts, int lastLineEnd, int length) {
+        this.starts = starts;
+        this.lastLineEnd = lastLineEnd;
+        this.length = length;
+    }
+
+    /**
+     * Find every line start in the content
+     *
+     * Two quick indexOf('\n') passes (count, then fill) so the int[] is
+     * allocated once at exactly the right size - indexOf is a JIT intrinsic
+     * and much cheaper than the garbage of a growing array.
+     *
+     * @param content The text to index
+     * @return The index (never null)
+     */
+    public static LineIndex of(String content) {
+        // Trailing newlines do not start counted lines - find where they begin
+        int end = content.length();
+        while (end > 0 && content.charAt(end - 1) == '\n') {
+            end--;
+        }
+        if (end == 0) {
+            return EMPTY;
+        }
+
+        int count = 1;
+        for (int nl = content.indexOf('\n'); nl >= 0 && nl < end; nl = content.indexOf('\n', nl + 1)) {
+            count++;
+        }
+
+        int[] starts = new int[count];
+        int line = 1;  // starts[0] = 0
+        for (int nl = content.indexOf('\n'); line < count; nl = content.indexOf('\n', nl + 1)) {
+            starts[line++] = nl + 1;
+        }
+
+        return new LineIndex(starts, end, content.length());
+    }
+
+    /**
+     * Find every line start in raw ASCII bytes (offsets equal char offsets)
+     *
+     * @param ascii Content bytes, all below 0x80
+     * @return The index (never null)
+     */
+    public static LineIndex of(byte[] ascii) {
+        int end = ascii.length;
+        while (end > 0 && ascii[end - 1] == '\n') {
+            end--;
+        }
+        if (end == 0) {
+            return EMPTY;
+        }
+
+        int count = 1;
+        for (int i = 0; i < end; i++) {
+            if (ascii[i] == '\n') {
+                count++;
+            }
+        }
+
+        int[] starts = new int[count];
+        int line = 1;  // starts[0] = 0
+        for (int i = 0; line < count; i++) {
+            if (ascii[i] == '\n') {
+                starts[line++] = i + 1;
+            }
+        }
+
+        return new LineIndex(starts, end, ascii.length);
+    }
+
+    /**
+     * Rebuild an index from stored line starts (e.g. from a snapshot),
+     * without the content it describes
+     *
+     * @param starts Offset of the first character of each line, ascending, starting at 0
+     * @param lastLineEnd Offset just past the last line
+     * @param length Length of the content, in chars
+     * @throws IllegalArgumentException if the offsets don't describe a valid index
+     */
+    public static LineIndex ofLineStarts(int[] starts, int lastLineEnd, int length) {
+        if (starts.length == 0) {
+            return EMPTY;
+        }
+        if (starts[0] != 0 || lastLineEnd < starts[starts.length - 1] || length < lastLineEnd) {
+            throw new IllegalArgumentException("Invalid line offsets");
+        }
+        for (int i = 1; i < starts.length; i++) {
+            if (starts[i] <= starts[i - 1]) {
+                throw new IllegalArgumentException("Line starts must be ascending");
+            }
+        }
+        return new LineIndex(starts.clone(), lastLineEnd, length);
+    }
+
+    /**
+     * Number of lines (same as content.split("\n").length)
+     */
+    public int getLineCount() {
+        return starts.length;
+    }
+
+    /**
+     * Offset of the first character of a line
+     *
+     * @param lineNumber 1-based line number
+     */
+    public int getLineStart(int lineNumber) {
+        checkLine(lineNumber);
+        return starts[lineNumber - 1];
+    }
+
+    /**
+     * Offset just past the last character of a line (the '\n' is not included)
+     *
+     * @param lineNumber 1-based line number
+     */
+    public int getLineEnd(int lineNumber) {
+        checkLine(lineNumber);
+        return lineNumber < starts.length ? starts[lineNumber] - 1 : lastLineEnd;
+    }
+
+    /**
+     * Length of the indexed content, in chars
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Find the line that contains a character offset
+     *
+     * @param offset Offset into the content (0-based)
+     * @return 1-based line number
+     */
+    public int getLineOfOffset(int offset) {
+        if (offset < 0 || offset > length || starts.length == 0) {
+            throw new IndexOutOfBoundsException("Offset " + offset + " outside content of length " + length);
+        }
+        int index = Arrays.binarySearch(starts, offset);
+        // Not a line start: binarySearch returns -(insertion point) - 1,
+        // and the line containing the offset is the one before that point
+        int line = index >= 0 ? index + 1 : -index - 1;
+        // Offsets in the trailing newlines belong to the last counted line
+        return Math.min(line, starts.length);
+    }
+
+    private void checkLine(int lineNumber) {
+        if (lineNumber < 1 || lineNumber > starts.length) {
+            throw new IndexOutOfBoundsException(
+                    "Line " + lineNumber + " outside 1.." + starts.length);
+        }
+    }
+}
@@ -51,10 +51,10 @@ public class MethodInfo {
     private List<ParameterInfo> parameters;
 
     /**
-     * Access and other modifiers
-     * Examples: "public", "private", "static", "synchronized", "abstract"
+     * Access and other modifiers, one bit per JavaModifier
+     * Example: "public static synchronized" = PUBLIC | STATIC | SYNCHRONIZED
      */
-    private List<String> modifiers;
+    private int modifiers;
 
     /**
      * Exceptions declared in throws clause
@@ -102,7 +102,6 @@ public class MethodInfo {
      */
     public MethodInfo() {
         this.parameters = new ArrayList<>();
-        this.modifiers = new ArrayList<>();
         this.thrownExceptions = new ArrayList<>();
         this.annotations = new ArrayList<>();
     }
@@ -152,20 +151,48 @@ public class MethodInfo {
         return this;
     }
 
+    /**
+     * The modifier keywords, in the usual Java order
+     * (a read-only view of the modifier mask)
+     */
     public List<String> getModifiers() {
-        return modifiers;
+        return JavaModifier.keywords(modifiers);
     }
 
+    /**
+     * @throws IllegalArgumentException if a keyword is not a Java modifier
+     */
     public MethodInfo setModifiers(List<String> modifiers) {
-        this.modifiers = modifiers;
+        this.modifiers = JavaModifier.maskOf(modifiers);
         return this;
     }
 
     public MethodInfo addModifier(String modifier) {
-        this.modifiers.add(modifier);
+        this.modifiers |= JavaModifier.bitOf(modifier);
+        return this;
+    }
+
+    public MethodInfo addModifier(JavaModifier modifier) {
+        this.modifiers |= modifier.bit();
+        return this;
+    }
+
+    /**
+     * The modifiers as a mask of JavaModifier bits
+     */
+    public int getModifierMask() {
+        return modifiers;
+    }
+
+    public MethodInfo setModifierMask(int modifierMask) {
+        this.modifiers = JavaModifier.checkMask(modifierMask);
         return this;
     }
 
+    public boolean hasModifier(JavaModifier modifier) {
+        return modifier.isIn(modifiers);
+    }
+
     public List<String> getThrownExceptions() {
         return thrownExceptions;
     }
@@ -246,38 +273,35 @@ public class MethodInfo {
      * Check if method is public
      */
     public boolean isPublic() {
-        return modifiers.contains("public");
+        return JavaModifier.PUBLIC.isIn(modifiers);
     }
 
     /**
      * Check if method is private
      */
     public boolean isPrivate() {
-        return modifiers.contains("private");
+        return JavaModifier.PRIVATE.isIn(modifiers);
     }
 
     /**
      * Check if method is static
      */
     public boolean isStatic() {
-        return modifiers.contains("static");
+        return JavaModifier.STATIC.isIn(modifiers);
     }
 
     /**
      * Check if method is abstract
      */
     public boolean isAbstract() {
-        return modifiers.contains("abstract");
+        return JavaModifier.ABSTRACT.isIn(modifiers);
     }
 
     /**
      * Get visibility level
      */
     public String getVisibility() {
-        if (modifiers.contains("public")) return "public";
-        if (modifiers.contains("protected")) return "protected";
-        if (modifiers.contains("private")) return "private";
-        return "package-private";
+        return JavaModifier.visibility(modifiers);
     }
 
     /**
@@ -298,8 +322,8 @@ public class MethodInfo {
         StringBuilder sb = new StringBuilder();
 
         // Modifiers
-        if (!modifiers.isEmpty()) {
-            sb.append(String.join(" ", modifiers)).append(" ");
+        if (modifiers != 0) {
+            sb.append(String.join(" ", getModifiers())).append(" ");
         }
 
         // Return type (skip for constructors)
@@ -0,0 +1,59 @@
+package com.docgen.progress;
+
+/**
+ * ConsoleProgressSink - The classic output: one line per file.
+ *
+ *   🔬 Analyzing 3 Java files with JavaParser...
+ *
+ *      ✓ Parsed: Dog.java → 1 class(es), 4 method(s)
+ *      ✗ Failed to parse: Broken.java - Parse errors: ...
+ *
+ *   📊 Parse complete: 2 success, 1 errors
+ *
+ * Failures go to System.err, everything else to System.out.
+ */
+final class ConsoleProgressSink implements ProgressSink {
+
+    static final ConsoleProgressSink INSTANCE = new ConsoleProgressSink();
+
+    private ConsoleProgressSink() {
+    }
+
+    @Override
+    public void stageStarted(Stage stage, String message, int total) {
+        System.out.println(stage.getIcon() + " " + message);
+        System.out.println();
+    }
+
+    @Override
+    public void itemDone(Stage stage, String item, String detail) {
+        System.out.println("   ✓ " + stage.getDoneLabel() + ": " + item +
+                (detail != null ? " " + detail : ""));
+    }
+
+    @Override
+    public void itemFailed(Stage stage, String item, String reason) {
+        System.err.println("   ✗ " + stage.getFailedLabel() + ": " + item + " - " + reason);
+    }
+
+    @Override
+    public void info(Stage stage, String message) {
+        System.out.println("   " + message);
+    }
+
+    @Override
+    public void warning(Stage stage, String message) {
+        System.out.println("   ⚠️  " + message);
+    }
+
+    @Override
+    public void stageFinished(Stage stage, String summary) {
+        System.out.println();
+        System.out.println("📊 " + summary);
+    }
+
+    @Override
+    public void status(String line) {
+        System.out.println(line);
+    }
+}
@@ -0,0 +1,160 @@
+package com.docgen.progress;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * JsonLinesProgressSink - One JSON object per line, for CI logs and tools.
+ *
+ *   {"ts":1718000000123,"stage":"read","event":"item_done","item":"Dog.java","detail":"(42 lines)"}
+ *   {"ts":1718000000125,"stage":"parse","event":"item_failed","item":"Bad.java","reason":"..."}
+ *   {"ts":1718000000400,"stage":"parse","event":"stage_finished","done":41,"failed":1,"message":"..."}
+ *
+ * Events: stage_started, item_done, item_failed, info, warning, stage_finished.
+ *
+ * Lines go through a BufferedWriter and are only flushed at the end of a
+ * stage (and on close()), instead of a flush per println.
+ */
+final class JsonLinesProgressSink implements ProgressSink {
+
+    private final Writer writer;
+
+    // Items per stage, reported in stage_finished (guarded by this)
+    private final Map<Stage, long[]> counts = new EnumMap<>(Stage.class);
+
+    JsonLinesProgressSink(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    @Override
+    public synchronized void stageStarted(Stage stage, String message, int total) {
+        counts.put(stage, new long[2]);
+        StringBuilder json = start(stage, "stage_started");
+        if (total != UNKNOWN_TOTAL) {
+            json.append(",\"total\":").append(total);
+        }
+        field(json, "message", message);
+        write(json);
+    }
+
+    @Override
+    public synchronized void itemDone(Stage stage, String item, String detail) {
+        countsOf(stage)[0]++;
+        StringBuilder json = start(stage, "item_done");
+        field(json, "item", item);
+        if (detail != null) {
+            field(json, "detail", detail);
+        }
+        write(json);
+    }
+
+    @Override
+    public synchronized void itemFailed(Stage stage, String item, String reason) {
+        countsOf(stage)[1]++;
+        StringBuilder json = start(stage, "item_failed");
+        field(json, "item", item);
+        field(json, "reason", reason);
+        write(json);
+    }
+
+    @Override
+    public synchronized void info(Stage stage, String message) {
+        StringBuilder json = start(stage, "info");
+        field(json, "message", message);
+        write(json);
+    }
+
+    @Override
+    public synchronized void warning(Stage stage, String message) {
+        StringBuilder json = start(stage, "warning");
+        field(json, "message", message);
+        write(json);
+    }
+
+    @Override
+    public synchronized void stageFinished(Stage stage, String summary) {
+        long[] count = countsOf(stage);
+        StringBuilder json = start(stage, "stage_finished");
+        json.append(",\"done\":").append(count[0]).append(",\"failed\":").append(count[1]);
+        field(json, "message", summary);
+        write(json);
+        flush();
+    }
+
+    @Override
+    public synchronized void close() {
+        flush();
+    }
+
+    // ==================== JSON HELPERS ====================
+
+    private long[] countsOf(Stage stage) {
+        return counts.computeIfAbsent(stage, s -> new long[2]);
+    }
+
+    private static StringBuilder start(Stage stage, String event) {
+        return new StringBuilder(128)
+                .append("{\"ts\":").append(System.currentTimeMillis())
+                .append(",\"stage\":\"").append(stage.getId())
+                .append("\",\"event\":\"").append(event).append('"');
+    }
+
+    private static void field(StringBuilder json, String name, String value) {
+        json.append(",\"").append(name).append("\":");
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+
+    private void write(StringBuilder json) {
+        try {
+            writer.append(json).append("}\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
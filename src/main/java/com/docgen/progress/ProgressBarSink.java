@@ -0,0 +1,203 @@
+package com.docgen.progress;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ProgressBarSink - One status line that is redrawn instead of one line per file.
+ *
+ *   📖 read [##########··········] 50% 5012/10000 | 🔬 parse 4870 (2 failed)
+ *
+ * RATE LIMITING: itemDone() only bumps a counter. The line is redrawn at
+ * most every REDRAW_INTERVAL_NANOS, by whichever thread gets there first -
+ * the others don't wait, they just skip the redraw. So 100k files cost
+ * 100k counter increments and a few dozen writes.
+ *
+ * Several stages can run at once (the streaming pipeline reads and parses
+ * together), so the line shows every running stage.
+ *
+ * Stage start / end lines, warnings, failures and status lines (the
+ * periodic metrics summary) are printed on their own line above the bar -
+ * they are rare and you want to see them.
+ */
+final class ProgressBarSink implements ProgressSink {
+
+    private static final long REDRAW_INTERVAL_NANOS = 200_000_000L;  // 5 times per second
+    private static final int BAR_WIDTH = 20;
+
+    private final PrintStream out;
+
+    // Counters per stage (a stage is on the line while it is running)
+    private final Map<Stage, StageProgress> stages = new EnumMap<>(Stage.class);
+
+    // When the next redraw is allowed
+    private final AtomicLong nextRedraw = new AtomicLong();
+
+    // Length of the bar currently on screen (0 = none), so it can be erased
+    private int drawnLength;
+
+    ProgressBarSink(PrintStream out) {
+        this.out = out;
+        for (Stage stage : Stage.values()) {
+            stages.put(stage, new StageProgress());
+        }
+    }
+
+    @Override
+    public void stageStarted(Stage stage, String message, int total) {
+        StageProgress progress = stages.get(stage);
+        progress.done.reset();
+        progress.failed.reset();
+        progress.total = total;
+        progress.started = true;
+        progress.running = true;
+        printLine(stage.getIcon() + " " + message);
+    }
+
+    @Override
+    public void itemDone(Stage stage, String item, String detail) {
+        StageProgress progress = stages.get(stage);
+        progress.running = true;
+        progress.done.increment();
+        redrawIfDue();
+    }
+
+    @Override
+    public void itemFailed(Stage stage, String item, String reason) {
+        StageProgress progress = stages.get(stage);
+        progress.running = true;
+        progress.failed.increment();
+        printLine("   ✗ " + stage.getFailedLabel() + ": " + item + " - " + reason);
+    }
+
+    @Override
+    public void info(Stage stage, String message) {
+        // Too chatty for this mode - the bar says enough
+    }
+
+    @Override
+    public void warning(Stage stage, String message) {
+        printLine("   ⚠️  " + message);
+    }
+
+    @Override
+    public void stageFinished(Stage stage, String summary) {
+        stages.get(stage).started = false;
+        // Stages that only sent items (like READ and PARSE inside the
+        // pipeline) belong to this one and end with it
+        for (StageProgress progress : stages.values()) {
+            if (!progress.started) {
+                progress.running = false;
+            }
+        }
+        printLine("📊 " + summary);
+    }
+
+    @Override
+    public void status(String line) {
+        printLine(line);
+    }
+
+    @Override
+    public synchronized void close() {
+        erase();
+        out.flush();
+    }
+
+    // ==================== DRAWING ====================
+
+    private void redrawIfDue() {
+        long now = System.nanoTime();
+        long due = nextRedraw.get();
+        // Only the thread that wins the CAS draws; everyone else moves on
+        if (now - due >= 0 && nextRedraw.compareAndSet(due, now + REDRAW_INTERVAL_NANOS)) {
+            synchronized (this) {
+                draw();
+            }
+        }
+    }
+
+    /**
+     * Print a full line above the bar, then put the bar back
+     */
+    private synchronized void printLine(String line) {
+        erase();
+        out.println(line);
+        draw();
+    }
+
+    private void draw() {
+        StringBuilder line = new StringBuilder();
+        for (Map.Entry<Stage, StageProgress> entry : stages.entrySet()) {
+            StageProgress progress = entry.getValue();
+            if (!progress.running || !progress.hasSomethingToShow()) {
+                continue;
+            }
+            if (line.length() > 0) {
+                line.append(" | ");
+            }
+            line.append(entry.getKey().getIcon()).append(' ').append(entry.getKey().getId()).append(' ');
+            progress.appendTo(line);
+        }
+
+        if (line.length() == 0) {
+            return;
+        }
+        // Pad with spaces so a shorter line fully covers the previous one
+        int length = line.length();
+        while (line.length() < drawnLength) {
+            line.append(' ');
+        }
+        out.print("\r" + line);
+        out.flush();
+        drawnLength = length;
+    }
+
+    private void erase() {
+        if (drawnLength > 0) {
+            out.print("\r" + " ".repeat(drawnLength) + "\r");
+            drawnLength = 0;
+        }
+    }
+
+    /**
+     * Counters of one stage
+     */
+    private static final class StageProgress {
+        final LongAdder done = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        volatile int total = UNKNOWN_TOTAL;
+        volatile boolean started;   // stageStarted() was called
+        volatile boolean running;   // shown on the line
+
+        boolean hasSomethingToShow() {
+            // A stage like PIPELINE has no items of its own - its sub-stages show the progress
+            return total > 0 || done.sum() + failed.sum() > 0;
+        }
+
+        void appendTo(StringBuilder line) {
+            long finished = done.sum() + failed.sum();
+            int expected = total;
+
+            if (expected > 0) {
+                int filled = (int) Math.min(BAR_WIDTH, finished * BAR_WIDTH / expected);
+                line.append('[')
+                        .append("#".repeat(filled))
+                        .append("·".repeat(BAR_WIDTH - filled))
+                        .append("] ")
+                        .append(Math.min(100, finished * 100 / expected)).append("% ")
+                        .append(finished).append('/').append(expected);
+            } else {
+                line.append(finished);
+            }
+
+            long failures = failed.sum();
+            if (failures > 0) {
+                line.append(" (").append(failures).append(" failed)");
+            }
+        }
+    }
+}
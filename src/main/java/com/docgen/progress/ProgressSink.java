@@ -0,0 +1,115 @@
+package com.docgen.progress;
+
+import com.docgen.config.ProgressMode;
+
+import java.io.PrintStream;
+
+/**
+ * ProgressSink - Where the services send "what am I doing" events.
+ *
+ * ╔══════════════════════════════════════════════════════════════════╗
+ * ║  services ──▶ stageStarted / itemDone / itemFailed / ... ──▶     ║
+ * ║      CONSOLE       one line per file (the classic output)        ║
+ * ║      SILENT        nothing                                       ║
+ * ║      PROGRESS_BAR  one line per stage, redrawn a few times/sec   ║
+ * ║      JSON_LINES    one JSON object per event, buffered           ║
+ * ╚══════════════════════════════════════════════════════════════════╝
+ *
+ * The services never call System.out directly. On 100k files, a println
+ * per file (lock + flush every time) is a real part of the runtime - the
+ * quiet sinks make that cost go away without touching the services.
+ *
+ * itemDone() and itemFailed() are called from worker threads, so every
+ * implementation must be thread-safe.
+ *
+ * Messages are plain text without icons; each sink decides how to show them.
+ */
+public interface ProgressSink extends AutoCloseable {
+
+    /** Total for stageStarted() when the number of items isn't known yet */
+    int UNKNOWN_TOTAL = -1;
+
+    /**
+     * A stage begins
+     *
+     * @param total How many items are expected, or UNKNOWN_TOTAL
+     */
+    void stageStarted(Stage stage, String message, int total);
+
+    /**
+     * One item (file, commit...) finished successfully
+     *
+     * @param detail Extra info like "(120 lines)", or null
+     */
+    void itemDone(Stage stage, String item, String detail);
+
+    /**
+     * One item failed - the run continues
+     */
+    void itemFailed(Stage stage, String item, String reason);
+
+    /**
+     * Something worth knowing, but not per item ("Connected to ...")
+     */
+    void info(Stage stage, String message);
+
+    /**
+     * Something went wrong, but not with a specific item
+     */
+    void warning(Stage stage, String message);
+
+    /**
+     * A stage is done
+     */
+    void stageFinished(Stage stage, String summary);
+
+    /**
+     * A periodic line about the whole run rather than one stage (like the
+     * metrics summary). The default treats it as info() of the PIPELINE stage.
+     */
+    default void status(String line) {
+        info(Stage.PIPELINE, line);
+    }
+
+    /**
+     * Flush anything buffered. The default does nothing.
+     */
+    @Override
+    default void close() {
+    }
+
+    /**
+     * The classic one-line-per-file output on System.out / System.err
+     */
+    static ProgressSink console() {
+        return ConsoleProgressSink.INSTANCE;
+    }
+
+    /**
+     * A sink that drops every event
+     */
+    static ProgressSink silent() {
+        return SilentProgressSink.INSTANCE;
+    }
+
+    /**
+     * Create the sink for a ProgressMode
+     *
+     * @param out Where PROGRESS_BAR and JSON_LINES write (usually System.out;
+     *            for JSON_LINES a stream nothing else writes to, if the
+     *            lines are to be read by a tool)
+     */
+    static ProgressSink forMode(ProgressMode mode, PrintStream out) {
+        switch (mode) {
+            case SILENT:
+                return silent();
+            case PROGRESS_BAR:
+                return new ProgressBarSink(out);
+            case JSON_LINES:
+                return new JsonLinesProgressSink(out);
+            case CONSOLE:
+            default:
+                return console();
+        }
+    }
+}
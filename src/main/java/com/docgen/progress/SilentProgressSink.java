@@ -0,0 +1,39 @@
+package com.docgen.progress;
+
+/**
+ * SilentProgressSink - Drops every event.
+ *
+ * Failures are not lost: they are still recorded on each JavaFileInfo
+ * (see getParseError()) and show up in the final summary.
+ */
+final class SilentProgressSink implements ProgressSink {
+
+    static final SilentProgressSink INSTANCE = new SilentProgressSink();
+
+    private SilentProgressSink() {
+    }
+
+    @Override
+    public void stageStarted(Stage stage, String message, int total) {
+    }
+
+    @Override
+    public void itemDone(Stage stage, String item, String detail) {
+    }
+
+    @Override
+    public void itemFailed(Stage stage, String item, String reason) {
+    }
+
+    @Override
+    public void info(Stage stage, String message) {
+    }
+
+    @Override
+    public void warning(Stage stage, String message) {
+    }
+
+    @Override
+    public void stageFinished(Stage stage, String summary) {
+    }
+}
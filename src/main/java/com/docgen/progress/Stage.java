@@ -0,0 +1,48 @@
+package com.docgen.progress;
+
+/**
+ * Stage - Which part of the run a progress event comes from.
+ */
+public enum Stage {
+
+    DISCOVERY("🔍", "Found", "Could not access"),
+    READ("📖", "Read", "Error reading"),
+    PARSE("🔬", "Parsed", "Failed to parse"),
+    PIPELINE("🚰", "Done", "Failed"),
+    GIT("📜", "Commit", "Git error");
+
+    private final String icon;
+    private final String doneLabel;
+    private final String failedLabel;
+
+    Stage(String icon, String doneLabel, String failedLabel) {
+        this.icon = icon;
+        this.doneLabel = doneLabel;
+        this.failedLabel = failedLabel;
+    }
+
+    public String getIcon() {
+        return icon;
+    }
+
+    /**
+     * Console label for a finished item ("Found", "Read", "Parsed"...)
+     */
+    public String getDoneLabel() {
+        return doneLabel;
+    }
+
+    /**
+     * Console label for a failed item ("Error reading", "Failed to parse"...)
+     */
+    public String getFailedLabel() {
+        return failedLabel;
+    }
+
+    /**
+     * Lower-case name used in JSON output ("discovery", "read"...)
+     */
+    public String getId() {
+        return name().toLowerCase();
+    }
+}
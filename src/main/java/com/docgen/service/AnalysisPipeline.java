@@ -0,0 +1,276 @@
+package com.docgen.service;
+
+import com.docgen.config.DocGeneratorConfig;
+import com.docgen.metrics.MetricsRegistry;
+import com.docgen.model.JavaFileInfo;
+import com.docgen.progress.ProgressSink;
+import com.docgen.progress.Stage;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * AnalysisPipeline - Discovery, reading and parsing as one streaming pipeline.
+ *
+ * ╔══════════════════════════════════════════════════════════════════╗
+ * ║  discover ──▶ [read queue] ──▶ readers ──▶ [parse queue] ──▶     ║
+ * ║               parsers ──▶ [result queue] ──▶ caller              ║
+ * ╚══════════════════════════════════════════════════════════════════╝
+ *
+ * Every queue is BOUNDED. When parsing falls behind, the parse queue fills
+ * up and readers block; when readers block, discovery blocks. So at most
+ * a few queues' worth of file contents are in memory at once, no matter
+ * how big the tree is, and disk reads overlap CPU-bound parsing.
+ *
+ * Each stage tells the next one it is finished by sending one END marker
+ * per downstream worker (a "poison pill").
+ */
+public class AnalysisPipeline implements AutoCloseable {
+
+    /** Poison pill: "no more files are coming" */
+    private static final Item END = new Item(-1, new JavaFileInfo(Paths.get("")));
+
+    private final FileDiscoveryService discoveryService;
+    private final FileReaderService readerService;
+    private final CodeAnalyzerService analyzerService;
+
+    private final int readerThreads;
+    private final int parserThreads;
+    private final int queueCapacity;
+
+    // Where pipeline messages go (the classic console output by default)
+    private ProgressSink progress = ProgressSink.console();
+
+    public AnalysisPipeline(DocGeneratorConfig config) {
+        this(config,
+                new FileDiscoveryService(config),
+                new FileReaderService(config.getReadMode()),
+                new CodeAnalyzerService(config));
+    }
+
+    public AnalysisPipeline(DocGeneratorConfig config,
+                            FileDiscoveryService discoveryService,
+                            FileReaderService readerService,
+                            CodeAnalyzerService analyzerService) {
+        this.discoveryService = discoveryService;
+        this.readerService = readerService;
+        this.analyzerService = analyzerService;
+        this.readerThreads = config.getReaderThreads();
+        this.parserThreads = config.getParallelism();
+        this.queueCapacity = config.getQueueCapacity();
+    }
+
+    /**
+     * Record metrics for every stage (discovery, reading and parsing)
+     */
+    public void enableMetrics(MetricsRegistry metrics) {
+        discoveryService.enableMetrics(metrics);
+        readerService.enableMetrics(metrics);
+        analyzerService.enableMetrics(metrics);
+    }
+
+    /**
+     * Send the progress messages of every stage somewhere else than the console
+     */
+    public void setProgressSink(ProgressSink progress) {
+        this.progress = progress;
+        discoveryService.setProgressSink(progress);
+        readerService.setProgressSink(progress);
+        analyzerService.setProgressSink(progress);
+    }
+
+    /**
+     * Release the analyzer's threads (the pipeline owns its services)
+     */
+    @Override
+    public void close() {
+        analyzerService.close();
+    }
+
+    /**
+     * Run the pipeline and collect every file, in discovery order.
+     *
+     * @return All discovered files, read and analyzed
+     * @throws IOException if discovery fails
+     */
+    public List<JavaFileInfo> run() throws IOException {
+        List<Item> items = new ArrayList<>();
+        runItems(items::add);
+
+        items.sort(Comparator.comparingInt(item -> item.sequence));
+
+        List<JavaFileInfo> files = new ArrayList<>(items.size());
+        for (Item item : items) {
+            files.add(item.file);
+        }
+        return files;
+    }
+
+    /**
+     * Run the pipeline and hand each analyzed file to a consumer as soon as
+     * it is done. Files arrive in completion order, not discovery order.
+     *
+     * The consumer runs on the calling thread. If it is slow, the whole
+     * pipeline slows down with it instead of buffering results.
+     *
+     * @param sink Receives each analyzed file
+     * @return Number of files processed
+     * @throws IOException if discovery fails
+     */
+    public int run(Consumer<JavaFileInfo> sink) throws IOException {
+        return runItems(item -> sink.accept(item.file));
+    }
+
+    private int runItems(Consumer<Item> sink) throws IOException {
+        progress.stageStarted(Stage.PIPELINE, "Streaming pipeline: " + readerThreads + " reader(s), " +
+                parserThreads + " parser(s), queue capacity " + queueCapacity, ProgressSink.UNKNOWN_TOTAL);
+
+        BlockingQueue<Item> readQueue = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Item> parseQueue = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Item> resultQueue = new ArrayBlockingQueue<>(queueCapacity);
+
+        AtomicReference<IOException> discoveryError = new AtomicReference<>();
+        AtomicInteger readersRunning = new AtomicInteger(readerThreads);
+
+        ExecutorService executor = Executors.newFixedThreadPool(
+                1 + readerThreads + parserThreads, new NamedThreadFactory("docgen-pipeline"));
+
+        int successCount = 0;
+        int errorCount = 0;
+
+        try {
+            // ========== STAGE 1: Discovery ==========
+            executor.execute(() -> {
+                AtomicInteger sequence = new AtomicInteger();
+                try {
+                    discoveryService.discoverJavaFiles(file ->
+                            put(readQueue, new Item(sequence.getAndIncrement(), file)));
+                } catch (IOException e) {
+                    discoveryError.set(e);
+                } finally {
+                    for (int i = 0; i < readerThreads; i++) {
+                        put(readQueue, END);
+                    }
+                }
+            });
+
+            // ========== STAGE 2: Readers ==========
+            for (int i = 0; i < readerThreads; i++) {
+                executor.execute(() -> {
+                    try {
+                        for (Item item = take(readQueue); item != END; item = take(readQueue)) {
+                            try {
+                                // Files from a Git revision were loaded during discovery
+                                if (item.file.getSourceRevision() == null) {
+                                    readerService.readFile(item.file);
+                                }
+                                put(parseQueue, item);
+                            } catch (IOException e) {
+                                // Unreadable files skip parsing but still show up in the results
+                                item.file.setParseError("Read failed: " + e.getMessage());
+                                progress.itemFailed(Stage.READ, item.file.getFileName(), e.getMessage());
+                                put(resultQueue, item);
+                            }
+                        }
+                    } finally {
+                        // The last reader out tells every parser to stop
+                        if (readersRunning.decrementAndGet() == 0) {
+                            for (int p = 0; p < parserThreads; p++) {
+                                put(parseQueue, END);
+                            }
+                        }
+                    }
+                });
+            }
+
+            // ========== STAGE 3: Parsers ==========
+            for (int i = 0; i < parserThreads; i++) {
+                executor.execute(() -> {
+                    try {
+                        for (Item item = take(parseQueue); item != END; item = take(parseQueue)) {
+                            analyzerService.analyzeFile(item.file);
+                            put(resultQueue, item);
+                        }
+                    } finally {
+                        put(resultQueue, END);
+                    }
+                });
+            }
+
+            // ========== STAGE 4: Collect on the calling thread ==========
+            int parsersRunning = parserThreads;
+            while (parsersRunning > 0) {
+                Item item = take(resultQueue);
+                if (item == END) {
+                    parsersRunning--;
+                    continue;
+                }
+                if (item.file.isParsed()) {
+                    successCount++;
+                } else {
+                    errorCount++;
+                }
+                sink.accept(item);
+            }
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (discoveryError.get() != null) {
+            throw discoveryError.get();
+        }
+
+        progress.stageFinished(Stage.PIPELINE, "Pipeline complete: " + successCount + " success, " +
+                errorCount + " errors");
+
+        analyzerService.finishAnalysis();
+
+        return successCount + errorCount;
+    }
+
+    // ==================== QUEUE HELPERS ====================
+    // Pipeline threads are never interrupted on the happy path, so an
+    // interrupt means the run is being torn down: surface it unchecked.
+
+    private static void put(BlockingQueue<Item> queue, Item item) {
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Pipeline interrupted", e);
+        }
+    }
+
+    private static Item take(BlockingQueue<Item> queue) {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Pipeline interrupted", e);
+        }
+    }
+
+    /**
+     * A file travelling through the pipeline, tagged with its discovery position
+     */
+    private static final class Item {
+        final int sequence;
+        final JavaFileInfo file;
+
+        Item(int sequence, JavaFileInfo file) {
+            this.sequence = sequence;
+            this.file = file;
+        }
+    }
+}
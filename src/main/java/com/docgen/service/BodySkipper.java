@@ -0,0 +1,317 @@
+package com.docgen.service;
+
+/**
+ * BodySkipper - Blanks out method bodies so the parser only sees declarations.
+ *
+ * ╔══════════════════════════════════════════════════════════════════╗
+ * ║  public int size() {          public int size() {                ║
+ * ║      int n = 0;         ──▶                                      ║
+ * ║      return n + 1;                                               ║
+ * ║  }                            }                                  ║
+ * ╚══════════════════════════════════════════════════════════════════╝
+ *
+ * Everything between the braces of a method, constructor or initializer
+ * body is dropped except its line breaks. So every declaration stays on
+ * the line it was on, and line numbers from the parser are unchanged -
+ * the body is just empty (and there is nothing left in it to tokenize).
+ *
+ * This is a small scanner, not a parser. It knows just enough Java to:
+ * - skip comments, string / char literals and text blocks (a "}" in a
+ *   string must not end a body)
+ * - tell a body "{" from other braces at the member level of a type:
+ *     class / interface / enum / record / @interface  → type body (descend)
+ *     ")" or "throws ..." right before the brace       → method body (blank)
+ *     nothing, or just "static", before the brace      → initializer (blank)
+ *     an "=" before the brace (array init, lambda...)  → left alone
+ *
+ * Anything it isn't sure about is left alone, so the worst case is a body
+ * that still gets parsed - never a broken declaration.
+ */
+final class BodySkipper {
+
+    // What a "{" opened
+    private static final byte TYPE = 0;   // members of a class, interface, enum...
+    private static final byte OTHER = 1;  // anything else we don't blank
+
+    private BodySkipper() {
+    }
+
+    /**
+     * Blank all method, constructor and initializer bodies
+     *
+     * @param source Java source code
+     * @return The source with empty bodies (the same String if there were none)
+     */
+    static String skipBodies(String source) {
+        StringBuilder out = null;   // created on the first skipped body
+        int copied = 0;             // source before this is already in out
+
+        byte[] contexts = new byte[16];
+        int depth = 0;
+        contexts[0] = TYPE;  // the file itself holds type declarations
+
+        Member member = new Member();
+        int length = source.length();
+        int i = 0;
+
+        while (i < length) {
+            int skipped = skipLiteralOrComment(source, i);
+            if (skipped != i) {
+                i = skipped;
+                continue;
+            }
+
+            char c = source.charAt(i);
+            boolean atMemberLevel = contexts[depth] == TYPE && member.parenDepth == 0;
+
+            if (Character.isJavaIdentifierStart(c)) {
+                int end = i + 1;
+                while (end < length && Character.isJavaIdentifierPart(source.charAt(end))) {
+                    end++;
+                }
+                if (atMemberLevel) {
+                    member.word(source, i, end);
+                }
+                i = end;
+                continue;
+            }
+
+            if (c == '{') {
+                byte kind = OTHER;
+                if (atMemberLevel) {
+                    if (member.opensBody()) {
+                        int close = findClosingBrace(source, i);
+                        if (close > 0) {
+                            if (out == null) {
+                                out = new StringBuilder(source.length());
+                            }
+                            out.append(source, copied, i + 1);
+                            appendLineBreaks(out, source, i + 1, close);
+                            copied = close;
+                            member.reset();
+                            i = close + 1;
+                            continue;
+                        }
+                    } else if (member.opensType()) {
+                        kind = TYPE;
+                    }
+                }
+
+                if (++depth == contexts.length) {
+                    contexts = java.util.Arrays.copyOf(contexts, depth * 2);
+                }
+                contexts[depth] = kind;
+                if (kind == TYPE) {
+                    member.reset();
+                }
+            } else if (c == '}') {
+                if (depth == 0) {
+                    break;   // unbalanced - leave the rest as it is
+                }
+                if (contexts[depth--] == TYPE) {
+                    // A nested type ended: that whole member is done
+                    member.reset();
+                }
+            } else if (contexts[depth] == TYPE) {
+                member.symbol(c);
+            }
+            i++;
+        }
+
+        if (out == null) {
+            return source;
+        }
+        return out.append(source, copied, length).toString();
+    }
+
+    /**
+     * What we have seen of the current member declaration so far
+     * (everything since the last ";", "{" or "}" in a type body)
+     */
+    private static final class Member {
+
+        // After ")" of a parameter list, possibly followed by "throws X, Y"
+        private static final int NONE = 0;
+        private static final int PARAMETERS = 1;
+        private static final int THROWS = 2;
+
+        int parenDepth;
+        boolean sawEquals;
+        boolean sawTypeKeyword;
+        boolean pendingRecord;   // saw "record" - a type only if a name follows
+        int afterParameters;
+        int words;
+        boolean onlyStatic;
+        char previous;
+
+        void reset() {
+            parenDepth = 0;
+            sawEquals = false;
+            sawTypeKeyword = false;
+            pendingRecord = false;
+            afterParameters = NONE;
+            words = 0;
+            onlyStatic = false;
+            previous = 0;
+        }
+
+        void word(String source, int start, int end) {
+            if (pendingRecord) {
+                sawTypeKeyword = true;   // "record Name"
+                pendingRecord = false;
+            }
+
+            if (previous != '.') {
+                if (is(source, start, end, "class")
+                        || is(source, start, end, "interface")
+                        || is(source, start, end, "enum")) {
+                    sawTypeKeyword = true;
+                } else if (is(source, start, end, "record")) {
+                    pendingRecord = true;
+                }
+            }
+
+            if (afterParameters == PARAMETERS) {
+                afterParameters = is(source, start, end, "throws") ? THROWS : NONE;
+            }
+
+            words++;
+            onlyStatic = words == 1 && is(source, start, end, "static");
+            previous = 'a';
+        }
+
+        void symbol(char c) {
+            if (Character.isWhitespace(c)) {
+                return;
+            }
+            pendingRecord = false;
+
+            if (c == '(') {
+                parenDepth++;
+            } else if (c == ')') {
+                if (parenDepth > 0 && --parenDepth == 0) {
+                    afterParameters = PARAMETERS;
+                }
+            } else if (parenDepth == 0) {
+                if (c == ';') {
+                    reset();
+                    return;
+                }
+                if (c == '=') {
+                    sawEquals = true;
+                }
+                // "throws A.B, C<D>" keeps its state; anything else after ")" ends it
+                if (afterParameters == PARAMETERS) {
+                    afterParameters = NONE;
+                }
+            }
+            previous = c;
+        }
+
+        boolean opensType() {
+            return sawTypeKeyword && !sawEquals;
+        }
+
+        boolean opensBody() {
+            if (sawEquals || sawTypeKeyword) {
+                return false;
+            }
+            boolean method = afterParameters != NONE;
+            boolean initializer = afterParameters == NONE && (words == 0 || onlyStatic);
+            return method || initializer;
+        }
+
+        private static boolean is(String source, int start, int end, String word) {
+            return end - start == word.length() && source.startsWith(word, start);
+        }
+    }
+
+    /**
+     * Find the "}" matching the "{" at open (-1 if there is none)
+     */
+    private static int findClosingBrace(String source, int open) {
+        int depth = 0;
+        int i = open;
+        while (i < source.length()) {
+            int skipped = skipLiteralOrComment(source, i);
+            if (skipped != i) {
+                i = skipped;
+                continue;
+            }
+            char c = source.charAt(i);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * If a comment or literal starts at i, return the index just after it;
+     * otherwise return i
+     */
+    private static int skipLiteralOrComment(String source, int i) {
+        int length = source.length();
+        char c = source.charAt(i);
+
+        if (c == '/' && i + 1 < length) {
+            char next = source.charAt(i + 1);
+            if (next == '/') {
+                int end = source.indexOf('\n', i + 2);
+                return end < 0 ? length : end;
+            }
+            if (next == '*') {
+                int end = source.indexOf("*/", i + 2);
+                return end < 0 ? length : end + 2;
+            }
+            return i;
+        }
+
+        if (c == '"') {
+            if (source.startsWith("\"\"\"", i)) {
+                return skipQuoted(source, i + 3, "\"\"\"");
+            }
+            return skipQuoted(source, i + 1, "\"");
+        }
+        if (c == '\'') {
+            return skipQuoted(source, i + 1, "'");
+        }
+        return i;
+    }
+
+    /**
+     * Skip to just after the closing quote, honoring backslash escapes.
+     * Plain strings and chars also end at a line break (unterminated literal).
+     */
+    private static int skipQuoted(String source, int i, String quote) {
+        boolean textBlock = quote.length() == 3;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (source.startsWith(quote, i)) {
+                return i + quote.length();
+            } else if (c == '\n' && !textBlock) {
+                return i;
+            } else {
+                i++;
+            }
+        }
+        return source.length();
+    }
+
+    /**
+     * Append only the line breaks found in [from, to)
+     */
+    private static void appendLineBreaks(StringBuilder out, String source, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = source.charAt(i);
+            if (c == '\n' || c == '\r') {
+                out.append(c);
+            }
+        }
+    }
+}
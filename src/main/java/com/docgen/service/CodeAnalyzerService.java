@@ -1,22 +1,40 @@
 package com.docgen.service;
 
+import com.docgen.config.AnalysisMode;
+import com.docgen.config.DocGeneratorConfig;
+import com.docgen.metrics.MetricsRegistry;
 import com.docgen.model.*;
+import com.docgen.progress.ProgressSink;
+import com.docgen.progress.Stage;
+import com.docgen.storage.AnalysisCache;
 import com.github.javaparser.JavaParser;
 import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParseStart;
+import com.github.javaparser.ParserConfiguration;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.ImportDeclaration;
 import com.github.javaparser.ast.Modifier;
 import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.NodeList;
 import com.github.javaparser.ast.body.*;
 import com.github.javaparser.ast.comments.JavadocComment;
-import com.github.javaparser.ast.nodeTypes.NodeWithJavadoc;
 import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
 import com.github.javaparser.javadoc.Javadoc;
 import com.github.javaparser.javadoc.JavadocBlockTag;
 
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
@@ -54,16 +72,119 @@ import java.util.stream.Collectors;
  * - ConstructorDeclaration : A constructor
  * - Parameter           : Method/constructor parameter
  */
-public class CodeAnalyzerService {
+public class CodeAnalyzerService implements AutoCloseable {
 
-    // JavaParser instance - reusable for multiple files
-    private final JavaParser javaParser;
+    // JavaModifier bit of each JavaParser modifier keyword (by Keyword.ordinal())
+    private static final int[] MODIFIER_BITS = new int[Modifier.Keyword.values().length];
+
+    static {
+        for (Modifier.Keyword keyword : Modifier.Keyword.values()) {
+            JavaModifier modifier = JavaModifier.fromKeyword(keyword.asString());
+            MODIFIER_BITS[keyword.ordinal()] = modifier != null ? modifier.bit() : 0;
+        }
+    }
+
+    // JavaParser is NOT thread-safe, so every thread gets its own instance
+    // (with its own ParserConfiguration). In serial mode this is just one parser.
+    private final ThreadLocal<JavaParser> javaParser =
+            ThreadLocal.withInitial(() -> new JavaParser(new ParserConfiguration()));
+
+    // How many worker threads analyzeAllFiles() uses (1 = serial)
+    private final int parallelism;
+
+    // On-disk cache of parsed results (null = no caching)
+    private final AnalysisCache cache;
+
+    // Drop each file's source text once its structure is extracted
+    private final boolean memoryLean;
+
+    // FULL = parse method bodies too, STRUCTURE_ONLY = declarations only
+    private final AnalysisMode analysisMode;
+
+    // Parse budget: bigger files lose their method bodies or are skipped (0 = no limit)
+    private final int maxParseChars;
+
+    // Parse budget: how long one file may take (0 = no limit)
+    private final long parseTimeoutMillis;
+
+    // Runs time-limited parses, so a stuck one can be left behind (null = no time limit)
+    private final ExecutorService parseExecutor;
+
+    // Where parse timings go (DISABLED until enableMetrics())
+    private MetricsRegistry metrics = MetricsRegistry.DISABLED;
+
+    // Where "parsed X" messages go (the classic console output by default)
+    private ProgressSink progress = ProgressSink.console();
 
     /**
-     * Constructor - creates a new JavaParser instance
+     * Constructor - creates a serial analyzer
      */
     public CodeAnalyzerService() {
-        this.javaParser = new JavaParser();
+        this.parallelism = 1;
+        this.cache = null;
+        this.memoryLean = false;
+        this.analysisMode = AnalysisMode.FULL;
+        this.maxParseChars = 0;
+        this.parseTimeoutMillis = 0;
+        this.parseExecutor = null;
+    }
+
+    /**
+     * Constructor - creates an analyzer using the settings from the configuration
+     *
+     * @param config The configuration (parallelism = number of parser threads)
+     */
+    public CodeAnalyzerService(DocGeneratorConfig config) {
+        this(config, ProgressSink.console());
+    }
+
+    /**
+     * Constructor - like above, with the progress sink set up front, so a
+     * problem opening the analysis cache is reported there too
+     */
+    public CodeAnalyzerService(DocGeneratorConfig config, ProgressSink progress) {
+        this.progress = progress;
+        this.parallelism = config.getParallelism();
+        this.cache = config.isCacheEnabled() ? openCache(config, progress) : null;
+        this.memoryLean = config.isMemoryLean();
+        this.analysisMode = config.getAnalysisMode();
+        this.maxParseChars = config.getMaxParseChars();
+        this.parseTimeoutMillis = config.getParseTimeoutMillis();
+        // Cached pool: a parse we stopped waiting for never holds up the next file
+        this.parseExecutor = parseTimeoutMillis > 0
+                ? Executors.newCachedThreadPool(new NamedThreadFactory("docgen-parse"))
+                : null;
+    }
+
+    /**
+     * Record parse latency, parse errors and cache statistics in a metrics registry
+     */
+    public void enableMetrics(MetricsRegistry metrics) {
+        this.metrics = metrics;
+        if (cache != null) {
+            metrics.gauge("cache.hits", cache::getHits);
+            metrics.gauge("cache.misses", cache::getMisses);
+            metrics.gauge("cache.hit_ratio", cache::getHitRatio);
+        }
+    }
+
+    /**
+     * Send progress messages somewhere else than the console
+     */
+    public void setProgressSink(ProgressSink progress) {
+        this.progress = progress;
+    }
+
+    /**
+     * Open the analysis cache; if that fails we simply run without it
+     */
+    private static AnalysisCache openCache(DocGeneratorConfig config, ProgressSink progress) {
+        try {
+            return new AnalysisCache(config.getCacheDirectory(), config.getCacheMaxBytes());
+        } catch (IOException e) {
+            progress.warning(Stage.PARSE, "Analysis cache disabled: " + e.getMessage());
+            return null;
+        }
     }
 
     /**
@@ -78,87 +199,287 @@ public class CodeAnalyzerService {
      * @return The same fileInfo, now with parsed structure
      */
     public JavaFileInfo analyzeFile(JavaFileInfo fileInfo) {
-        String content = fileInfo.getContent();
+        parseFile(fileInfo);
+        reportResult(fileInfo);
+        return fileInfo;
+    }
+
+    /**
+     * Parse a file and fill in its structure, without printing anything.
+     * Safe to call from several threads at once (one parser per thread).
+     */
+    private void parseFile(JavaFileInfo fileInfo) {
+        extractStructure(fileInfo);
 
-        if (content == null || content.isEmpty()) {
+        if (!fileInfo.isParsed()) {
+            metrics.counter("parser.errors").increment();
+        }
+
+        // Content read from a Git revision can't be re-read from disk, so it stays
+        if (memoryLean && fileInfo.getSourceRevision() == null) {
+            // The model is built - keep the line count, let the text be collected
+            fileInfo.releaseContent();
+        }
+    }
+
+    /**
+     * Fill in imports and classes from the file content (or the cache),
+     * staying within the size and time budget.
+     *
+     * ╔══════════════════════════════════════════════════════════════════╗
+     * ║  too big for FULL?       ──▶ parse without method bodies         ║
+     * ║  FULL parse too slow?    ──▶ try once more without method bodies ║
+     * ║  still too big / slow?   ──▶ skip the file                       ║
+     * ╚══════════════════════════════════════════════════════════════════╝
+     *
+     * The reason is always recorded with setParseError() - on a degraded
+     * file too, even though it counts as parsed.
+     */
+    private void extractStructure(JavaFileInfo fileInfo) {
+        int contentLength = fileInfo.getContentLength();
+
+        if (contentLength == 0) {
             fileInfo.setParseError("No content to parse");
-            return fileInfo;
+            return;
+        }
+
+        // ========== STEP 0: Size budget ==========
+        // A file too big for a full parse is parsed without its method bodies
+        AnalysisMode mode = analysisMode;
+        String degradedReason = null;
+        if (mode == AnalysisMode.FULL && maxParseChars > 0 && contentLength > maxParseChars) {
+            mode = AnalysisMode.STRUCTURE_ONLY;
+            degradedReason = contentLength + " characters exceed the parse budget of " + maxParseChars;
+        }
+
+        // ========== STEP 1: Reuse a cached result if the content is unchanged ==========
+        // (hashes raw ASCII bytes directly, so a hit never decodes the file)
+        if (loadFromCache(fileInfo, mode, degradedReason)) {
+            return;
         }
 
+        long start = System.nanoTime();
         try {
-            // ========== STEP 1: Parse the source code ==========
+            // ========== STEP 2: Parse within the time budget ==========
+            ParseOutcome outcome = parseWithinBudget(fileInfo, mode);
+
+            // A FULL parse that ran out of time gets one more try without bodies
+            if (outcome.timedOut && mode == AnalysisMode.FULL) {
+                mode = AnalysisMode.STRUCTURE_ONLY;
+                degradedReason = "full parse took longer than " + parseTimeoutMillis + " ms";
+                if (loadFromCache(fileInfo, mode, degradedReason)) {
+                    return;
+                }
+                outcome = parseWithinBudget(fileInfo, mode);
+            }
+
+            if (outcome.error != null) {
+                fileInfo.setParseError(outcome.error);
+                return;
+            }
+
+            fileInfo.setImports(outcome.imports);
+            fileInfo.setClasses(outcome.classes);
+            fileInfo.setParsed(true);
+
+            if (cache != null) {
+                cache.store(AnalysisCache.keyOf(fileInfo, mode), contentLength, fileInfo);
+            }
+            noteDegraded(fileInfo, degradedReason);
+
+        } finally {
+            // Only real parses are timed - cache hits returned above
+            metrics.timer("parser.latency").recordSince(start);
+        }
+    }
+
+    /**
+     * Fill in the file from the cache entry for this mode, if there is one
+     */
+    private boolean loadFromCache(JavaFileInfo fileInfo, AnalysisMode mode, String degradedReason) {
+        if (cache == null
+                || !cache.load(AnalysisCache.keyOf(fileInfo, mode), fileInfo.getContentLength(), fileInfo)) {
+            return false;
+        }
+        noteDegraded(fileInfo, degradedReason);
+        return true;
+    }
+
+    private void noteDegraded(JavaFileInfo fileInfo, String reason) {
+        if (reason != null) {
+            fileInfo.setParseError("Degraded to STRUCTURE_ONLY: " + reason);
+            metrics.counter("parser.degraded").increment();
+        }
+    }
+
+    /**
+     * Parse the file in the given mode, giving up after parseTimeoutMillis.
+     *
+     * With a time limit, the parse runs on a parseExecutor thread and we
+     * only wait for it that long. A parse we stop waiting for can't be
+     * killed, but its DeadlineProvider makes JavaParser stop reading, so it
+     * normally ends right after - and this thread is already working on the
+     * next file. Until then the stuck parse keeps its thread and its CPU,
+     * which is why the time limit is off unless it is configured.
+     */
+    private ParseOutcome parseWithinBudget(JavaFileInfo fileInfo, AnalysisMode mode) {
+        String content = fileInfo.getContent();
+
+        // Structure-only: empty the method bodies first (line numbers stay the same)
+        if (mode == AnalysisMode.STRUCTURE_ONLY) {
+            content = BodySkipper.skipBodies(content);
+        }
+
+        // Still too big without the bodies (e.g. huge generated constants): don't even try
+        if (maxParseChars > 0 && content.length() > maxParseChars) {
+            metrics.counter("parser.skipped").increment();
+            return ParseOutcome.failed("Skipped: " + content.length() + " characters" +
+                    (mode == AnalysisMode.STRUCTURE_ONLY ? " without method bodies" : "") +
+                    " exceed the parse budget of " + maxParseChars);
+        }
+
+        String packageName = fileInfo.getPackageName();
+        if (parseExecutor == null) {
+            return parse(content, packageName, 0);
+        }
+
+        String source = content;
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(parseTimeoutMillis);
+        Future<ParseOutcome> task = parseExecutor.submit(() -> parse(source, packageName, timeoutNanos));
+        try {
+            return task.get(parseTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            task.cancel(true);
+            return ParseOutcome.timedOut(parseTimeoutMillis);
+        } catch (ExecutionException e) {
+            // parse() catches Exceptions, so this is an Error (e.g. StackOverflowError)
+            return ParseOutcome.failed("Exception: " + e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            task.cancel(true);
+            return ParseOutcome.failed("Interrupted");
+        }
+    }
+
+    /**
+     * Parse source code and extract its structure (on the calling thread)
+     *
+     * @param timeoutNanos Stop reading input after this long (0 = no limit)
+     */
+    private ParseOutcome parse(String content, String packageName, long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        try {
+            // ========== Parse the source code ==========
             // JavaParser.parse() returns a ParseResult containing the AST
-            ParseResult<CompilationUnit> parseResult = javaParser.parse(content);
+            ParseResult<CompilationUnit> parseResult = timeoutNanos > 0
+                    ? javaParser.get().parse(ParseStart.COMPILATION_UNIT, new DeadlineProvider(content, deadline))
+                    : javaParser.get().parse(content);
 
             // Check if parsing was successful
             if (!parseResult.isSuccessful()) {
+                if (timeoutNanos > 0 && System.nanoTime() - deadline > 0) {
+                    // The DeadlineProvider cut the input off - not a real syntax error
+                    return ParseOutcome.timedOut(TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+                }
                 String errors = parseResult.getProblems().stream()
                         .map(p -> p.getMessage())
                         .collect(Collectors.joining("; "));
-                fileInfo.setParseError("Parse failed: " + errors);
-                return fileInfo;
+                return ParseOutcome.failed("Parse failed: " + errors);
             }
 
             // Get the CompilationUnit (root of the AST)
             CompilationUnit cu = parseResult.getResult().orElse(null);
             if (cu == null) {
-                fileInfo.setParseError("No compilation unit produced");
-                return fileInfo;
+                return ParseOutcome.failed("No compilation unit produced");
             }
 
-            // ========== STEP 2: Extract imports ==========
-            List<String> imports = extractImports(cu);
-            fileInfo.setImports(imports);
+            // ========== Extract imports and all type declarations ==========
+            // This includes classes, interfaces, enums, records.
+            // One walk over the AST builds every ClassInfo, nested ones included.
+            StructureVisitor visitor = new StructureVisitor(packageName);
+            cu.accept(visitor, null);
 
-            // ========== STEP 3: Extract all type declarations ==========
-            // This includes classes, interfaces, enums, records
-            List<ClassInfo> classes = new ArrayList<>();
+            return ParseOutcome.parsed(extractImports(cu), visitor.classes);
 
-            // findAll() walks the entire AST and finds matching nodes
-            for (TypeDeclaration<?> typeDecl : cu.findAll(TypeDeclaration.class)) {
-                // Skip nested classes - we'll handle them as part of parent
-                if (isNestedClass(typeDecl)) {
-                    continue;
-                }
+        } catch (Exception e) {
+            return ParseOutcome.failed("Exception: " + e.getMessage());
+        }
+    }
 
-                ClassInfo classInfo = extractClassInfo(typeDecl, fileInfo.getPackageName());
-                if (classInfo != null) {
-                    classes.add(classInfo);
-                }
-            }
+    /**
+     * What one parse attempt produced: a structure, an error, or a timeout.
+     *
+     * Parses run on another thread when there is a time limit, so results
+     * come back in this object instead of being written into the
+     * JavaFileInfo - a parse we gave up on can never touch the file.
+     */
+    private static final class ParseOutcome {
+        final List<String> imports;
+        final List<ClassInfo> classes;
+        final String error;
+        final boolean timedOut;
+
+        private ParseOutcome(List<String> imports, List<ClassInfo> classes, String error, boolean timedOut) {
+            this.imports = imports;
+            this.classes = classes;
+            this.error = error;
+            this.timedOut = timedOut;
+        }
 
-            fileInfo.setClasses(classes);
-            fileInfo.setParsed(true);
+        static ParseOutcome parsed(List<String> imports, List<ClassInfo> classes) {
+            return new ParseOutcome(imports, classes, null, false);
+        }
 
-            System.out.println("   ✓ Parsed: " + fileInfo.getFileName() +
-                    " → " + classes.size() + " class(es), " +
-                    fileInfo.getTotalMethodCount() + " method(s)");
+        static ParseOutcome failed(String error) {
+            return new ParseOutcome(null, null, error, false);
+        }
 
-        } catch (Exception e) {
-            fileInfo.setParseError("Exception: " + e.getMessage());
-            System.err.println("   ✗ Failed to parse " + fileInfo.getFileName() +
-                    ": " + e.getMessage());
+        static ParseOutcome timedOut(long timeoutMillis) {
+            return new ParseOutcome(null, null,
+                    "Skipped: parse took longer than " + timeoutMillis + " ms", true);
         }
+    }
 
-        return fileInfo;
+    /**
+     * Report the one-line result for an analyzed file
+     */
+    private void reportResult(JavaFileInfo fileInfo) {
+        if (fileInfo.isParsed()) {
+            // A degraded file is parsed, but says why it has no method bodies
+            progress.itemDone(Stage.PARSE, fileInfo.getFileName(),
+                    "→ " + fileInfo.getClasses().size() + " class(es), " +
+                            fileInfo.getTotalMethodCount() + " method(s)" +
+                            (fileInfo.getParseError() != null ? " (" + fileInfo.getParseError() + ")" : ""));
+        } else {
+            progress.itemFailed(Stage.PARSE, fileInfo.getFileName(), fileInfo.getParseError());
+        }
     }
 
     /**
      * Analyze multiple files at once
      *
+     * With parallelism > 1 the files are parsed on a worker pool, but results
+     * are still reported (and counted) in list order, so the output is the
+     * same as the serial run.
+     *
      * @param fileInfos List of files to analyze
      * @return The same list, with all files analyzed
      */
     public List<JavaFileInfo> analyzeAllFiles(List<JavaFileInfo> fileInfos) {
-        System.out.println("🔬 Analyzing " + fileInfos.size() + " Java files with JavaParser...");
-        System.out.println();
+        progress.stageStarted(Stage.PARSE, "Analyzing " + fileInfos.size() + " Java files with JavaParser" +
+                (parallelism > 1 ? " (" + parallelism + " threads)..." : "..."), fileInfos.size());
+
+        if (parallelism > 1 && fileInfos.size() > 1) {
+            analyzeInParallel(fileInfos);
+        } else {
+            fileInfos.forEach(this::analyzeFile);
+        }
 
+        // Count on the calling thread once everything is done - no shared counters
         int successCount = 0;
         int errorCount = 0;
 
         for (JavaFileInfo fileInfo : fileInfos) {
-            analyzeFile(fileInfo);
-
             if (fileInfo.isParsed()) {
                 successCount++;
             } else {
@@ -166,13 +487,73 @@ public class CodeAnalyzerService {
             }
         }
 
-        System.out.println();
-        System.out.println("📊 Parse complete: " + successCount + " success, " +
+        progress.stageFinished(Stage.PARSE, "Parse complete: " + successCount + " success, " +
                 errorCount + " errors");
 
+        finishAnalysis();
+
         return fileInfos;
     }
 
+    /**
+     * Call once after a batch of files has been analyzed.
+     * Trims the analysis cache to its size limit and prints cache statistics.
+     */
+    public void finishAnalysis() {
+        if (cache != null) {
+            int evicted = cache.evict();
+            progress.info(Stage.PARSE, String.format("Cache: %d hits, %d misses (%.0f%% hit ratio), %d evicted",
+                    cache.getHits(), cache.getMisses(), cache.getHitRatio() * 100, evicted));
+        }
+    }
+
+    /**
+     * Stop the threads of the time-limited parse pool (if any).
+     *
+     * Only parses that were already given up on can still be running; they
+     * are interrupted. Nothing to do without a parse time limit.
+     */
+    @Override
+    public void close() {
+        if (parseExecutor != null) {
+            parseExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Parse all files on a fixed pool of worker threads.
+     *
+     * Each file is an independent task. We wait for the futures in the
+     * original list order, which keeps the printed output deterministic.
+     */
+    private void analyzeInParallel(List<JavaFileInfo> fileInfos) {
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, new NamedThreadFactory("docgen-parser"));
+
+        try {
+            List<Future<?>> futures = new ArrayList<>(fileInfos.size());
+            for (JavaFileInfo fileInfo : fileInfos) {
+                futures.add(pool.submit(() -> parseFile(fileInfo)));
+            }
+
+            for (int i = 0; i < fileInfos.size(); i++) {
+                JavaFileInfo fileInfo = fileInfos.get(i);
+                try {
+                    futures.get(i).get();
+                } catch (ExecutionException e) {
+                    // parseFile() catches Exceptions, so this is an Error (e.g. StackOverflowError)
+                    fileInfo.setParseError("Exception: " + e.getCause());
+                }
+                reportResult(fileInfo);
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            progress.warning(Stage.PARSE, "Analysis interrupted");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
     // ==================== EXTRACTION METHODS ====================
 
     /**
@@ -202,7 +583,138 @@ public class CodeAnalyzerService {
     }
 
     /**
-     * Extract ClassInfo from a type declaration (class, interface, enum, record)
+     * Builds the ClassInfo tree in ONE pass over the AST.
+     *
+     * The visitor walks the tree top-down and keeps a stack of the types it
+     * is currently inside. Every declaration is handled exactly once:
+     *
+     *   type      → new ClassInfo; nested in the type on top of the stack if
+     *               that is its parent, otherwise a top-level class
+     *   field     → added to its type (direct members only)
+     *   ctor      → collected, added before the methods when the type ends
+     *   method    → collected, added when the type ends
+     *
+     * This replaces calling findAll(TypeDeclaration) on the file and again
+     * on every type, which re-walked nested types once per enclosing type.
+     */
+    private class StructureVisitor extends VoidVisitorAdapter<Void> {
+
+        private final String packageName;
+        private final List<ClassInfo> classes = new ArrayList<>();
+        private final Deque<TypeFrame> types = new ArrayDeque<>();
+
+        StructureVisitor(String packageName) {
+            this.packageName = packageName;
+        }
+
+        @Override
+        public void visit(ClassOrInterfaceDeclaration n, Void arg) {
+            enterType(n);
+            super.visit(n, arg);
+            exitType();
+        }
+
+        @Override
+        public void visit(EnumDeclaration n, Void arg) {
+            enterType(n);
+            super.visit(n, arg);
+            exitType();
+        }
+
+        @Override
+        public void visit(RecordDeclaration n, Void arg) {
+            enterType(n);
+            super.visit(n, arg);
+            exitType();
+        }
+
+        @Override
+        public void visit(AnnotationDeclaration n, Void arg) {
+            enterType(n);
+            super.visit(n, arg);
+            exitType();
+        }
+
+        @Override
+        public void visit(FieldDeclaration n, Void arg) {
+            TypeFrame owner = ownerOf(n);
+            if (owner != null) {
+                extractFieldInfo(n).forEach(owner.classInfo::addField);
+            }
+            super.visit(n, arg);
+        }
+
+        @Override
+        public void visit(ConstructorDeclaration n, Void arg) {
+            TypeFrame owner = ownerOf(n);
+            if (owner != null) {
+                owner.constructors.add(extractConstructorInfo(n));
+            }
+            super.visit(n, arg);
+        }
+
+        @Override
+        public void visit(MethodDeclaration n, Void arg) {
+            TypeFrame owner = ownerOf(n);
+            if (owner != null) {
+                owner.methods.add(extractMethodInfo(n));
+            }
+            super.visit(n, arg);
+        }
+
+        private void enterType(TypeDeclaration<?> typeDecl) {
+            // Nested = declared directly in the type we are inside
+            TypeFrame parent = ownerOf(typeDecl);
+
+            ClassInfo classInfo = extractClassInfo(typeDecl,
+                    parent != null ? parent.classInfo.getFullyQualifiedName() : packageName);
+
+            if (parent != null) {
+                parent.classInfo.addNestedClass(classInfo);
+            } else {
+                classes.add(classInfo);
+            }
+            types.push(new TypeFrame(typeDecl, classInfo));
+        }
+
+        private void exitType() {
+            TypeFrame frame = types.pop();
+            // Same order as before: constructors first, then methods
+            frame.constructors.forEach(frame.classInfo::addMethod);
+            frame.methods.forEach(frame.classInfo::addMethod);
+        }
+
+        /**
+         * The type a node is a direct member of (null if it isn't one,
+         * e.g. a method of an anonymous class)
+         */
+        private TypeFrame ownerOf(Node node) {
+            TypeFrame top = types.peek();
+            if (top != null && node.getParentNode().orElse(null) == top.typeDecl) {
+                return top;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A type being visited, with its members collected so far
+     */
+    private static final class TypeFrame {
+        final TypeDeclaration<?> typeDecl;
+        final ClassInfo classInfo;
+        final List<MethodInfo> constructors = new ArrayList<>();
+        final List<MethodInfo> methods = new ArrayList<>();
+
+        TypeFrame(TypeDeclaration<?> typeDecl, ClassInfo classInfo) {
+            this.typeDecl = typeDecl;
+            this.classInfo = classInfo;
+        }
+    }
+
+    /**
+     * Extract ClassInfo from a type declaration (class, interface, enum, record).
+     * Only the declaration itself - members are added by StructureVisitor.
      */
     private ClassInfo extractClassInfo(TypeDeclaration<?> typeDecl, String packageName) {
         ClassInfo classInfo = new ClassInfo();
@@ -253,9 +765,7 @@ public class CodeAnalyzerService {
         }
 
         // Extract modifiers (public, abstract, final, etc.)
-        typeDecl.getModifiers().forEach(mod ->
-                classInfo.addModifier(mod.getKeyword().asString())
-        );
+        classInfo.setModifierMask(modifierMask(typeDecl.getModifiers()));
 
         // Extract annotations
         typeDecl.getAnnotations().forEach(ann ->
@@ -263,41 +773,12 @@ public class CodeAnalyzerService {
         );
 
         // Extract Javadoc
-        extractJavadoc(typeDecl).ifPresent(classInfo::setJavadoc);
+        typeDecl.getJavadoc().flatMap(this::extractDescription).ifPresent(classInfo::setJavadoc);
 
         // Extract line numbers
         typeDecl.getBegin().ifPresent(pos -> classInfo.setStartLine(pos.line));
         typeDecl.getEnd().ifPresent(pos -> classInfo.setEndLine(pos.line));
 
-        // Extract fields
-        for (FieldDeclaration fieldDecl : typeDecl.getFields()) {
-            List<FieldInfo> fields = extractFieldInfo(fieldDecl);
-            fields.forEach(classInfo::addField);
-        }
-
-        // Extract constructors (for classes and enums)
-        for (ConstructorDeclaration ctorDecl : typeDecl.getConstructors()) {
-            MethodInfo ctorInfo = extractConstructorInfo(ctorDecl);
-            classInfo.addMethod(ctorInfo);
-        }
-
-        // Extract methods
-        for (MethodDeclaration methodDecl : typeDecl.getMethods()) {
-            MethodInfo methodInfo = extractMethodInfo(methodDecl);
-            classInfo.addMethod(methodInfo);
-        }
-
-        // Extract nested classes
-        for (TypeDeclaration<?> nestedType : typeDecl.findAll(TypeDeclaration.class)) {
-            if (nestedType != typeDecl && isDirectChild(typeDecl, nestedType)) {
-                ClassInfo nestedClass = extractClassInfo(nestedType,
-                        classInfo.getFullyQualifiedName());
-                if (nestedClass != null) {
-                    classInfo.addNestedClass(nestedClass);
-                }
-            }
-        }
-
         return classInfo;
     }
 
@@ -313,13 +794,11 @@ public class CodeAnalyzerService {
         // Get the type (shared by all variables in this declaration)
         String type = fieldDecl.getElementType().asString();
 
-        // Get modifiers (shared)
-        List<String> modifiers = fieldDecl.getModifiers().stream()
-                .map(m -> m.getKeyword().asString())
-                .collect(Collectors.toList());
+        // Get modifiers (shared - an int, so nothing to copy per variable)
+        int modifiers = modifierMask(fieldDecl.getModifiers());
 
         // Get Javadoc (shared)
-        String javadoc = extractJavadoc(fieldDecl).orElse(null);
+        String javadoc = fieldDecl.getJavadoc().flatMap(this::extractDescription).orElse(null);
 
         // Each VariableDeclarator is a separate field
         for (VariableDeclarator variable : fieldDecl.getVariables()) {
@@ -327,7 +806,7 @@ public class CodeAnalyzerService {
 
             fieldInfo.setName(variable.getNameAsString());
             fieldInfo.setType(type);
-            fieldInfo.setModifiers(new ArrayList<>(modifiers));
+            fieldInfo.setModifierMask(modifiers);
             fieldInfo.setJavadoc(javadoc);
 
             // Get initial value if present
@@ -369,9 +848,7 @@ public class CodeAnalyzerService {
         });
 
         // Modifiers
-        methodDecl.getModifiers().forEach(mod ->
-                methodInfo.addModifier(mod.getKeyword().asString())
-        );
+        methodInfo.setModifierMask(modifierMask(methodDecl.getModifiers()));
 
         // Thrown exceptions
         methodDecl.getThrownExceptions().forEach(ex ->
@@ -383,14 +860,16 @@ public class CodeAnalyzerService {
                 methodInfo.addAnnotation("@" + ann.getNameAsString())
         );
 
-        // Javadoc
-        extractJavadoc(methodDecl).ifPresent(methodInfo::setJavadoc);
+        // Javadoc - parsed once, then description, @param and @return read from it
+        methodDecl.getJavadoc().ifPresent(javadoc -> {
+            extractDescription(javadoc).ifPresent(methodInfo::setJavadoc);
 
-        // Extract @param descriptions from Javadoc
-        extractParamDescriptions(methodDecl, methodInfo);
+            // Extract @param descriptions from Javadoc
+            extractParamDescriptions(javadoc, methodInfo);
 
-        // Extract @return description
-        extractReturnDescription(methodDecl, methodInfo);
+            // Extract @return description
+            extractReturnDescription(javadoc, methodInfo);
+        });
 
         // Line numbers
         methodDecl.getBegin().ifPresent(pos -> methodInfo.setStartLine(pos.line));
@@ -421,9 +900,7 @@ public class CodeAnalyzerService {
         });
 
         // Modifiers
-        ctorDecl.getModifiers().forEach(mod ->
-                methodInfo.addModifier(mod.getKeyword().asString())
-        );
+        methodInfo.setModifierMask(modifierMask(ctorDecl.getModifiers()));
 
         // Thrown exceptions
         ctorDecl.getThrownExceptions().forEach(ex ->
@@ -436,7 +913,7 @@ public class CodeAnalyzerService {
         );
 
         // Javadoc
-        extractJavadoc(ctorDecl).ifPresent(methodInfo::setJavadoc);
+        ctorDecl.getJavadoc().flatMap(this::extractDescription).ifPresent(methodInfo::setJavadoc);
 
         // Line numbers
         ctorDecl.getBegin().ifPresent(pos -> methodInfo.setStartLine(pos.line));
@@ -448,21 +925,23 @@ public class CodeAnalyzerService {
     // ==================== HELPER METHODS ====================
 
     /**
-     * Extract Javadoc description from a node
+     * Turn JavaParser modifiers into a JavaModifier mask
      */
-    private Optional<String> extractJavadoc(Node node) {
-        if (node instanceof NodeWithJavadoc<?>) {
-            NodeWithJavadoc<?> nodeWithJavadoc = (NodeWithJavadoc<?>) node;
-            Optional<Javadoc> javadocOpt = nodeWithJavadoc.getJavadoc();
-
-            if (javadocOpt.isPresent()) {
-                Javadoc javadoc = javadocOpt.get();
-                // Get the main description (before any @tags)
-                String description = javadoc.getDescription().toText().trim();
-                if (!description.isEmpty()) {
-                    return Optional.of(description);
-                }
-            }
+    private static int modifierMask(NodeList<Modifier> modifiers) {
+        int mask = 0;
+        for (Modifier modifier : modifiers) {
+            mask |= MODIFIER_BITS[modifier.getKeyword().ordinal()];
+        }
+        return mask;
+    }
+
+    /**
+     * Extract the main description of a parsed Javadoc (before any @tags)
+     */
+    private Optional<String> extractDescription(Javadoc javadoc) {
+        String description = javadoc.getDescription().toText().trim();
+        if (!description.isEmpty()) {
+            return Optional.of(description);
         }
         return Optional.empty();
     }
@@ -470,59 +949,44 @@ public class CodeAnalyzerService {
     /**
      * Extract @param descriptions from Javadoc and add to parameters
      */
-    private void extractParamDescriptions(MethodDeclaration methodDecl, MethodInfo methodInfo) {
-        methodDecl.getJavadoc().ifPresent(javadoc -> {
-            for (JavadocBlockTag tag : javadoc.getBlockTags()) {
-                if (tag.getType() == JavadocBlockTag.Type.PARAM) {
-                    String paramName = tag.getName().orElse("");
-                    String description = tag.getContent().toText().trim();
-
-                    // Find matching parameter and set description
-                    for (ParameterInfo param : methodInfo.getParameters()) {
-                        if (param.getName().equals(paramName)) {
-                            param.setDescription(description);
-                            break;
-                        }
+    private void extractParamDescriptions(Javadoc javadoc, MethodInfo methodInfo) {
+        for (JavadocBlockTag tag : javadoc.getBlockTags()) {
+            if (tag.getType() == JavadocBlockTag.Type.PARAM) {
+                String paramName = tag.getName().orElse("");
+                String description = tag.getContent().toText().trim();
+
+                // Find matching parameter and set description
+                for (ParameterInfo param : methodInfo.getParameters()) {
+                    if (param.getName().equals(paramName)) {
+                        param.setDescription(description);
+                        break;
                     }
                 }
             }
-        });
+        }
     }
 
     /**
      * Extract @return description from Javadoc
      */
-    private void extractReturnDescription(MethodDeclaration methodDecl, MethodInfo methodInfo) {
-        methodDecl.getJavadoc().ifPresent(javadoc -> {
-            for (JavadocBlockTag tag : javadoc.getBlockTags()) {
-                if (tag.getType() == JavadocBlockTag.Type.RETURN) {
-                    methodInfo.setReturnDescription(tag.getContent().toText().trim());
-                    break;
-                }
+    private void extractReturnDescription(Javadoc javadoc, MethodInfo methodInfo) {
+        for (JavadocBlockTag tag : javadoc.getBlockTags()) {
+            if (tag.getType() == JavadocBlockTag.Type.RETURN) {
+                methodInfo.setReturnDescription(tag.getContent().toText().trim());
+                break;
             }
-        });
+        }
     }
 
-    /**
-     * Check if a type is a nested class (inside another class)
-     */
-    private boolean isNestedClass(TypeDeclaration<?> typeDecl) {
-        return typeDecl.getParentNode()
-                .filter(parent -> parent instanceof TypeDeclaration)
-                .isPresent();
-    }
+    // ==================== STATISTICS ====================
 
     /**
-     * Check if nestedType is a direct child of parentType
+     * Get the analysis cache (null if caching is disabled)
      */
-    private boolean isDirectChild(TypeDeclaration<?> parentType, TypeDeclaration<?> nestedType) {
-        return nestedType.getParentNode()
-                .filter(parent -> parent == parentType)
-                .isPresent();
+    public AnalysisCache getCache() {
+        return cache;
     }
 
-    // ==================== STATISTICS ====================
-
     /**
      * Generate a summary of analyzed files
      */
@@ -0,0 +1,171 @@
+package com.docgen.service;
+
+import com.docgen.config.ChangeDetail;
+import com.docgen.metrics.Timer;
+import com.docgen.model.CommitInfo;
+import com.docgen.model.FileChangeInfo;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CommitDiffPool - Diffs commits against their parents, optionally on several threads.
+ *
+ * ╔══════════════════════════════════════════════════════════════════╗
+ * ║  log thread:  commit 1 ──▶ commit 2 ──▶ commit 3 ──▶ ...          ║
+ * ║                  │            │            │                     ║
+ * ║  workers:     [diff 1]     [diff 2]     [diff 3]   (in parallel) ║
+ * ║                  │            │            │                     ║
+ * ║  awaitAll():  changes are attached in submit (= log) order       ║
+ * ╚══════════════════════════════════════════════════════════════════╝
+ *
+ * Walking the log is cheap; the tree diff and the line counting are what
+ * take time, and every commit's diff is independent of the others. So the
+ * caller walks on its own thread and hands each commit to submit().
+ *
+ * Each worker has its own GitHistoryWalk (ObjectReader + RevWalk +
+ * DiffFormatter - none of them are thread-safe), created the first time
+ * that worker runs and closed with the pool.
+ *
+ * With one thread, submit() diffs right away on the caller's thread - the
+ * same as the old serial loop, with no pool at all.
+ *
+ * USAGE:
+ *   try (CommitDiffPool diffs = new CommitDiffPool(repository, 8, ChangeDetail.PATHS, TreeFilter.ALL, timer)) {
+ *       for (RevCommit commit : log) {
+ *           CommitInfo info = ...;      // header only
+ *           diffs.submit(commit, info);
+ *       }
+ *       diffs.awaitAll();               // every info now has its file changes
+ *   }
+ */
+class CommitDiffPool implements AutoCloseable {
+
+    private final Repository repository;
+    private final ChangeDetail changeDetail;
+    private final TreeFilter pathFilter;
+    private final Timer timer;
+
+    // Serial mode: the one session, used on the caller's thread
+    private final GitHistoryWalk serialWalk;
+
+    // Parallel mode: the workers and their sessions (null / empty in serial mode)
+    private final ExecutorService pool;
+    private final ThreadLocal<GitHistoryWalk> workerWalk;
+    private final Queue<GitHistoryWalk> openWalks = new ConcurrentLinkedQueue<>();
+
+    // Submitted, not yet awaited (in submit order)
+    private final List<CommitInfo> pendingInfos = new ArrayList<>();
+    private final List<Future<List<FileChangeInfo>>> pendingDiffs = new ArrayList<>();
+
+    /**
+     * @param threads Number of diff threads (1 = diff on the caller's thread)
+     * @param changeDetail Whether lines are counted during the diff or on first use
+     * @param pathFilter Which paths are diffed (TreeFilter.ALL = every path)
+     * @param timer Receives the time each diff took
+     */
+    CommitDiffPool(Repository repository, int threads, ChangeDetail changeDetail,
+                   TreeFilter pathFilter, Timer timer) {
+        this.repository = repository;
+        this.changeDetail = changeDetail;
+        this.pathFilter = pathFilter;
+        this.timer = timer;
+
+        if (threads > 1) {
+            this.serialWalk = null;
+            this.pool = Executors.newFixedThreadPool(threads, new NamedThreadFactory("docgen-diff"));
+            this.workerWalk = ThreadLocal.withInitial(this::openWalk);
+        } else {
+            this.serialWalk = new GitHistoryWalk(repository, changeDetail, pathFilter);
+            this.pool = null;
+            this.workerWalk = null;
+        }
+    }
+
+    /**
+     * Diff a commit against its first parent and put the changes into info
+     * (right away in serial mode, by awaitAll() otherwise)
+     */
+    void submit(RevCommit commit, CommitInfo info) throws IOException {
+        if (pool == null) {
+            info.setFileChanges(diff(serialWalk, commit));
+            return;
+        }
+        pendingInfos.add(info);
+        pendingDiffs.add(pool.submit(() -> diff(workerWalk.get(), commit)));
+    }
+
+    /**
+     * Wait for every submitted diff and attach the changes, in submit order
+     *
+     * @throws IOException if any diff failed (the first failure in log order)
+     */
+    void awaitAll() throws IOException {
+        try {
+            for (int i = 0; i < pendingDiffs.size(); i++) {
+                pendingInfos.get(i).setFileChanges(pendingDiffs.get(i).get());
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException("Diff failed: " + cause, cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while diffing commits", e);
+        } finally {
+            pendingInfos.clear();
+            pendingDiffs.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (serialWalk != null) {
+            serialWalk.close();
+            return;
+        }
+
+        // Sessions can only be closed once no worker is using them
+        pool.shutdownNow();
+        try {
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        GitHistoryWalk walk;
+        while ((walk = openWalks.poll()) != null) {
+            walk.close();
+        }
+    }
+
+    private GitHistoryWalk openWalk() {
+        GitHistoryWalk walk = new GitHistoryWalk(repository, changeDetail, pathFilter);
+        openWalks.add(walk);
+        return walk;
+    }
+
+    private List<FileChangeInfo> diff(GitHistoryWalk walk, RevCommit commit) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return walk.getFileChanges(commit);
+        } finally {
+            timer.recordSince(start);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.docgen.service;
+
+import com.docgen.model.CommitInfo;
+import com.docgen.model.FileChangeInfo;
+import com.docgen.model.FileChangeInfo.ChangeType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * CommitPathIndex - Maps each file path to the commits that changed it.
+ *
+ * Instead of scanning every commit for every file (files × commits × changes),
+ * we build this index once while walking the history, and then a file's
+ * history is a single map lookup:
+ *
+ *   "src/main/java/User.java" → [commit 9f2c.., commit 41ab.., ...]
+ *
+ * Paths are repository-relative with '/' separators, exactly as Git stores
+ * them, so two files with the same name in different folders never mix.
+ *
+ * RENAMES: Commits must be added newest first (git log order). When we see
+ * "OldUser.java → User.java", every OLDER commit that touched OldUser.java
+ * is filed under User.java, so a file's history survives renames.
+ */
+public class CommitPathIndex {
+
+    // Current (newest) path → commits that changed the file, newest first
+    private final Map<String, List<CommitInfo>> commitsByPath = new HashMap<>();
+
+    // Older path → newer path, for renames seen so far
+    private final Map<String, String> renamedTo = new HashMap<>();
+
+    /**
+     * Add the next commit. Must be called in log order (newest first).
+     */
+    public void add(CommitInfo commit) {
+        for (FileChangeInfo change : commit.getFileChanges()) {
+            String path = change.getPath();
+            if (path == null) {
+                continue;
+            }
+
+            // Follow renames seen in newer commits
+            String currentPath = renamedTo.getOrDefault(path, path);
+            addCommit(currentPath, commit);
+
+            if (change.getChangeType() == ChangeType.RENAME && change.getOldPath() != null) {
+                // Older commits on the old path belong to the same file
+                renamedTo.put(change.getOldPath(), currentPath);
+            }
+            if (change.getChangeType() == ChangeType.ADD) {
+                // The file was created here; anything older at this path was another file
+                renamedTo.remove(path);
+            }
+        }
+    }
+
+    private void addCommit(String path, CommitInfo commit) {
+        List<CommitInfo> commits = commitsByPath.computeIfAbsent(path, p -> new ArrayList<>());
+
+        // A commit can touch the same file twice (e.g. rename + modify) - list it once
+        if (commits.isEmpty() || commits.get(commits.size() - 1) != commit) {
+            commits.add(commit);
+        }
+    }
+
+    /**
+     * Get the commits that changed a file, newest first.
+     *
+     * @param path Repository-relative path (e.g. "src/main/java/User.java")
+     * @return The commits, or an empty list if the path was never changed
+     */
+    public List<CommitInfo> getCommits(String path) {
+        List<CommitInfo> commits = commitsByPath.get(normalize(path));
+        return commits != null ? Collections.unmodifiableList(commits) : List.of();
+    }
+
+    /**
+     * All paths that have at least one commit
+     */
+    public Set<String> getPaths() {
+        return Collections.unmodifiableSet(commitsByPath.keySet());
+    }
+
+    public int size() {
+        return commitsByPath.size();
+    }
+
+    /**
+     * Normalize a path to Git's form: '/' separators, no leading "./" or "/"
+     */
+    public static String normalize(String path) {
+        String normalized = path.replace('\\', '/');
+        while (normalized.startsWith("./")) {
+            normalized = normalized.substring(2);
+        }
+        while (normalized.startsWith("/")) {
+            normalized = normalized.substring(1);
+        }
+        return normalized;
+    }
+}
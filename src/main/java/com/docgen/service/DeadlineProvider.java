@@ -0,0 +1,51 @@
+package com.docgen.service;
+
+import com.github.javaparser.Provider;
+
+import java.io.IOException;
+
+/**
+ * DeadlineProvider - Feeds source text to JavaParser until a deadline passes.
+ *
+ * JavaParser pulls its input in small chunks while it tokenizes, so a read
+ * that fails after the deadline ends the parse early (JavaParser sees an
+ * early end of input and gives up with a parse error). That lets a parse
+ * we stopped waiting for finish by itself instead of burning a CPU for
+ * minutes in the background.
+ *
+ * It can't stop work that needs no more input (like JavaParser's own
+ * post-processing of a file it has fully read) - the caller's timeout
+ * covers that.
+ */
+final class DeadlineProvider implements Provider {
+
+    private final String source;
+    private final long deadlineNanos;
+    private int position;
+
+    /**
+     * @param deadlineNanos System.nanoTime() value after which reads fail
+     */
+    DeadlineProvider(String source, long deadlineNanos) {
+        this.source = source;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (System.nanoTime() - deadlineNanos > 0) {
+            throw new IOException("Parse time budget exceeded");
+        }
+        if (position >= source.length()) {
+            return -1;
+        }
+        int count = Math.min(length, source.length() - position);
+        source.getChars(position, position + count, buffer, offset);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public void close() {
+    }
+}
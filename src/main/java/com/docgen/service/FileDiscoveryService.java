@@ -1,13 +1,20 @@
 package com.docgen.service;
 
+import com.docgen.config.DiscoveryMode;
 import com.docgen.config.DocGeneratorConfig;
+import com.docgen.metrics.Meter;
+import com.docgen.metrics.MetricsRegistry;
 import com.docgen.model.JavaFileInfo;
+import com.docgen.progress.ProgressSink;
+import com.docgen.progress.Stage;
 
 import java.io.IOException;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 /**
@@ -28,6 +35,12 @@ public class FileDiscoveryService {
     // The configuration tells us where to look and what to skip
     private final DocGeneratorConfig config;
 
+    // Where discovered files/sec goes (DISABLED until enableMetrics())
+    private MetricsRegistry metrics = MetricsRegistry.DISABLED;
+
+    // Where "found X" messages go (the classic console output by default)
+    private ProgressSink progress = ProgressSink.console();
+
     /**
      * Constructor - creates service with given configuration
      *
@@ -37,6 +50,20 @@ public class FileDiscoveryService {
         this.config = config;
     }
 
+    /**
+     * Record discovered files/sec in a metrics registry
+     */
+    public void enableMetrics(MetricsRegistry metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Send progress messages somewhere else than the console
+     */
+    public void setProgressSink(ProgressSink progress) {
+        this.progress = progress;
+    }
+
     /**
      * Discover all Java files in the configured project path.
      *
@@ -47,7 +74,127 @@ public class FileDiscoveryService {
      */
     public List<JavaFileInfo> discoverJavaFiles() throws IOException {
         Path projectPath = config.getProjectPath();
+        checkProjectPath(projectPath);
+
+        progress.stageStarted(Stage.DISCOVERY, "Discovering Java files in: " + projectPath,
+                ProgressSink.UNKNOWN_TOTAL);
+        progress.info(Stage.DISCOVERY, "Exclude patterns: " + config.getExcludePatterns());
+
+        long start = System.nanoTime();
+        List<JavaFileInfo> javaFiles;
 
+        if (usesGit()) {
+            javaFiles = discoverFromGit();
+        } else if (config.isRecursive()) {
+            // Use the appropriate discovery method based on config
+            javaFiles = discoverRecursively(projectPath);
+        } else {
+            javaFiles = discoverTopLevelOnly(projectPath);
+        }
+
+        metrics.meter("discovery.files").mark(javaFiles.size(), start, System.nanoTime());
+        return javaFiles;
+    }
+
+    /**
+     * Discover Java files and hand each one to a consumer AS SOON AS it is found.
+     *
+     * This is the streaming version of discoverJavaFiles(): nothing is
+     * collected, so the caller can start reading the first file while we
+     * are still walking the tree. Excluded directories are skipped entirely.
+     *
+     * @param sink Receives each discovered file (called on this thread)
+     * @return Number of files discovered
+     * @throws IOException if the project path is invalid or cannot be walked
+     */
+    public int discoverJavaFiles(Consumer<JavaFileInfo> sink) throws IOException {
+        Path projectPath = config.getProjectPath();
+        checkProjectPath(projectPath);
+
+        // Count each file as it is found, so the rate is visible while the walk runs
+        long start = System.nanoTime();
+        Meter discovered = metrics.meter("discovery.files");
+
+        if (usesGit()) {
+            return new GitSourceDiscovery(config).discover(fileInfo -> {
+                discovered.mark(1, start, System.nanoTime());
+                sink.accept(fileInfo);
+            });
+        }
+
+        int maxDepth = config.isRecursive() ? config.getMaxDepth() : 1;
+        int[] count = {0};
+
+        Files.walkFileTree(projectPath, EnumSet.noneOf(FileVisitOption.class), maxDepth,
+                new SimpleFileVisitor<Path>() {
+
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                        return config.shouldExclude(dir, true)
+                                ? FileVisitResult.SKIP_SUBTREE
+                                : FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        if (attrs.isRegularFile()
+                                && file.toString().endsWith(".java")
+                                && !config.shouldExclude(file)) {
+                            discovered.mark(1, start, System.nanoTime());
+                            sink.accept(new JavaFileInfo(file));
+                            count[0]++;
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                        progress.itemFailed(Stage.DISCOVERY, file.toString(), exc.getMessage());
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+
+        return count[0];
+    }
+
+    /**
+     * Check if files should come from Git (falls back to the file system
+     * when the project is not inside a Git repository)
+     */
+    private boolean usesGit() {
+        if (config.getDiscoveryMode() == DiscoveryMode.FILESYSTEM) {
+            return false;
+        }
+        if (!GitSourceDiscovery.isGitRepository(config.getProjectPath())) {
+            progress.warning(Stage.DISCOVERY, "Not a Git repository - discovering from the file system instead");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Discover Java files from the Git index or a Git revision
+     */
+    private List<JavaFileInfo> discoverFromGit() throws IOException {
+        List<JavaFileInfo> javaFiles = new ArrayList<>();
+
+        new GitSourceDiscovery(config).discover(fileInfo -> {
+            javaFiles.add(fileInfo);
+            progress.itemDone(Stage.DISCOVERY, fileInfo.getFileName(), null);
+        });
+
+        progress.stageFinished(Stage.DISCOVERY, "Total Java files found: " + javaFiles.size() +
+                (config.getDiscoveryMode() == DiscoveryMode.GIT_REVISION
+                        ? " (at " + config.getSourceRevision() + ")"
+                        : " (from Git index)"));
+
+        return javaFiles;
+    }
+
+    /**
+     * Verify the project path exists and is a directory
+     */
+    private void checkProjectPath(Path projectPath) throws IOException {
         // Verify the project path exists
         if (!Files.exists(projectPath)) {
             throw new IOException(
@@ -61,52 +208,24 @@ public class FileDiscoveryService {
                     "Project path is not a directory: " + projectPath
             );
         }
-
-        System.out.println("🔍 Discovering Java files in: " + projectPath);
-        System.out.println("   Exclude patterns: " + config.getExcludePatterns());
-        System.out.println();
-
-        // Use the appropriate discovery method based on config
-        if (config.isRecursive()) {
-            return discoverRecursively(projectPath);
-        } else {
-            return discoverTopLevelOnly(projectPath);
-        }
     }
 
     /**
      * Discover Java files in all subdirectories (recursive)
      *
-     * Uses Files.walk() which creates a Stream of all paths
-     * in the directory tree.
+     * Uses ParallelFileWalker, which skips excluded directories without
+     * entering them and lists sibling directories in parallel.
+     * Files come back in a stable, name-sorted order.
      */
-    private List<JavaFileInfo> discoverRecursively(Path rootPath) throws IOException {
+    private List<JavaFileInfo> discoverRecursively(Path rootPath) {
         List<JavaFileInfo> javaFiles = new ArrayList<>();
 
-        // Files.walk() traverses the entire directory tree
-        // maxDepth limits how deep we go
-        try (Stream<Path> pathStream = Files.walk(rootPath, config.getMaxDepth())) {
-
-            pathStream
-                    // Filter 1: Only include regular files (not directories)
-                    .filter(Files::isRegularFile)
-
-                    // Filter 2: Only include .java files
-                    .filter(path -> path.toString().endsWith(".java"))
-
-                    // Filter 3: Exclude paths matching our exclude patterns
-                    .filter(path -> !config.shouldExclude(path))
-
-                    // For each matching path, create a JavaFileInfo
-                    .forEach(path -> {
-                        JavaFileInfo fileInfo = new JavaFileInfo(path);
-                        javaFiles.add(fileInfo);
-                        System.out.println("   ✓ Found: " + path.getFileName());
-                    });
+        for (Path path : new ParallelFileWalker(config, progress).walk(rootPath)) {
+            javaFiles.add(new JavaFileInfo(path));
+            progress.itemDone(Stage.DISCOVERY, path.getFileName().toString(), null);
         }
 
-        System.out.println();
-        System.out.println("📁 Total Java files found: " + javaFiles.size());
+        progress.stageFinished(Stage.DISCOVERY, "Total Java files found: " + javaFiles.size());
 
         return javaFiles;
     }
@@ -129,12 +248,11 @@ public class FileDiscoveryService {
                     .filter(path -> !config.shouldExclude(path))
                     .forEach(path -> {
                         javaFiles.add(new JavaFileInfo(path));
-                        System.out.println("   ✓ Found: " + path.getFileName());
+                        progress.itemDone(Stage.DISCOVERY, path.getFileName().toString(), null);
                     });
         }
 
-        System.out.println();
-        System.out.println("📁 Total Java files found: " + javaFiles.size());
+        progress.stageFinished(Stage.DISCOVERY, "Total Java files found: " + javaFiles.size());
 
         return javaFiles;
     }
@@ -159,8 +277,8 @@ public class FileDiscoveryService {
             @Override
             public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
                 // Check if we should skip this directory
-                if (config.shouldExclude(dir)) {
-                    System.out.println("   ⊘ Skipping directory: " + dir.getFileName());
+                if (config.shouldExclude(dir, true)) {
+                    progress.info(Stage.DISCOVERY, "Skipping directory: " + dir.getFileName());
                     return FileVisitResult.SKIP_SUBTREE;  // Don't go into this folder
                 }
                 return FileVisitResult.CONTINUE;  // Enter this folder
@@ -174,7 +292,7 @@ public class FileDiscoveryService {
                 // Check if it's a Java file
                 if (file.toString().endsWith(".java")) {
                     javaFiles.add(new JavaFileInfo(file));
-                    System.out.println("   ✓ Found: " + file.getFileName());
+                    progress.itemDone(Stage.DISCOVERY, file.getFileName().toString(), null);
                 }
                 return FileVisitResult.CONTINUE;
             }
@@ -184,7 +302,7 @@ public class FileDiscoveryService {
              */
             @Override
             public FileVisitResult visitFileFailed(Path file, IOException exc) {
-                System.err.println("   ⚠ Could not access: " + file);
+                progress.itemFailed(Stage.DISCOVERY, file.toString(), exc.getMessage());
                 return FileVisitResult.CONTINUE;  // Keep going despite the error
             }
         });
@@ -1,14 +1,24 @@
 package com.docgen.service;
 
+import com.docgen.config.ReadMode;
+import com.docgen.metrics.MetricsRegistry;
 import com.docgen.model.JavaFileInfo;
+import com.docgen.model.LineIndex;
+import com.docgen.progress.ProgressSink;
+import com.docgen.progress.Stage;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -46,6 +56,47 @@ public class FileReaderService {
     private static final Pattern PACKAGE_PATTERN =
             Pattern.compile("^\\s*package\\s+([\\w.]+)\\s*;", Pattern.MULTILINE);
 
+    private static final byte[] PACKAGE_KEYWORD = "package".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * How files are loaded (see ReadMode)
+     */
+    private final ReadMode readMode;
+
+    // Where read timings and byte counts go (DISABLED until enableMetrics())
+    private MetricsRegistry metrics = MetricsRegistry.DISABLED;
+
+    // Where "read X" messages go (the classic console output by default)
+    private ProgressSink progress = ProgressSink.console();
+
+    /**
+     * Constructor - reads files as Strings (ReadMode.STANDARD)
+     */
+    public FileReaderService() {
+        this(ReadMode.STANDARD);
+    }
+
+    /**
+     * Constructor - reads files using the given mode
+     */
+    public FileReaderService(ReadMode readMode) {
+        this.readMode = readMode;
+    }
+
+    /**
+     * Record read latency, bytes/sec and file sizes in a metrics registry
+     */
+    public void enableMetrics(MetricsRegistry metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Send progress messages somewhere else than the console
+     */
+    public void setProgressSink(ProgressSink progress) {
+        this.progress = progress;
+    }
+
 
     /**
      * Read a single Java file and populate the JavaFileInfo
@@ -55,6 +106,29 @@ public class FileReaderService {
      * @throws IOException if the file cannot be read
      */
     public JavaFileInfo readFile(JavaFileInfo fileInfo) throws IOException {
+        long start = System.nanoTime();
+        try {
+            if (readMode == ReadMode.BYTES) {
+                readFileBytes(fileInfo);
+            } else {
+                readFileString(fileInfo);
+            }
+        } catch (IOException e) {
+            metrics.counter("reader.errors").increment();
+            throw e;
+        }
+        long end = System.nanoTime();
+
+        metrics.timer("reader.latency").record(end - start);
+        metrics.meter("reader.bytes").mark(fileInfo.getFileSize(), start, end);
+        metrics.histogram("reader.file_bytes").record(fileInfo.getFileSize());
+        return fileInfo;
+    }
+
+    /**
+     * ReadMode.STANDARD: read the whole file as a String
+     */
+    private JavaFileInfo readFileString(JavaFileInfo fileInfo) throws IOException {
         Path path = fileInfo.getFilePath();
 
         // Read the entire file content as a String
@@ -65,10 +139,7 @@ public class FileReaderService {
         BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
 
         // Convert file modification time to LocalDateTime
-        LocalDateTime lastModified = LocalDateTime.ofInstant(
-                attrs.lastModifiedTime().toInstant(),
-                ZoneId.systemDefault()
-        );
+        LocalDateTime lastModified = toLocalDateTime(attrs);
 
         // Extract package name from the content
         String packageName = extractPackageName(content);
@@ -84,6 +155,100 @@ public class FileReaderService {
         return fileInfo;
     }
 
+    /**
+     * ReadMode.BYTES: read raw bytes, scan only the header for the package,
+     * and leave ASCII content undecoded until someone calls getContent()
+     */
+    private JavaFileInfo readFileBytes(JavaFileInfo fileInfo) throws IOException {
+        Path path = fileInfo.getFilePath();
+
+        BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+        byte[] bytes = readAllBytes(path);
+
+        fileInfo
+                .setFileSize(attrs.size())
+                .setLastModified(toLocalDateTime(attrs));
+
+        return readContent(fileInfo, bytes);
+    }
+
+    /**
+     * Fill in content and package name from bytes that are already in memory
+     * (e.g. a blob read from Git). Size and modification time are left alone.
+     *
+     * ASCII content stays undecoded until getContent() is called; anything
+     * else is decoded as strict UTF-8.
+     *
+     * @param fileInfo The file to fill in
+     * @param bytes The file content, UTF-8 encoded
+     * @return The same fileInfo
+     * @throws IOException if the bytes are not valid UTF-8
+     */
+    public JavaFileInfo readContent(JavaFileInfo fileInfo, byte[] bytes) throws IOException {
+        if (isAscii(bytes)) {
+            fileInfo
+                    .setAsciiContent(bytes)
+                    .setPackageName(extractPackageName(bytes));
+        } else {
+            // Not plain ASCII: fall back to the standard path - strict UTF-8
+            // decoding (malformed input throws, like Files.readString) + regex
+            String content = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(bytes))
+                    .toString();
+            fileInfo
+                    .setContent(content)
+                    .setPackageName(extractPackageName(content));
+        }
+
+        return fileInfo;
+    }
+
+    /**
+     * Bulk-read a whole file through a FileChannel into one exactly-sized array
+     */
+    private static byte[] readAllBytes(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE - 8) {
+                throw new IOException("File too large to read: " + path);
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keep reading until full or end of file
+            }
+
+            // The file may have shrunk while we were reading it
+            return buffer.hasRemaining()
+                    ? Arrays.copyOf(buffer.array(), buffer.position())
+                    : buffer.array();
+        }
+    }
+
+    /**
+     * Check that every byte is 7-bit ASCII
+     */
+    private static boolean isAscii(byte[] bytes) {
+        for (byte b : bytes) {
+            if (b < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Convert the file modification time to LocalDateTime
+     */
+    private static LocalDateTime toLocalDateTime(BasicFileAttributes attrs) {
+        return LocalDateTime.ofInstant(
+                attrs.lastModifiedTime().toInstant(),
+                ZoneId.systemDefault()
+        );
+    }
+
     /**
      * Read multiple Java files at once
      *
@@ -91,32 +256,41 @@ public class FileReaderService {
      * @return The same list, with all files populated
      */
     public List<JavaFileInfo> readAllFiles(List<JavaFileInfo> fileInfos) {
-        System.out.println("📖 Reading " + fileInfos.size() + " Java files...");
-        System.out.println();
+        progress.stageStarted(Stage.READ, "Reading " + fileInfos.size() + " Java files...", fileInfos.size());
 
         int successCount = 0;
         int errorCount = 0;
 
         for (JavaFileInfo fileInfo : fileInfos) {
+            if (fileInfo.getSourceRevision() != null) {
+                // Already loaded from Git during discovery - nothing on disk to read
+                progress.itemDone(Stage.READ, fileInfo.getFileName(),
+                        "(" + fileInfo.getLineCount() + " lines, from " +
+                                abbreviate(fileInfo.getSourceRevision()) + ")");
+                successCount++;
+                continue;
+            }
             try {
                 readFile(fileInfo);
-                System.out.println("   ✓ Read: " + fileInfo.getFileName() +
-                        " (" + fileInfo.getLineCount() + " lines)");
+                progress.itemDone(Stage.READ, fileInfo.getFileName(),
+                        "(" + fileInfo.getLineCount() + " lines)");
                 successCount++;
             } catch (IOException e) {
-                System.err.println("   ✗ Error reading: " + fileInfo.getFileName() +
-                        " - " + e.getMessage());
+                progress.itemFailed(Stage.READ, fileInfo.getFileName(), e.getMessage());
                 errorCount++;
             }
         }
 
-        System.out.println();
-        System.out.println("📊 Read complete: " + successCount + " success, " +
+        progress.stageFinished(Stage.READ, "Read complete: " + successCount + " success, " +
                 errorCount + " errors");
 
         return fileInfos;
     }
 
+    private static String abbreviate(String revision) {
+        return revision.length() > 7 ? revision.substring(0, 7) : revision;
+    }
+
     /**
      * Extract the package name from Java source code
      *
@@ -135,6 +309,154 @@ public class FileReaderService {
         return "";
     }
 
+    /**
+     * Get the file content, re-reading it from disk if it was released
+     * after analysis (memory-lean mode).
+     *
+     * The re-read text is returned but NOT stored back into the JavaFileInfo,
+     * so the file stays lean. If the file changed on disk since it was
+     * analyzed, the returned text is the new version.
+     *
+     * @param fileInfo The file whose content is needed
+     * @return The content, or null if the file was never read
+     * @throws IOException if the file cannot be re-read
+     */
+    public String loadContent(JavaFileInfo fileInfo) throws IOException {
+        if (fileInfo.isContentReleased() && fileInfo.getSourceRevision() == null) {
+            return Files.readString(fileInfo.getFilePath(), StandardCharsets.UTF_8);
+        }
+        return fileInfo.getContent();
+    }
+
+    /**
+     * Find the package name by scanning the start of ASCII source bytes.
+     *
+     * Only whitespace, comments and annotations (as in package-info.java,
+     * e.g. "@Deprecated package pkg;") may come before a package
+     * declaration, so we skip those and stop at the first real token.
+     * Unlike the regex, this never looks past the file header.
+     *
+     * @param source ASCII source bytes
+     * @return The package name, or empty string if no package declared
+     */
+    private String extractPackageName(byte[] source) {
+        int pos = skipAnnotations(source, skipWhitespaceAndComments(source, 0));
+
+        if (!startsWith(source, pos, PACKAGE_KEYWORD)) {
+            return "";
+        }
+        pos += PACKAGE_KEYWORD.length;
+
+        // "package" must be followed by whitespace (not e.g. "packages")
+        int nameStart = skipWhitespaceAndComments(source, pos);
+        if (nameStart == pos) {
+            return "";
+        }
+
+        // Same characters as the regex: [\w.]+
+        int nameEnd = nameStart;
+        while (nameEnd < source.length && isNameByte(source[nameEnd])) {
+            nameEnd++;
+        }
+
+        int semicolon = skipWhitespaceAndComments(source, nameEnd);
+        if (nameEnd == nameStart || semicolon >= source.length || source[semicolon] != ';') {
+            return "";
+        }
+
+        return new String(source, nameStart, nameEnd - nameStart, StandardCharsets.ISO_8859_1);
+    }
+
+    private static int skipWhitespaceAndComments(byte[] source, int pos) {
+        while (pos < source.length) {
+            byte b = source[pos];
+            if (b == ' ' || b == '\t' || b == '\n' || b == '\r' || b == '\f') {
+                pos++;
+            } else if (b == '/' && pos + 1 < source.length && source[pos + 1] == '/') {
+                // Line comment: skip to end of line
+                while (pos < source.length && source[pos] != '\n') {
+                    pos++;
+                }
+            } else if (b == '/' && pos + 1 < source.length && source[pos + 1] == '*') {
+                // Block comment (or javadoc): skip past the closing */
+                pos += 2;
+                while (pos + 1 < source.length && !(source[pos] == '*' && source[pos + 1] == '/')) {
+                    pos++;
+                }
+                pos = Math.min(pos + 2, source.length);
+            } else {
+                break;
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Skip annotations like @Deprecated or @Generated(value = "x(y)"),
+     * including their (nested) parenthesised arguments
+     */
+    private static int skipAnnotations(byte[] source, int pos) {
+        while (pos < source.length && source[pos] == '@') {
+            pos = skipWhitespaceAndComments(source, pos + 1);
+            while (pos < source.length && isNameByte(source[pos])) {
+                pos++;
+            }
+            pos = skipWhitespaceAndComments(source, pos);
+
+            if (pos < source.length && source[pos] == '(') {
+                int depth = 0;
+                while (pos < source.length) {
+                    byte b = source[pos];
+                    if (b == '"' || b == '\'') {
+                        pos = skipLiteral(source, pos);
+                        continue;
+                    }
+                    if (b == '/' && pos + 1 < source.length &&
+                            (source[pos + 1] == '/' || source[pos + 1] == '*')) {
+                        pos = skipWhitespaceAndComments(source, pos);
+                        continue;
+                    }
+                    pos++;
+                    if (b == '(') {
+                        depth++;
+                    } else if (b == ')' && --depth == 0) {
+                        break;
+                    }
+                }
+                pos = skipWhitespaceAndComments(source, pos);
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Skip a string or char literal starting at its opening quote
+     */
+    private static int skipLiteral(byte[] source, int pos) {
+        byte quote = source[pos++];
+        while (pos < source.length && source[pos] != quote) {
+            pos += source[pos] == '\\' ? 2 : 1;
+        }
+        return Math.min(pos + 1, source.length);
+    }
+
+    private static boolean startsWith(byte[] source, int pos, byte[] prefix) {
+        if (pos + prefix.length > source.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (source[pos + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNameByte(byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') ||
+                (b >= '0' && b <= '9') || b == '_' || b == '.';
+    }
+
     /**
      * Get a preview of the file content (first N lines)
      * Useful for debugging and quick inspection
@@ -144,27 +466,38 @@ public class FileReaderService {
      * @return A string containing the first N lines
      */
     public String getContentPreview(JavaFileInfo fileInfo, int maxLines) {
-        String content = fileInfo.getContent();
+        String content;
+        try {
+            content = loadContent(fileInfo);
+        } catch (IOException e) {
+            return "(content unavailable: " + e.getMessage() + ")";
+        }
 
         if (content == null || content.isEmpty()) {
             return "(no content)";
         }
 
-        String[] lines = content.split("\n");
-        int linesToShow = Math.min(lines.length, maxLines);
+        // Released content was re-read from disk, so index what we actually have
+        LineIndex lines = fileInfo.isContentReleased()
+                ? LineIndex.of(content)
+                : fileInfo.getLineIndex();
+        int lineCount = lines.getLineCount();
+        int linesToShow = Math.min(lineCount, maxLines);
 
         StringBuilder preview = new StringBuilder();
         preview.append("--- Preview of ").append(fileInfo.getFileName())
                 .append(" (showing ").append(linesToShow)
-                .append(" of ").append(lines.length).append(" lines) ---\n");
+                .append(" of ").append(lineCount).append(" lines) ---\n");
 
-        for (int i = 0; i < linesToShow; i++) {
-            // Line numbers start at 1, not 0
-            preview.append(String.format("%4d | %s\n", i + 1, lines[i]));
+        for (int line = 1; line <= linesToShow; line++) {
+            // Copy each line straight from the content - no per-line Strings
+            preview.append(String.format("%4d | ", line))
+                    .append(content, lines.getLineStart(line), lines.getLineEnd(line))
+                    .append('\n');
         }
 
-        if (lines.length > maxLines) {
-            preview.append("     | ... (").append(lines.length - maxLines)
+        if (lineCount > maxLines) {
+            preview.append("     | ... (").append(lineCount - maxLines)
                     .append(" more lines)\n");
         }
 
@@ -1,35 +1,39 @@
 package com.docgen.service;
 
+import com.docgen.config.ChangeDetail;
+import com.docgen.metrics.MetricsRegistry;
+import com.docgen.metrics.Timer;
 import com.docgen.model.CommitInfo;
 import com.docgen.model.FileChangeInfo;
-import com.docgen.model.FileChangeInfo.ChangeType;
+import com.docgen.progress.ProgressSink;
+import com.docgen.progress.Stage;
+import com.docgen.storage.CommitIndexStore;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
-import org.eclipse.jgit.diff.DiffEntry;
-import org.eclipse.jgit.diff.DiffFormatter;
-import org.eclipse.jgit.diff.Edit;
-import org.eclipse.jgit.diff.EditList;
+import org.eclipse.jgit.errors.RevWalkException;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
-import org.eclipse.jgit.revwalk.RevTree;
+import org.eclipse.jgit.revwalk.RevObject;
 import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
-import org.eclipse.jgit.treewalk.AbstractTreeIterator;
-import org.eclipse.jgit.treewalk.CanonicalTreeParser;
-import org.eclipse.jgit.treewalk.EmptyTreeIterator;
-import org.eclipse.jgit.util.io.DisabledOutputStream;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * GitAnalyzerService - Analyzes Git repository history using JGit.
@@ -76,6 +80,33 @@ public class GitAnalyzerService {
     // Error message if connection failed
     private String connectionError;
 
+    // Persistent index of already analyzed commits (null = disabled)
+    private CommitIndexStore commitIndex;
+
+    // File path → commits, built by the last getCommitHistory() call
+    private CommitPathIndex pathIndex = new CommitPathIndex();
+
+    // Absolute, normalized working tree root (null for bare repositories)
+    private Path workTree;
+
+    // Where diff timings go (DISABLED until enableMetrics())
+    private MetricsRegistry metrics = MetricsRegistry.DISABLED;
+
+    // How many threads diff commits while the log is walked (1 = serial)
+    private int diffThreads = 1;
+
+    // Count lines during the walk (LINE_STATS) or when first read (PATHS)
+    private ChangeDetail changeDetail = ChangeDetail.PATHS;
+
+    // Counts lines of changes that don't have them yet (set once connected)
+    private BlobLineCounter lineCounter;
+
+    // Which paths the history looks at (see HistoryPathFilter)
+    private TreeFilter pathFilter = TreeFilter.ALL;
+
+    // Where status messages go (the classic console output by default)
+    private ProgressSink progress = ProgressSink.console();
+
     /**
      * Default constructor
      */
@@ -107,9 +138,13 @@ public class GitAnalyzerService {
                     .build();
 
             git = new Git(repository);
+            lineCounter = new BlobLineCounter(repository);
             isConnected = true;
+            workTree = repository.isBare()
+                    ? null
+                    : repository.getWorkTree().toPath().toAbsolutePath().normalize();
 
-            System.out.println("   ✓ Connected to Git repository: " +
+            progress.info(Stage.GIT, "Connected to Git repository: " +
                     repository.getDirectory().getAbsolutePath());
 
             return true;
@@ -117,7 +152,7 @@ public class GitAnalyzerService {
         } catch (IOException e) {
             connectionError = "Could not open repository: " + e.getMessage();
             isConnected = false;
-            System.out.println("   ⚠️  " + connectionError);
+            progress.warning(Stage.GIT, connectionError);
             return false;
         }
     }
@@ -143,6 +178,86 @@ public class GitAnalyzerService {
         return path;
     }
 
+    /**
+     * Keep analyzed commits in a persistent index.
+     *
+     * With the index enabled, getCommitHistory(0) only walks and diffs the
+     * commits that were added since the last run; everything else comes
+     * from the index file, which is only written again when something
+     * changed. A limited request (maxCommits > 0) walks just that many
+     * commits and takes the ones it finds in the index from there, without
+     * updating the index.
+     *
+     * An unreadable index file is reported and rebuilt from scratch.
+     *
+     * @param indexFile Where to store the index
+     */
+    public void enableCommitIndex(Path indexFile) {
+        try {
+            this.commitIndex = CommitIndexStore.open(indexFile);
+        } catch (IOException e) {
+            progress.warning(Stage.GIT, "Ignoring unreadable commit index: " + e.getMessage());
+            this.commitIndex = CommitIndexStore.empty(indexFile);
+        }
+    }
+
+    /**
+     * Diff commits on several threads while the log is walked.
+     *
+     * The log is still walked on the calling thread and the results come
+     * back in log order - only the tree diffs and line counting run in
+     * parallel, one ObjectReader/DiffFormatter per worker.
+     *
+     * @param threads Number of diff threads (1 = serial, the default)
+     */
+    public void enableConcurrentDiffs(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Diff threads must be at least 1, got: " + threads);
+        }
+        this.diffThreads = threads;
+    }
+
+    /**
+     * Choose how much the history walk works out per changed file.
+     *
+     * PATHS (the default) only compares trees, which is many times cheaper
+     * than loading and diffing every changed file. Line counts are then
+     * worked out per change the first time they are read (and kept), or
+     * for a whole list at once with loadLineStats().
+     *
+     * @param changeDetail PATHS or LINE_STATS
+     */
+    public void setChangeDetail(ChangeDetail changeDetail) {
+        this.changeDetail = changeDetail;
+    }
+
+    /**
+     * Only look at some paths in the Git history (see HistoryPathFilter).
+     *
+     * Paths the filter rejects are never diffed, and getCommitHistory()
+     * leaves out commits that only changed such paths. The commit index
+     * remembers the filter it was built with and starts over when it changes.
+     *
+     * @param pathFilter The filter (TreeFilter.ALL = every path, the default)
+     */
+    public void setPathFilter(TreeFilter pathFilter) {
+        this.pathFilter = pathFilter != null ? pathFilter : TreeFilter.ALL;
+    }
+
+    /**
+     * Record how long each commit takes to diff in a metrics registry
+     */
+    public void enableMetrics(MetricsRegistry metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Send status messages somewhere else than the console
+     */
+    public void setProgressSink(ProgressSink progress) {
+        this.progress = progress;
+    }
+
     /**
      * Get all commits from the repository.
      *
@@ -153,36 +268,318 @@ public class GitAnalyzerService {
         List<CommitInfo> commits = new ArrayList<>();
 
         if (!isConnected) {
-            System.out.println("   ⚠️  Not connected to repository");
+            progress.warning(Stage.GIT, "Not connected to repository");
             return commits;
         }
 
-        try {
-            // git.log() is like running "git log" command
-            Iterable<RevCommit> log = git.log()
-                    .all()  // Get all branches, not just current
-                    .call();
+        // Only the full history is worth indexing - a limited request stops early
+        if (commitIndex != null && maxCommits <= 0) {
+            try {
+                List<CommitInfo> indexed = updateCommitIndex();
+                pathIndex = new CommitPathIndex();
+                indexed.forEach(pathIndex::add);
+                progress.info(Stage.GIT, "Retrieved " + indexed.size() + " commits");
+                return indexed;
+            } catch (IOException e) {
+                progress.warning(Stage.GIT, "Commit index failed, walking full history: " + e.getMessage());
+            }
+        }
 
-            int count = 0;
-            for (RevCommit revCommit : log) {
-                if (maxCommits > 0 && count >= maxCommits) {
-                    break;
-                }
+        // Like "git log --all", limited to the paths we look at
+        try (RevWalk log = new RevWalk(repository)) {
+            startHistoryWalk(log, TreeFilter.ALL);
+
+            // Walk here, diff on the pool (or right here in serial mode)
+            try (CommitDiffPool diffs = newDiffPool()) {
+                int count = 0;
+                for (RevCommit revCommit : log) {
+                    if (maxCommits > 0 && count >= maxCommits) {
+                        break;
+                    }
 
-                CommitInfo commitInfo = extractCommitInfo(revCommit);
-                commits.add(commitInfo);
-                count++;
+                    CommitInfo commitInfo = getIndexedCommit(revCommit.getName());
+                    if (commitInfo == null) {
+                        commitInfo = extractCommitInfo(revCommit);
+                        diffs.submit(revCommit, commitInfo);
+                    }
+                    commits.add(commitInfo);
+                    count++;
+                }
+                diffs.awaitAll();
             }
 
-            System.out.println("   ✓ Retrieved " + commits.size() + " commits");
+            // Path index in log order (newest first), now that every diff is in
+            CommitPathIndex index = new CommitPathIndex();
+            commits.forEach(index::add);
+            pathIndex = index;
 
-        } catch (GitAPIException | IOException e) {
-            System.err.println("   ✗ Error getting commit history: " + e.getMessage());
+            progress.info(Stage.GIT, "Retrieved " + commits.size() + " commits");
+
+        } catch (IOException e) {
+            progress.warning(Stage.GIT, "Error getting commit history: " + e.getMessage());
         }
 
         return commits;
     }
 
+    // ==================== INCREMENTAL INDEX ====================
+
+    /**
+     * Bring the commit index up to date and return the full history.
+     *
+     * Normal case: every tip we indexed last time is still reachable from
+     * the current refs. Then the tips are marked UNINTERESTING, so the walk
+     * only produces commits that are new since then, and only those are
+     * diffed.
+     *
+     * Rewritten history (force-push, deleted branch): some old tip is gone.
+     * We then walk all reachable commits, reuse the indexed ones, diff the
+     * new ones, and drop indexed commits that weren't seen (unreachable).
+     */
+    private List<CommitInfo> updateCommitIndex() throws IOException {
+        // An index built with another path filter has other file changes
+        String scope = pathFilter.toString();
+        boolean scopeChanged = !scope.equals(commitIndex.getScope());
+        if (scopeChanged) {
+            commitIndex.reset(scope);
+        }
+
+        try (RevWalk walk = new RevWalk(repository);
+             CommitDiffPool diffs = newDiffPool()) {
+            List<RevCommit> heads = getHeadCommits(walk);
+            List<String> headNames = heads.stream().map(RevCommit::getName).toList();
+
+            boolean rewritten = !allTipsReachable(heads);
+
+            for (RevCommit head : heads) {
+                walk.markStart(head);
+            }
+            limitToPaths(walk, TreeFilter.ALL);
+            if (!rewritten) {
+                for (String tip : commitIndex.getTips()) {
+                    walk.markUninteresting(walk.parseCommit(ObjectId.fromString(tip)));
+                }
+            }
+
+            List<CommitInfo> walked = new ArrayList<>();
+            int newCount = 0;
+            for (RevCommit revCommit : walk) {
+                CommitInfo cached = commitIndex.get(revCommit.getName());
+                if (cached != null) {
+                    walked.add(cached);
+                } else {
+                    CommitInfo commitInfo = extractCommitInfo(revCommit);
+                    diffs.submit(revCommit, commitInfo);
+                    walked.add(commitInfo);
+                    newCount++;
+                }
+            }
+            diffs.awaitAll();
+
+            List<CommitInfo> history;
+            if (rewritten) {
+                // The walk saw every reachable commit - anything else is gone
+                int pruned = commitIndex.size() - (walked.size() - newCount);
+                history = walked;
+                progress.warning(Stage.GIT, "History was rewritten - pruned " + pruned +
+                        " unreachable commit(s) from the index");
+            } else {
+                history = mergeByCommitDate(walked, commitIndex.getCommits());
+            }
+
+            progress.info(Stage.GIT, "Commit index: " + (history.size() - newCount) +
+                    " cached, " + newCount + " new");
+
+            // Nothing new and the same refs - the index file is already right
+            boolean changed = scopeChanged || rewritten || newCount > 0 ||
+                    !new HashSet<>(commitIndex.getTips()).equals(new HashSet<>(headNames));
+            if (changed) {
+                commitIndex.replace(history, headNames);
+                commitIndex.save();
+            }
+
+            // Indexed commits may have been stored before their lines were counted
+            history.forEach(this::attachLineCounter);
+            return history;
+        }
+    }
+
+    /**
+     * Start a walk at every ref (like "git log --all") and limit it to the
+     * commits that changed a path we look at
+     *
+     * @param queryPaths Extra path condition of a query (TreeFilter.ALL = none)
+     */
+    private void startHistoryWalk(RevWalk walk, TreeFilter queryPaths) throws IOException {
+        for (RevCommit head : getHeadCommits(walk)) {
+            walk.markStart(head);
+        }
+        limitToPaths(walk, queryPaths);
+    }
+
+    /**
+     * Make a walk skip commits that changed nothing the path filter (and the
+     * query paths) accept
+     */
+    private void limitToPaths(RevWalk walk, TreeFilter queryPaths) {
+        List<TreeFilter> paths = new ArrayList<>();
+        if (pathFilter != TreeFilter.ALL) {
+            paths.add(pathFilter.clone());
+        }
+        if (queryPaths != TreeFilter.ALL) {
+            paths.add(queryPaths);
+        }
+        if (paths.isEmpty()) {
+            return;
+        }
+        paths.add(TreeFilter.ANY_DIFF);
+        walk.setTreeFilter(AndTreeFilter.create(paths));
+        // Keep the real parents, so each commit is diffed against its own parent
+        walk.setRewriteParents(false);
+    }
+
+    /**
+     * Get the commits that all refs (branches, tags, HEAD) point to - the
+     * same starting points as git.log().all()
+     */
+    private List<RevCommit> getHeadCommits(RevWalk walk) throws IOException {
+        Map<ObjectId, RevCommit> heads = new LinkedHashMap<>();
+
+        for (Ref ref : repository.getRefDatabase().getRefs()) {
+            Ref peeled = repository.getRefDatabase().peel(ref);
+            ObjectId id = peeled.getPeeledObjectId() != null
+                    ? peeled.getPeeledObjectId()
+                    : peeled.getObjectId();
+            if (id == null) {
+                continue;
+            }
+
+            RevObject object = walk.parseAny(id);
+            if (object instanceof RevCommit) {
+                heads.putIfAbsent(object.copy(), (RevCommit) object);
+            }
+        }
+
+        return new ArrayList<>(heads.values());
+    }
+
+    /**
+     * Check whether every previously indexed tip is still in the history of
+     * at least one current head.
+     *
+     * One walk from all heads at once, ticking off old tips as it passes
+     * them - it stops as soon as the last one is found.
+     */
+    private boolean allTipsReachable(List<RevCommit> heads) throws IOException {
+        Set<ObjectId> pending = new HashSet<>();
+        for (String tip : commitIndex.getTips()) {
+            ObjectId tipId = ObjectId.fromString(tip);
+            if (!repository.getObjectDatabase().has(tipId)) {
+                return false;  // Garbage collected after a rewrite
+            }
+            pending.add(tipId);
+        }
+        heads.forEach(pending::remove);  // Refs that didn't move
+        if (pending.isEmpty()) {
+            return true;
+        }
+
+        try (RevWalk walk = new RevWalk(repository)) {
+            walk.setRetainBody(false);
+            for (RevCommit head : heads) {
+                walk.markStart(walk.parseCommit(head));
+            }
+            for (RevCommit commit : walk) {
+                if (pending.remove(commit) && pending.isEmpty()) {
+                    return true;
+                }
+            }
+        }
+        return pending.isEmpty();
+    }
+
+    /**
+     * A commit from the commit index, if it was indexed with the current
+     * path filter (null otherwise)
+     */
+    private CommitInfo getIndexedCommit(String hash) {
+        if (commitIndex == null || !pathFilter.toString().equals(commitIndex.getScope())) {
+            return null;
+        }
+        CommitInfo cached = commitIndex.get(hash);
+        if (cached != null) {
+            attachLineCounter(cached);
+        }
+        return cached;
+    }
+
+    /**
+     * Merge two newest-first lists into one newest-first list
+     * (the same order git log uses). On equal dates, newer list wins.
+     */
+    private List<CommitInfo> mergeByCommitDate(List<CommitInfo> newer, List<CommitInfo> older) {
+        List<CommitInfo> merged = new ArrayList<>(newer.size() + older.size());
+        int i = 0;
+        int j = 0;
+
+        while (i < newer.size() && j < older.size()) {
+            if (compareCommitDate(newer.get(i), older.get(j)) >= 0) {
+                merged.add(newer.get(i++));
+            } else {
+                merged.add(older.get(j++));
+            }
+        }
+        merged.addAll(newer.subList(i, newer.size()));
+        merged.addAll(older.subList(j, older.size()));
+
+        return merged;
+    }
+
+    private int compareCommitDate(CommitInfo a, CommitInfo b) {
+        if (a.getCommitDate() == null || b.getCommitDate() == null) {
+            return a.getCommitDate() == null ? (b.getCommitDate() == null ? 0 : -1) : 1;
+        }
+        return a.getCommitDate().compareTo(b.getCommitDate());
+    }
+
+    // ==================== PATH INDEX ====================
+
+    /**
+     * Get the path → commits index built by the last getCommitHistory() call
+     */
+    public CommitPathIndex getPathIndex() {
+        return pathIndex;
+    }
+
+    /**
+     * Get the commits (from the last getCommitHistory() call) that changed a
+     * file, following renames. This is a map lookup, not a scan.
+     *
+     * @param file Path of a file in the working tree (absolute or relative to the current directory)
+     * @return Commits newest first, or an empty list if unknown
+     */
+    public List<CommitInfo> getCommitsForFile(Path file) {
+        String repoPath = toRepositoryPath(file);
+        return repoPath != null ? pathIndex.getCommits(repoPath) : List.of();
+    }
+
+    /**
+     * Convert a working tree file path to the repository-relative form Git
+     * uses ("src/main/java/User.java").
+     *
+     * @return The relative path, or null if the file is outside the working tree
+     */
+    public String toRepositoryPath(Path file) {
+        if (workTree == null) {
+            return null;
+        }
+        Path absolute = file.toAbsolutePath().normalize();
+        if (!absolute.startsWith(workTree)) {
+            return null;
+        }
+        return CommitPathIndex.normalize(workTree.relativize(absolute).toString());
+    }
+
     /**
      * Get commits that affected a specific file.
      *
@@ -203,19 +600,23 @@ public class GitAnalyzerService {
                     .addPath(filePath)
                     .call();
 
-            int count = 0;
-            for (RevCommit revCommit : log) {
-                if (maxCommits > 0 && count >= maxCommits) {
-                    break;
-                }
+            try (CommitDiffPool diffs = newDiffPool()) {
+                int count = 0;
+                for (RevCommit revCommit : log) {
+                    if (maxCommits > 0 && count >= maxCommits) {
+                        break;
+                    }
 
-                CommitInfo commitInfo = extractCommitInfo(revCommit);
-                commits.add(commitInfo);
-                count++;
+                    CommitInfo commitInfo = extractCommitInfo(revCommit);
+                    diffs.submit(revCommit, commitInfo);
+                    commits.add(commitInfo);
+                    count++;
+                }
+                diffs.awaitAll();
             }
 
         } catch (GitAPIException | IOException e) {
-            System.err.println("Error getting file history: " + e.getMessage());
+            progress.warning(Stage.GIT, "Error getting file history: " + e.getMessage());
         }
 
         return commits;
@@ -224,27 +625,170 @@ public class GitAnalyzerService {
     /**
      * Get commits by a specific author.
      *
+     * The author check runs inside the history walk, so other people's
+     * commits are never diffed, and the walk stops after maxCommits matches.
+     *
      * @param authorName Author name or email to search for
      * @param maxCommits Maximum commits to retrieve
      * @return List of commits by this author
      */
     public List<CommitInfo> getCommitsByAuthor(String authorName, int maxCommits) {
-        List<CommitInfo> allCommits = getCommitHistory(0);
-
-        return allCommits.stream()
-                .filter(c ->
-                        (c.getAuthorName() != null && c.getAuthorName().contains(authorName)) ||
-                                (c.getAuthorEmail() != null && c.getAuthorEmail().contains(authorName))
-                )
-                .limit(maxCommits > 0 ? maxCommits : Long.MAX_VALUE)
-                .collect(Collectors.toList());
+        return collect(HistoryQuery.builder()
+                .author(authorName)
+                .limit(maxCommits)
+                .build());
+    }
+
+    /**
+     * Get the commits committed in a time window (both ends included).
+     *
+     * The walk stops at the first commit older than "since", so a recent
+     * window costs about as much as the commits in it.
+     *
+     * @param since Earliest commit time (null = no lower bound)
+     * @param until Latest commit time (null = no upper bound)
+     * @param maxCommits Maximum commits to retrieve (0 = all)
+     */
+    public List<CommitInfo> getCommitsBetween(LocalDateTime since, LocalDateTime until, int maxCommits) {
+        return collect(HistoryQuery.builder()
+                .since(since)
+                .until(until)
+                .limit(maxCommits)
+                .build());
+    }
+
+    /**
+     * Run a query and collect the results (warning and empty list on failure)
+     */
+    private List<CommitInfo> collect(HistoryQuery query) {
+        try (Stream<CommitInfo> commits = queryHistory(query)) {
+            return commits.collect(Collectors.toList());
+        } catch (UncheckedIOException | RevWalkException e) {
+            progress.warning(Stage.GIT, "Error querying history: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    // ==================== HISTORY QUERIES ====================
+
+    /**
+     * Stream the commits that match a query, newest first (git log order).
+     *
+     * The query's conditions are JGit filters on the walk (see HistoryQuery),
+     * so commits that don't match are never diffed. The stream is LAZY: a
+     * commit is read and diffed only when the stream asks for it, and the
+     * walk stops at the query's limit (or a limit()/findFirst() of your own).
+     *
+     * The stream holds an open walk - close it (try-with-resources).
+     * Errors while walking come out as UncheckedIOException / RevWalkException.
+     *
+     * Commits already in the commit index are taken from there, not diffed.
+     *
+     * @param query Which commits to return
+     * @return The matching commits (empty if not connected)
+     */
+    public Stream<CommitInfo> queryHistory(HistoryQuery query) {
+        if (!isConnected) {
+            progress.warning(Stage.GIT, "Not connected to repository");
+            return Stream.empty();
+        }
+
+        RevWalk walk = new RevWalk(repository);
+        GitHistoryWalk session = new GitHistoryWalk(repository, changeDetail, pathFilter);
+        try {
+            startHistoryWalk(walk, query.toTreeFilter());
+            walk.setRevFilter(query.toRevFilter());
+        } catch (IOException e) {
+            session.close();
+            walk.close();
+            progress.warning(Stage.GIT, "Error starting history query: " + e.getMessage());
+            return Stream.empty();
+        }
+
+        Timer diffLatency = metrics.timer("git.diff.latency");
+        Stream<CommitInfo> commits = StreamSupport.stream(walk.spliterator(), false)
+                .map(revCommit -> toCommitInfo(revCommit, session, diffLatency))
+                .onClose(() -> {
+                    session.close();
+                    walk.close();
+                });
+
+        return query.getLimit() > 0 ? commits.limit(query.getLimit()) : commits;
+    }
+
+    /**
+     * A commit with its file changes - from the commit index, or diffed now
+     */
+    private CommitInfo toCommitInfo(RevCommit revCommit, GitHistoryWalk session, Timer diffLatency) {
+        CommitInfo cached = getIndexedCommit(revCommit.getName());
+        if (cached != null) {
+            return cached;
+        }
+
+        CommitInfo info = extractCommitInfo(revCommit);
+        long start = System.nanoTime();
+        try {
+            info.setFileChanges(session.getFileChanges(revCommit));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            diffLatency.recordSince(start);
+        }
+        return info;
+    }
+
+    /**
+     * One reader/walk/formatter session per diff thread, for one history walk
+     */
+    private CommitDiffPool newDiffPool() {
+        return new CommitDiffPool(repository, diffThreads, changeDetail, pathFilter,
+                metrics.timer("git.diff.latency"));
+    }
+
+    /**
+     * Let changes without line counts count them on first use
+     */
+    private void attachLineCounter(CommitInfo commit) {
+        for (FileChangeInfo change : commit.getFileChanges()) {
+            if (!change.hasLineStats() && change.getLineCounter() == null) {
+                change.setLineCounter(lineCounter);
+            }
+        }
+    }
+
+    // ==================== LINE COUNTS ====================
+
+    /**
+     * Count the lines of every change in these commits that isn't counted yet.
+     *
+     * Reading getLinesAdded() would do the same one change at a time; this
+     * does it with one ObjectReader for the whole list. Changes that already
+     * have their counts are skipped, so calling it twice costs nothing.
+     */
+    public void loadLineStats(List<CommitInfo> commits) {
+        if (!isConnected) {
+            return;
+        }
+        try (ObjectReader reader = repository.newObjectReader()) {
+            for (CommitInfo commit : commits) {
+                // Commits loaded from elsewhere (e.g. a snapshot) have no counter yet
+                attachLineCounter(commit);
+                for (FileChangeInfo change : commit.getFileChanges()) {
+                    if (!change.hasLineStats() && change.getLineCounter() != null) {
+                        lineCounter.countLines(reader, change);
+                    }
+                }
+            }
+        }
     }
 
     /**
      * Extract CommitInfo from a JGit RevCommit object.
      * This is where we convert JGit's format to our model.
+     *
+     * File changes are not filled in here - they come from a CommitDiffPool.
      */
-    private CommitInfo extractCommitInfo(RevCommit revCommit) throws IOException {
+    private CommitInfo extractCommitInfo(RevCommit revCommit) {
         CommitInfo info = new CommitInfo();
 
         // ===== Basic commit info =====
@@ -272,117 +816,9 @@ public class GitAnalyzerService {
             info.addParentHash(parent.getName());
         }
 
-        // ===== File changes =====
-        List<FileChangeInfo> fileChanges = getFileChanges(revCommit);
-        info.setFileChanges(fileChanges);
-
         return info;
     }
 
-    /**
-     * Get the list of file changes in a commit.
-     *
-     * This compares the commit to its parent to see what changed.
-     * For the first commit (no parent), compares to empty tree.
-     */
-    private List<FileChangeInfo> getFileChanges(RevCommit commit) throws IOException {
-        List<FileChangeInfo> changes = new ArrayList<>();
-
-        try (ObjectReader reader = repository.newObjectReader();
-             DiffFormatter diffFormatter = new DiffFormatter(DisabledOutputStream.INSTANCE)) {
-
-            diffFormatter.setRepository(repository);
-            diffFormatter.setDetectRenames(true);  // Detect file renames
-
-            // Get the tree iterator for this commit
-            AbstractTreeIterator newTreeIter = prepareTreeParser(commit);
-
-            // Get the tree iterator for parent (or empty tree if first commit)
-            AbstractTreeIterator oldTreeIter;
-            if (commit.getParentCount() > 0) {
-                RevCommit parent = commit.getParent(0);
-                // Need to parse the parent to access its tree
-                try (RevWalk revWalk = new RevWalk(repository)) {
-                    parent = revWalk.parseCommit(parent.getId());
-                }
-                oldTreeIter = prepareTreeParser(parent);
-            } else {
-                // First commit - compare to empty tree
-                oldTreeIter = new EmptyTreeIterator();
-            }
-
-            // Get the diff entries (list of changed files)
-            List<DiffEntry> diffs = diffFormatter.scan(oldTreeIter, newTreeIter);
-
-            for (DiffEntry diff : diffs) {
-                FileChangeInfo change = new FileChangeInfo();
-
-                // Set path based on change type
-                switch (diff.getChangeType()) {
-                    case ADD:
-                        change.setPath(diff.getNewPath());
-                        change.setChangeType(ChangeType.ADD);
-                        break;
-                    case DELETE:
-                        change.setPath(diff.getOldPath());
-                        change.setChangeType(ChangeType.DELETE);
-                        break;
-                    case MODIFY:
-                        change.setPath(diff.getNewPath());
-                        change.setChangeType(ChangeType.MODIFY);
-                        break;
-                    case RENAME:
-                        change.setPath(diff.getNewPath());
-                        change.setOldPath(diff.getOldPath());
-                        change.setChangeType(ChangeType.RENAME);
-                        break;
-                    case COPY:
-                        change.setPath(diff.getNewPath());
-                        change.setOldPath(diff.getOldPath());
-                        change.setChangeType(ChangeType.COPY);
-                        break;
-                }
-
-                // Get line counts (added/deleted)
-                try {
-                    EditList editList = diffFormatter.toFileHeader(diff).toEditList();
-                    int linesAdded = 0;
-                    int linesDeleted = 0;
-
-                    for (Edit edit : editList) {
-                        linesAdded += edit.getEndB() - edit.getBeginB();
-                        linesDeleted += edit.getEndA() - edit.getBeginA();
-                    }
-
-                    change.setLinesAdded(linesAdded);
-                    change.setLinesDeleted(linesDeleted);
-                } catch (Exception e) {
-                    // Line count calculation failed, leave at 0
-                }
-
-                changes.add(change);
-            }
-        }
-
-        return changes;
-    }
-
-    /**
-     * Prepare a tree parser for a commit (needed for diff comparison)
-     */
-    private AbstractTreeIterator prepareTreeParser(RevCommit commit) throws IOException {
-        try (RevWalk walk = new RevWalk(repository)) {
-            RevTree tree = walk.parseTree(commit.getTree().getId());
-
-            CanonicalTreeParser treeParser = new CanonicalTreeParser();
-            try (ObjectReader reader = repository.newObjectReader()) {
-                treeParser.reset(reader, tree.getId());
-            }
-
-            return treeParser;
-        }
-    }
-
     /**
      * Convert java.util.Date to LocalDateTime
      */
@@ -410,7 +846,7 @@ public class GitAnalyzerService {
     }
 
     /**
-     * Get statistics about file changes
+     * Get statistics about file changes (paths only - no line counts needed)
      */
     public Map<String, Integer> getFileChangeCounts(List<CommitInfo> commits) {
         Map<String, Integer> counts = new HashMap<>();
@@ -475,7 +911,8 @@ public class GitAnalyzerService {
                         .append(": ").append(e.getValue()).append(" changes\n")
         );
 
-        // Total changes
+        // Total changes (counts every change's lines that aren't known yet)
+        loadLineStats(commits);
         int totalAdded = commits.stream().mapToInt(CommitInfo::getTotalLinesAdded).sum();
         int totalDeleted = commits.stream().mapToInt(CommitInfo::getTotalLinesDeleted).sum();
         sb.append("\nTotal lines: +").append(totalAdded).append(" / -").append(totalDeleted).append("\n");
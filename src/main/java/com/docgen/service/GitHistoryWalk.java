@@ -0,0 +1,243 @@
+package com.docgen.service;
+
+import com.docgen.config.ChangeDetail;
+import com.docgen.model.FileChangeInfo;
+import com.docgen.model.FileChangeInfo.ChangeType;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffFormatter;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.AbstractTreeIterator;
+import org.eclipse.jgit.treewalk.CanonicalTreeParser;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.eclipse.jgit.util.io.DisabledOutputStream;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GitHistoryWalk - One session for diffing many commits in a row.
+ *
+ * Diffing a commit needs an ObjectReader (reads objects from .git), a
+ * RevWalk (parses the parent commit) and a DiffFormatter (compares trees).
+ * Creating them per commit throws away JGit's caches every time, so this
+ * class creates them ONCE and reuses them for the whole history walk:
+ *
+ *   try (GitHistoryWalk walk = new GitHistoryWalk(repository)) {
+ *       for (RevCommit commit : log) {
+ *           List<FileChangeInfo> changes = walk.getFileChanges(commit);
+ *       }
+ *   }
+ *
+ * It also remembers the last root trees it loaded. In a linear history
+ * the parent we diffed against is the next commit we see, so its tree is
+ * reused instead of being loaded again.
+ *
+ * With ChangeDetail.PATHS only the trees are compared. Every change keeps
+ * its blob ids and a BlobLineCounter, so its line counts are worked out
+ * the first time someone reads them (and never for changes nobody asks about).
+ *
+ * A path filter (see HistoryPathFilter) limits the tree diff itself:
+ * paths it rejects are never compared, so they never show up as changes.
+ *
+ * NOT thread-safe - use one session per thread.
+ */
+public class GitHistoryWalk implements AutoCloseable {
+
+    private final ObjectReader reader;
+    private final RevWalk revWalk;
+    private final DiffFormatter diffFormatter;
+    private final ChangeDetail changeDetail;
+    private final BlobLineCounter lineCounter;
+
+    // Reused tree iterators (reset for every diff)
+    private final CanonicalTreeParser oldTreeParser = new CanonicalTreeParser();
+    private final CanonicalTreeParser newTreeParser = new CanonicalTreeParser();
+
+    // The two most recently loaded root trees (raw tree object bytes)
+    private ObjectId recentTreeId1;
+    private byte[] recentTreeData1;
+    private ObjectId recentTreeId2;
+    private byte[] recentTreeData2;
+
+    /**
+     * Open a session on a repository that counts lines for every change
+     *
+     * @param repository The repository to read from (stays open after close())
+     */
+    public GitHistoryWalk(Repository repository) {
+        this(repository, ChangeDetail.LINE_STATS);
+    }
+
+    /**
+     * Open a session on a repository
+     *
+     * @param repository The repository to read from (stays open after close())
+     * @param changeDetail LINE_STATS = count lines now, PATHS = when first asked for
+     */
+    public GitHistoryWalk(Repository repository, ChangeDetail changeDetail) {
+        this(repository, changeDetail, TreeFilter.ALL);
+    }
+
+    /**
+     * Open a session that only diffs the paths a filter accepts
+     *
+     * @param repository The repository to read from (stays open after close())
+     * @param changeDetail LINE_STATS = count lines now, PATHS = when first asked for
+     * @param pathFilter Which paths to diff (TreeFilter.ALL = every path)
+     */
+    public GitHistoryWalk(Repository repository, ChangeDetail changeDetail, TreeFilter pathFilter) {
+        this.changeDetail = changeDetail;
+        this.lineCounter = new BlobLineCounter(repository);
+        this.reader = repository.newObjectReader();
+        this.revWalk = new RevWalk(reader);
+
+        this.diffFormatter = new DiffFormatter(DisabledOutputStream.INSTANCE);
+        diffFormatter.setReader(reader, repository.getConfig());
+        diffFormatter.setDetectRenames(true);  // Detect file renames
+        diffFormatter.setPathFilter(pathFilter.clone());  // Own copy - filters may keep walk state
+    }
+
+    /**
+     * Get the list of file changes in a commit.
+     *
+     * This compares the commit to its parent to see what changed.
+     * For the first commit (no parent), compares to empty tree.
+     */
+    public List<FileChangeInfo> getFileChanges(RevCommit commit) throws IOException {
+        List<FileChangeInfo> changes = new ArrayList<>();
+
+        // Make sure the commit itself is parsed (it may come from another RevWalk)
+        RevCommit parsed = commit.getTree() != null ? commit : revWalk.parseCommit(commit);
+
+        // Get the tree iterator for this commit
+        AbstractTreeIterator newTreeIter = resetParser(newTreeParser, parsed.getTree());
+
+        // Get the tree iterator for parent (or empty tree if first commit)
+        AbstractTreeIterator oldTreeIter;
+        if (parsed.getParentCount() > 0) {
+            // Parsing through our own RevWalk is cached across commits
+            RevCommit parent = revWalk.parseCommit(parsed.getParent(0));
+            oldTreeIter = resetParser(oldTreeParser, parent.getTree());
+        } else {
+            // First commit - compare to empty tree
+            oldTreeIter = new EmptyTreeIterator();
+        }
+
+        // Get the diff entries (list of changed files)
+        List<DiffEntry> diffs = diffFormatter.scan(oldTreeIter, newTreeIter);
+
+        for (DiffEntry diff : diffs) {
+            FileChangeInfo change = toFileChange(diff);
+            addLineStats(diff, change);
+            changes.add(change);
+        }
+
+        return changes;
+    }
+
+    /**
+     * Convert a JGit DiffEntry to our FileChangeInfo
+     */
+    private FileChangeInfo toFileChange(DiffEntry diff) {
+        FileChangeInfo change = new FileChangeInfo();
+
+        // Set path based on change type
+        switch (diff.getChangeType()) {
+            case ADD:
+                change.setPath(diff.getNewPath());
+                change.setChangeType(ChangeType.ADD);
+                break;
+            case DELETE:
+                change.setPath(diff.getOldPath());
+                change.setChangeType(ChangeType.DELETE);
+                break;
+            case MODIFY:
+                change.setPath(diff.getNewPath());
+                change.setChangeType(ChangeType.MODIFY);
+                break;
+            case RENAME:
+                change.setPath(diff.getNewPath());
+                change.setOldPath(diff.getOldPath());
+                change.setChangeType(ChangeType.RENAME);
+                break;
+            case COPY:
+                change.setPath(diff.getNewPath());
+                change.setOldPath(diff.getOldPath());
+                change.setChangeType(ChangeType.COPY);
+                break;
+        }
+
+        return change;
+    }
+
+    /**
+     * Get line counts (added/deleted) - now, or leave them to the first read
+     */
+    private void addLineStats(DiffEntry diff, FileChangeInfo change) {
+        FileMode oldMode = diff.getOldMode();
+        FileMode newMode = diff.getNewMode();
+
+        if (oldMode == FileMode.GITLINK || newMode == FileMode.GITLINK) {
+            // A submodule is one "Subproject commit <id>" line per side (like git diff shows)
+            change.setLineStats(newMode == FileMode.GITLINK ? 1 : 0, oldMode == FileMode.GITLINK ? 1 : 0);
+            return;
+        }
+
+        change.setOldBlobId(blobId(oldMode, diff.getOldId().toObjectId()));
+        change.setNewBlobId(blobId(newMode, diff.getNewId().toObjectId()));
+
+        if (changeDetail == ChangeDetail.LINE_STATS) {
+            lineCounter.countLines(reader, change);
+        } else {
+            change.setLineCounter(lineCounter);
+        }
+    }
+
+    /**
+     * The id of one side of a change, or null if that side has no content
+     */
+    private static String blobId(FileMode mode, ObjectId id) {
+        return mode.getObjectType() == Constants.OBJ_BLOB ? id.name() : null;
+    }
+
+    /**
+     * Point a tree parser at a root tree, reusing recently loaded tree data
+     */
+    private AbstractTreeIterator resetParser(CanonicalTreeParser parser, ObjectId treeId)
+            throws IOException {
+        byte[] data;
+
+        if (treeId.equals(recentTreeId1)) {
+            data = recentTreeData1;
+        } else if (treeId.equals(recentTreeId2)) {
+            data = recentTreeData2;
+        } else {
+            data = reader.open(treeId, Constants.OBJ_TREE).getCachedBytes();
+            recentTreeId2 = recentTreeId1;
+            recentTreeData2 = recentTreeData1;
+            recentTreeId1 = treeId.copy();
+            recentTreeData1 = data;
+        }
+
+        parser.reset(data);
+        return parser;
+    }
+
+    /**
+     * Release the reader, walk and formatter
+     */
+    @Override
+    public void close() {
+        diffFormatter.close();
+        revWalk.close();
+        reader.close();
+    }
+}
@@ -0,0 +1,208 @@
+package com.docgen.service;
+
+import com.docgen.config.DiscoveryMode;
+import com.docgen.config.DocGeneratorConfig;
+import com.docgen.model.JavaFileInfo;
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilter;
+import org.eclipse.jgit.treewalk.filter.PathSuffixFilter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.function.Consumer;
+
+/**
+ * GitSourceDiscovery - Finds .java files through Git instead of the file system.
+ *
+ * Two modes (see DiscoveryMode):
+ *
+ * GIT_INDEX    - read the list of tracked files from .git/index (JGit's
+ *                DirCache). One file read instead of a stat() per entry in
+ *                the tree, and ignored / untracked files are never listed.
+ *
+ * GIT_REVISION - walk the tree of a commit and load every .java blob from
+ *                the object database. The files come back already read
+ *                (content, size, package), so nothing touches the working
+ *                tree - any revision can be documented without a checkout.
+ *
+ * The usual settings still apply: exclude patterns, recursive and maxDepth
+ * (relative to the project path, which may be a subfolder of the repository).
+ */
+public class GitSourceDiscovery {
+
+    private final DocGeneratorConfig config;
+    private final FileReaderService readerService;
+
+    public GitSourceDiscovery(DocGeneratorConfig config) {
+        this.config = config;
+        this.readerService = new FileReaderService();
+    }
+
+    /**
+     * Check if the project path is inside a Git repository
+     */
+    public static boolean isGitRepository(Path projectPath) {
+        return new FileRepositoryBuilder()
+                .findGitDir(projectPath.toAbsolutePath().toFile())
+                .getGitDir() != null;
+    }
+
+    /**
+     * Discover Java files and hand each one to a consumer as it is found
+     *
+     * @param sink Receives each discovered file
+     * @return Number of files discovered
+     * @throws IOException if the repository or revision cannot be read
+     */
+    public int discover(Consumer<JavaFileInfo> sink) throws IOException {
+        Path projectPath = config.getProjectPath().toAbsolutePath().normalize();
+
+        try (Repository repository = new FileRepositoryBuilder()
+                .readEnvironment()
+                .findGitDir(projectPath.toFile())
+                .build()) {
+
+            // Bare repositories have no work tree; paths are then relative to the project path
+            Path workTree = repository.isBare()
+                    ? projectPath
+                    : repository.getWorkTree().toPath().toAbsolutePath().normalize();
+
+            String prefix = projectPath.startsWith(workTree)
+                    ? workTree.relativize(projectPath).toString().replace('\\', '/')
+                    : "";
+
+            if (config.getDiscoveryMode() == DiscoveryMode.GIT_REVISION) {
+                return discoverAtRevision(repository, workTree, prefix, sink);
+            }
+            if (repository.isBare()) {
+                throw new IOException("Repository has no index (bare): " + repository.getDirectory());
+            }
+            return discoverFromIndex(repository, workTree, prefix, sink);
+        }
+    }
+
+    /**
+     * GIT_INDEX: list tracked .java files from the index
+     */
+    private int discoverFromIndex(Repository repository, Path workTree, String prefix,
+                                  Consumer<JavaFileInfo> sink) throws IOException {
+        DirCache index = repository.readDirCache();
+        int count = 0;
+        String previous = null;
+
+        for (int i = 0; i < index.getEntryCount(); i++) {
+            DirCacheEntry entry = index.getEntry(i);
+            String path = entry.getPathString();
+
+            // A conflicted file has one entry per merge stage - list it once
+            if (path.equals(previous)) {
+                continue;
+            }
+            previous = path;
+
+            if (isSourceFile(path, entry.getFileMode(), prefix)) {
+                sink.accept(new JavaFileInfo(workTree.resolve(path)));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * GIT_REVISION: list .java files of a commit and load their blobs
+     */
+    private int discoverAtRevision(Repository repository, Path workTree, String prefix,
+                                   Consumer<JavaFileInfo> sink) throws IOException {
+        String revision = config.getSourceRevision();
+        ObjectId commitId = repository.resolve(revision + "^{commit}");
+        if (commitId == null) {
+            throw new IOException("Unknown revision: " + revision);
+        }
+
+        try (ObjectReader reader = repository.newObjectReader();
+             RevWalk revWalk = new RevWalk(reader);
+             TreeWalk treeWalk = new TreeWalk(repository, reader)) {
+
+            RevCommit commit = revWalk.parseCommit(commitId);
+            LocalDateTime commitTime = LocalDateTime.ofInstant(
+                    Instant.ofEpochSecond(commit.getCommitTime()), ZoneId.systemDefault());
+
+            treeWalk.addTree(commit.getTree());
+            treeWalk.setRecursive(true);
+            treeWalk.setFilter(prefix.isEmpty()
+                    ? PathSuffixFilter.create(".java")
+                    : AndTreeFilter.create(PathFilter.create(prefix), PathSuffixFilter.create(".java")));
+
+            int count = 0;
+            while (treeWalk.next()) {
+                String path = treeWalk.getPathString();
+                if (!isSourceFile(path, treeWalk.getFileMode(0), prefix)) {
+                    continue;
+                }
+
+                byte[] bytes = reader.open(treeWalk.getObjectId(0), Constants.OBJ_BLOB).getBytes();
+
+                JavaFileInfo fileInfo = new JavaFileInfo(workTree.resolve(path))
+                        .setFileSize(bytes.length)
+                        .setLastModified(commitTime)
+                        .setSourceRevision(commit.getName());
+                readerService.readContent(fileInfo, bytes);
+
+                sink.accept(fileInfo);
+                count++;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Apply the usual discovery rules to a repository path
+     */
+    private boolean isSourceFile(String path, FileMode mode, String prefix) {
+        // Regular files only (no symlinks, no submodules)
+        if (mode != FileMode.REGULAR_FILE && mode != FileMode.EXECUTABLE_FILE) {
+            return false;
+        }
+        if (!path.endsWith(".java")) {
+            return false;
+        }
+
+        // Must be inside the project folder
+        if (!prefix.isEmpty()
+                && !(path.startsWith(prefix) && path.length() > prefix.length()
+                && path.charAt(prefix.length()) == '/')) {
+            return false;
+        }
+
+        // Depth relative to the project folder, counted like Files.walk
+        String relative = prefix.isEmpty() ? path : path.substring(prefix.length() + 1);
+        int depth = 1;
+        for (int i = 0; i < relative.length(); i++) {
+            if (relative.charAt(i) == '/') {
+                depth++;
+            }
+        }
+        int maxDepth = config.isRecursive() ? config.getMaxDepth() : 1;
+        if (depth > maxDepth) {
+            return false;
+        }
+
+        // Exclude patterns are relative to the project folder
+        return !config.shouldExclude(Paths.get(relative));
+    }
+}
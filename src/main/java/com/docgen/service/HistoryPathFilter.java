@@ -0,0 +1,170 @@
+package com.docgen.service;
+
+import com.docgen.config.DocGeneratorConfig;
+import com.docgen.config.ExclusionRules;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HistoryPathFilter - Builds the TreeFilter that limits which files the Git history looks at.
+ *
+ * A doc generator for Java only needs the .java files, but a plain diff
+ * compares every path in the tree - images, generated JS, lock files...
+ * Handing a TreeFilter to JGit stops that at the tree-walk level:
+ *
+ *   DiffFormatter.setPathFilter()  →  other paths are never compared or diffed
+ *   RevWalk.setTreeFilter()        →  commits that only touch other paths
+ *                                     are skipped by the walk
+ *
+ * The filter is made of (all optional, all must match):
+ *
+ *   suffixes       ".java"                  file name ends with any of them
+ *   path prefixes  "src/main"               PathFilterGroup (any of them)
+ *   exclude rules  "test", "*Test.java"     the same gitignore-style rules
+ *                                           as DocGeneratorConfig's excludes,
+ *                                           matched against repository paths;
+ *                                           excluded folders are not entered
+ *
+ * toString() spells out every rule - the commit index uses it to notice
+ * that it was built with another filter.
+ *
+ * USAGE:
+ *   gitService.setPathFilter(HistoryPathFilter.fromConfig(config));
+ */
+public final class HistoryPathFilter {
+
+    private HistoryPathFilter() {
+    }
+
+    /**
+     * The filter described by the history settings of a config
+     *
+     * @return The filter, or TreeFilter.ALL if the config sets no history limits
+     */
+    public static TreeFilter fromConfig(DocGeneratorConfig config) {
+        return create(config.getHistorySuffixes(), config.getHistoryPathPrefixes(),
+                config.isHistoryUsesExcludes() ? config.getExcludePatterns() : List.of());
+    }
+
+    /**
+     * Build a filter (empty lists = no limit of that kind)
+     *
+     * @param suffixes Keep files ending in any of these (e.g. ".java")
+     * @param pathPrefixes Keep files at or under any of these repository paths
+     * @param excludePatterns Drop files matching these (see ExclusionRules)
+     * @return The filter, or TreeFilter.ALL if all lists are empty
+     */
+    public static TreeFilter create(List<String> suffixes, List<String> pathPrefixes,
+                                    List<String> excludePatterns) {
+        List<TreeFilter> parts = new ArrayList<>();
+
+        // Prefixes first: PathFilterGroup skips whole subtrees outside them
+        if (!pathPrefixes.isEmpty()) {
+            List<String> normalized = new ArrayList<>();
+            for (String prefix : pathPrefixes) {
+                normalized.add(CommitPathIndex.normalize(prefix));
+            }
+            parts.add(PathFilterGroup.createFromStrings(normalized));
+        }
+
+        if (!excludePatterns.isEmpty()) {
+            parts.add(new ExcludeFilter(excludePatterns));
+        }
+
+        if (!suffixes.isEmpty()) {
+            parts.add(new SuffixFilter(suffixes));
+        }
+
+        if (parts.isEmpty()) {
+            return TreeFilter.ALL;
+        }
+        return parts.size() == 1 ? parts.get(0) : AndTreeFilter.create(parts);
+    }
+
+    /**
+     * Keeps files whose path ends with any of the suffixes (and enters every folder)
+     */
+    private static final class SuffixFilter extends TreeFilter {
+
+        private final List<String> suffixes;
+        private final byte[][] rawSuffixes;
+
+        SuffixFilter(List<String> suffixes) {
+            this.suffixes = new ArrayList<>(suffixes);
+            this.rawSuffixes = new byte[suffixes.size()][];
+            for (int i = 0; i < rawSuffixes.length; i++) {
+                rawSuffixes[i] = suffixes.get(i).getBytes(StandardCharsets.UTF_8);
+            }
+        }
+
+        @Override
+        public boolean include(TreeWalk walker) {
+            if (walker.isSubtree()) {
+                return true;  // Files with the suffix may be inside
+            }
+            // Compares the raw path bytes in place - no String per entry
+            for (byte[] suffix : rawSuffixes) {
+                if (walker.isPathSuffix(suffix, suffix.length)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean shouldBeRecursive() {
+            return true;
+        }
+
+        @Override
+        public TreeFilter clone() {
+            return this;  // Nothing changes
+        }
+
+        @Override
+        public String toString() {
+            return "SUFFIX(" + String.join(", ", suffixes) + ")";
+        }
+    }
+
+    /**
+     * Drops paths that the exclude rules match (and doesn't enter excluded folders)
+     */
+    private static final class ExcludeFilter extends TreeFilter {
+
+        private final List<String> patterns;
+        private final ExclusionRules rules;
+
+        ExcludeFilter(List<String> patterns) {
+            this.patterns = new ArrayList<>(patterns);
+            // No root: Git paths are already relative to the repository
+            this.rules = ExclusionRules.compile(this.patterns, null);
+        }
+
+        @Override
+        public boolean include(TreeWalk walker) {
+            return !rules.isExcluded(walker.getPathString(), walker.isSubtree());
+        }
+
+        @Override
+        public boolean shouldBeRecursive() {
+            return false;
+        }
+
+        @Override
+        public TreeFilter clone() {
+            return this;  // ExclusionRules is thread-safe, nothing else changes
+        }
+
+        @Override
+        public String toString() {
+            return "EXCLUDE(" + String.join(", ", patterns) + ")";
+        }
+    }
+}
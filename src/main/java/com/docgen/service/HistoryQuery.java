@@ -0,0 +1,302 @@
+package com.docgen.service;
+
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.revwalk.filter.AndRevFilter;
+import org.eclipse.jgit.revwalk.filter.CommitTimeRevFilter;
+import org.eclipse.jgit.revwalk.filter.RevFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HistoryQuery - Which commits GitAnalyzerService.queryHistory() should return.
+ *
+ * Every condition is handed to JGit's RevWalk as a filter, so commits that
+ * don't match are skipped while walking - they are never turned into
+ * CommitInfo objects and never diffed:
+ *
+ *   author / committer   →  RevFilter (name or email contains the text)
+ *   since / until        →  CommitTimeRevFilter (the walk STOPS at the
+ *                           first commit older than "since")
+ *   merges               →  RevFilter.ONLY_MERGES / NO_MERGES
+ *   path prefixes        →  TreeFilter (only commits that touched them)
+ *
+ * USAGE:
+ *   HistoryQuery query = HistoryQuery.builder()
+ *       .author("alice")
+ *       .since(LocalDateTime.now().minusDays(30))
+ *       .pathPrefix("src/main/java/com/example")
+ *       .limit(20)
+ *       .build();
+ *
+ *   try (Stream<CommitInfo> commits = gitService.queryHistory(query)) {
+ *       commits.forEach(System.out::println);
+ *   }
+ *
+ * All conditions must match (AND). Text matches are case-sensitive, like
+ * String.contains(). Dates are in the system time zone, like CommitInfo's.
+ */
+public class HistoryQuery {
+
+    /**
+     * Which commits to keep by number of parents
+     */
+    public enum MergeFilter {
+        ANY,          // Every commit
+        MERGES_ONLY,  // Only commits with 2+ parents
+        NO_MERGES     // Only commits with 0 or 1 parent
+    }
+
+    // ==================== FIELDS ====================
+
+    private final String author;
+    private final String committer;
+    private final LocalDateTime since;
+    private final LocalDateTime until;
+    private final List<String> pathPrefixes;
+    private final MergeFilter mergeFilter;
+    private final int limit;
+
+    private HistoryQuery(Builder builder) {
+        this.author = builder.author;
+        this.committer = builder.committer;
+        this.since = builder.since;
+        this.until = builder.until;
+        this.pathPrefixes = new ArrayList<>(builder.pathPrefixes);
+        this.mergeFilter = builder.mergeFilter;
+        this.limit = builder.limit;
+    }
+
+    // ==================== GETTERS ====================
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public String getCommitter() {
+        return committer;
+    }
+
+    public LocalDateTime getSince() {
+        return since;
+    }
+
+    public LocalDateTime getUntil() {
+        return until;
+    }
+
+    public List<String> getPathPrefixes() {
+        return new ArrayList<>(pathPrefixes);
+    }
+
+    public MergeFilter getMergeFilter() {
+        return mergeFilter;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    // ==================== JGIT FILTERS ====================
+
+    /**
+     * All commit conditions as one RevFilter (RevFilter.ALL if there are none)
+     */
+    RevFilter toRevFilter() {
+        List<RevFilter> filters = new ArrayList<>();
+
+        // Cheapest first: AndRevFilter stops at the first filter that says no
+        if (mergeFilter == MergeFilter.MERGES_ONLY) {
+            filters.add(RevFilter.ONLY_MERGES);
+        } else if (mergeFilter == MergeFilter.NO_MERGES) {
+            filters.add(RevFilter.NO_MERGES);
+        }
+
+        if (since != null && until != null) {
+            filters.add(CommitTimeRevFilter.between(toInstant(since), toInstant(until)));
+        } else if (since != null) {
+            filters.add(CommitTimeRevFilter.after(toInstant(since)));
+        } else if (until != null) {
+            filters.add(CommitTimeRevFilter.before(toInstant(until)));
+        }
+
+        if (author != null) {
+            filters.add(new PersonFilter(author, true));
+        }
+        if (committer != null) {
+            filters.add(new PersonFilter(committer, false));
+        }
+
+        if (filters.isEmpty()) {
+            return RevFilter.ALL;
+        }
+        return filters.size() == 1 ? filters.get(0) : AndRevFilter.create(filters);
+    }
+
+    /**
+     * The path conditions as a TreeFilter (TreeFilter.ALL if there are none)
+     */
+    TreeFilter toTreeFilter() {
+        return pathPrefixes.isEmpty() ? TreeFilter.ALL : PathFilterGroup.createFromStrings(pathPrefixes);
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    /**
+     * Keeps commits whose author (or committer) name or email contains a text
+     */
+    private static final class PersonFilter extends RevFilter {
+
+        private final String text;
+        private final boolean author;
+
+        PersonFilter(String text, boolean author) {
+            this.text = text;
+            this.author = author;
+        }
+
+        @Override
+        public boolean include(RevWalk walker, RevCommit commit) {
+            PersonIdent person = author ? commit.getAuthorIdent() : commit.getCommitterIdent();
+            if (person == null) {
+                return false;
+            }
+            return (person.getName() != null && person.getName().contains(text))
+                    || (person.getEmailAddress() != null && person.getEmailAddress().contains(text));
+        }
+
+        @Override
+        public boolean requiresCommitBody() {
+            return true;  // The idents live in the commit body
+        }
+
+        @Override
+        public RevFilter clone() {
+            return this;  // Stateless
+        }
+
+        @Override
+        public String toString() {
+            return (author ? "AUTHOR(" : "COMMITTER(") + text + ")";
+        }
+    }
+
+    // ==================== BUILDER ====================
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private String author;                 // Default: any author
+        private String committer;              // Default: any committer
+        private LocalDateTime since;           // Default: no lower date bound
+        private LocalDateTime until;           // Default: no upper date bound
+        private final List<String> pathPrefixes = new ArrayList<>();  // Default: any path
+        private MergeFilter mergeFilter = MergeFilter.ANY;
+        private int limit = 0;                 // Default: no limit
+
+        /**
+         * Only commits whose author name or email contains this text
+         */
+        public Builder author(String author) {
+            this.author = author;
+            return this;
+        }
+
+        /**
+         * Only commits whose committer name or email contains this text
+         */
+        public Builder committer(String committer) {
+            this.committer = committer;
+            return this;
+        }
+
+        /**
+         * Only commits committed at or after this time
+         */
+        public Builder since(LocalDateTime since) {
+            this.since = since;
+            return this;
+        }
+
+        /**
+         * Only commits committed at or before this time
+         */
+        public Builder until(LocalDateTime until) {
+            this.until = until;
+            return this;
+        }
+
+        /**
+         * Only commits that changed a file at or under this path
+         * ("src/main/java" or "src/main/java/User.java"). Can be called
+         * several times - a commit matches if it touched ANY of the paths.
+         */
+        public Builder pathPrefix(String pathPrefix) {
+            this.pathPrefixes.add(pathPrefix);
+            return this;
+        }
+
+        /**
+         * Keep all commits, only merges, or no merges (default: ANY)
+         */
+        public Builder mergeFilter(MergeFilter mergeFilter) {
+            this.mergeFilter = mergeFilter;
+            return this;
+        }
+
+        /**
+         * Return at most this many commits (default: 0 = no limit)
+         */
+        public Builder limit(int limit) {
+            this.limit = limit;
+            return this;
+        }
+
+        /**
+         * Build the query
+         *
+         * @throws IllegalStateException if a setting is invalid
+         */
+        public HistoryQuery build() {
+            if (since != null && until != null && since.isAfter(until)) {
+                throw new IllegalStateException(
+                        "Date range is empty: since " + since + " is after until " + until
+                );
+            }
+
+            for (int i = 0; i < pathPrefixes.size(); i++) {
+                // Git paths: '/' separators, no leading or trailing slash
+                String prefix = pathPrefixes.get(i) == null ? "" : CommitPathIndex.normalize(pathPrefixes.get(i));
+                while (prefix.endsWith("/")) {
+                    prefix = prefix.substring(0, prefix.length() - 1);
+                }
+                if (prefix.isBlank()) {
+                    throw new IllegalStateException("Path prefixes cannot be empty");
+                }
+                pathPrefixes.set(i, prefix);
+            }
+
+            if (mergeFilter == null) {
+                throw new IllegalStateException("Merge filter is required (use MergeFilter.ANY)");
+            }
+
+            if (limit < 0) {
+                throw new IllegalStateException("Limit cannot be negative, got: " + limit);
+            }
+
+            return new HistoryQuery(this);
+        }
+    }
+}
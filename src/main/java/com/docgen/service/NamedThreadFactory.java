@@ -0,0 +1,27 @@
+package com.docgen.service;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * NamedThreadFactory - Creates daemon threads named "<prefix>-1", "<prefix>-2", ...
+ *
+ * Named threads make thread dumps readable; daemon threads never keep the
+ * JVM alive after main() returns.
+ */
+class NamedThreadFactory implements ThreadFactory {
+
+    private final String prefix;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    NamedThreadFactory(String prefix) {
+        this.prefix = prefix;
+    }
+
+    @Override
+    public Thread newThread(Runnable task) {
+        Thread thread = new Thread(task, prefix + "-" + counter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,150 @@
+package com.docgen.service;
+
+import com.docgen.config.DocGeneratorConfig;
+import com.docgen.progress.ProgressSink;
+import com.docgen.progress.Stage;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * ParallelFileWalker - Finds .java files using one fork/join task per directory.
+ *
+ * ╔══════════════════════════════════════════════════════════════════╗
+ * ║  project/                      task(project)                      ║
+ * ║   ├── src/          ──fork──▶  task(src)     ──fork──▶ ...        ║
+ * ║   ├── docs/         ──fork──▶  task(docs)                         ║
+ * ║   └── node_modules/ ✗ excluded: never opened, never listed        ║
+ * ╚══════════════════════════════════════════════════════════════════╝
+ *
+ * - Excluded directories are pruned BEFORE we descend into them, so a
+ *   huge node_modules or target folder costs one check, not a full walk.
+ * - Sibling directories are listed in parallel.
+ * - The result order is stable: entries are sorted by name inside each
+ *   directory and results are joined depth-first in that order, so the
+ *   same tree always gives the same list, however the threads ran.
+ */
+public class ParallelFileWalker {
+
+    private final DocGeneratorConfig config;
+
+    // Where "could not access" messages go (called from the worker threads)
+    private final ProgressSink progress;
+
+    public ParallelFileWalker(DocGeneratorConfig config) {
+        this(config, ProgressSink.console());
+    }
+
+    public ParallelFileWalker(DocGeneratorConfig config, ProgressSink progress) {
+        this.config = config;
+        this.progress = progress;
+    }
+
+    /**
+     * Find all non-excluded .java files under a directory
+     *
+     * @param root Directory to walk (depth 0)
+     * @return The files, in stable depth-first, name-sorted order
+     */
+    public List<Path> walk(Path root) {
+        ForkJoinPool pool = new ForkJoinPool(config.getParallelism());
+        try {
+            return pool.invoke(new DirectoryTask(root, 0));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Lists one directory, forks a task per subdirectory and joins the
+     * results back in directory order (never serialized - RecursiveTask
+     * is only Serializable by inheritance)
+     */
+    @SuppressWarnings("serial")
+    private class DirectoryTask extends RecursiveTask<List<Path>> {
+
+        private final Path directory;
+        private final int depth;
+
+        DirectoryTask(Path directory, int depth) {
+            this.directory = directory;
+            this.depth = depth;
+        }
+
+        @Override
+        protected List<Path> compute() {
+            List<Path> entries = listSorted(directory);
+
+            // Each entry becomes either a single file or a forked subdirectory task
+            List<Object> parts = new ArrayList<>(entries.size());
+
+            for (Path entry : entries) {
+                BasicFileAttributes attrs;
+                try {
+                    attrs = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                } catch (IOException e) {
+                    progress.itemFailed(Stage.DISCOVERY, entry.toString(), e.getMessage());
+                    continue;
+                }
+
+                if (attrs.isDirectory()) {
+                    // Same depth rule as Files.walk: a directory at maxDepth is not opened
+                    if (depth + 1 < config.getMaxDepth() && !config.shouldExclude(entry, true)) {
+                        DirectoryTask task = new DirectoryTask(entry, depth + 1);
+                        task.fork();
+                        parts.add(task);
+                    }
+                } else if (isJavaFile(entry, attrs) && !config.shouldExclude(entry)) {
+                    parts.add(entry);
+                }
+            }
+
+            List<Path> files = new ArrayList<>();
+            for (Object part : parts) {
+                if (part instanceof DirectoryTask) {
+                    files.addAll(((DirectoryTask) part).join());
+                } else {
+                    files.add((Path) part);
+                }
+            }
+            return files;
+        }
+    }
+
+    /**
+     * List a directory's entries sorted by name (empty if it can't be read)
+     */
+    private List<Path> listSorted(Path directory) {
+        List<Path> entries = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path entry : stream) {
+                entries.add(entry);
+            }
+        } catch (IOException e) {
+            progress.itemFailed(Stage.DISCOVERY, directory.toString(), e.getMessage());
+            return Collections.emptyList();
+        }
+        entries.sort(null);
+        return entries;
+    }
+
+    /**
+     * A regular .java file (a symlink counts if it points to a regular file,
+     * as with Files.isRegularFile)
+     */
+    private static boolean isJavaFile(Path path, BasicFileAttributes attrs) {
+        if (!path.toString().endsWith(".java")) {
+            return false;
+        }
+        return attrs.isRegularFile() || (attrs.isSymbolicLink() && Files.isRegularFile(path));
+    }
+}
@@ -0,0 +1,323 @@
+package com.docgen.service;
+
+import com.docgen.config.DocGeneratorConfig;
+import com.docgen.model.JavaFileInfo;
+import com.docgen.progress.ProgressSink;
+import com.docgen.progress.Stage;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProjectWatcher - Keeps the analyzed model up to date while files change.
+ *
+ * ╔══════════════════════════════════════════════════════════════════╗
+ * ║  editor saves ──▶ WatchService events ──▶ wait until quiet ──▶   ║
+ * ║  one batch: re-read + re-analyze changed files, drop deleted     ║
+ * ║  ones ──▶ listener gets the batch and the full, updated model    ║
+ * ╚══════════════════════════════════════════════════════════════════╝
+ *
+ * DEBOUNCING: editors often write a file several times per save (temp
+ * file, rename, touch). We wait until no event has arrived for the
+ * debounce interval, then handle everything collected so far as ONE batch,
+ * each file at most once.
+ *
+ * Only the files in a batch are read and parsed again - the rest of the
+ * model is left alone, so there is never a full rescan (except after an
+ * OVERFLOW event, when the OS dropped events and we can't know what changed).
+ *
+ * USAGE:
+ *   ProjectWatcher watcher = new ProjectWatcher(config, reader, analyzer, files);
+ *   watcher.watch(listener);   // blocks until close() is called
+ */
+public class ProjectWatcher implements AutoCloseable {
+
+    /**
+     * Receives every processed batch (on the watcher thread)
+     */
+    public interface ChangeListener {
+
+        /**
+         * @param updated Files that were added or changed, already re-analyzed
+         * @param removed Files that were deleted
+         * @param allFiles The whole model after this batch, sorted by path
+         */
+        void onChange(List<JavaFileInfo> updated, List<Path> removed, List<JavaFileInfo> allFiles);
+    }
+
+    private final DocGeneratorConfig config;
+    private final FileReaderService readerService;
+    private final CodeAnalyzerService analyzerService;
+    private final long debounceMillis;
+
+    private final WatchService watchService;
+
+    // Which directory each registration belongs to (events only carry relative names)
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+
+    // The model: every known file, by path (sorted so output order is stable)
+    private final TreeMap<Path, JavaFileInfo> files = new TreeMap<>();
+
+    // Where watcher messages go (the classic console output by default)
+    private ProgressSink progress = ProgressSink.console();
+
+    /**
+     * Create a watcher over an already analyzed set of files
+     *
+     * @param initialFiles The files from the last full run
+     * @throws IOException if the watch service cannot be created
+     */
+    public ProjectWatcher(DocGeneratorConfig config,
+                          FileReaderService readerService,
+                          CodeAnalyzerService analyzerService,
+                          List<JavaFileInfo> initialFiles) throws IOException {
+        this.config = config;
+        this.readerService = readerService;
+        this.analyzerService = analyzerService;
+        this.debounceMillis = config.getWatchDebounceMillis();
+        this.watchService = FileSystems.getDefault().newWatchService();
+
+        for (JavaFileInfo file : initialFiles) {
+            files.put(file.getFilePath(), file);
+        }
+    }
+
+    /**
+     * Send watcher messages (and those of an OVERFLOW rescan) somewhere
+     * else than the console
+     */
+    public void setProgressSink(ProgressSink progress) {
+        this.progress = progress;
+    }
+
+    /**
+     * Watch the project until close() is called
+     *
+     * @param listener Called after every batch of changes
+     * @throws IOException if the project directories cannot be registered
+     */
+    public void watch(ChangeListener listener) throws IOException {
+        registerTree(config.getProjectPath(), null);
+
+        progress.info(Stage.DISCOVERY, "Watching " + watchedDirectories.size() + " directories for changes" +
+                " (debounce " + debounceMillis + " ms)...");
+
+        try {
+            while (true) {
+                // Block until something happens, then collect until it's quiet
+                Set<Path> changed = new LinkedHashSet<>();
+                boolean overflow = collect(watchService.take(), changed);
+
+                WatchKey key;
+                while ((key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    overflow |= collect(key, changed);
+                }
+
+                if (overflow) {
+                    changed.addAll(rescan());
+                }
+                if (!changed.isEmpty()) {
+                    processBatch(changed, listener);
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // close() was called - normal shutdown
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Get a snapshot of the current model, sorted by path
+     */
+    public synchronized List<JavaFileInfo> getFiles() {
+        return new ArrayList<>(files.values());
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    // ==================== EVENT COLLECTION ====================
+
+    /**
+     * Turn one key's events into changed paths
+     *
+     * @return true if events were lost (OVERFLOW)
+     */
+    private boolean collect(WatchKey key, Set<Path> changed) throws IOException {
+        Path directory = watchedDirectories.get(key);
+        boolean overflow = false;
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+                continue;
+            }
+            if (directory == null) {
+                continue;
+            }
+
+            Path path = directory.resolve((Path) event.context());
+
+            // A new folder: watch it too, and pick up files already inside it
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+                    && Files.isDirectory(path)
+                    && !config.shouldExclude(path, true)) {
+                registerTree(path, changed);
+            } else {
+                changed.add(path);
+            }
+        }
+
+        // A key that can't be reset belongs to a deleted (or unreachable) folder
+        if (!key.reset()) {
+            watchedDirectories.remove(key);
+        }
+        return overflow;
+    }
+
+    /**
+     * Register a directory and its subdirectories (excluded ones are skipped)
+     *
+     * @param found If not null, .java files inside are added here
+     */
+    private void registerTree(Path root, Set<Path> found) throws IOException {
+        // Same depth limit as discovery: only the top folder when not recursive
+        int projectDepth = config.getProjectPath().getNameCount();
+        int discoveryDepth = config.isRecursive() ? config.getMaxDepth() : 1;
+        int maxDepth = Math.max(0, discoveryDepth - (root.getNameCount() - projectDepth));
+
+        Files.walkFileTree(root, EnumSet.noneOf(java.nio.file.FileVisitOption.class), maxDepth,
+                new SimpleFileVisitor<Path>() {
+
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                        if (!dir.equals(config.getProjectPath()) && config.shouldExclude(dir, true)) {
+                            return FileVisitResult.SKIP_SUBTREE;
+                        }
+                        if (config.isRecursive() || dir.equals(config.getProjectPath())) {
+                            WatchKey key = dir.register(watchService,
+                                    StandardWatchEventKinds.ENTRY_CREATE,
+                                    StandardWatchEventKinds.ENTRY_MODIFY,
+                                    StandardWatchEventKinds.ENTRY_DELETE);
+                            watchedDirectories.put(key, dir);
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        if (found != null && isWatchedSource(file)) {
+                            found.add(file);
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+    }
+
+    /**
+     * After an OVERFLOW: find every source file again and every file we lost
+     */
+    private Set<Path> rescan() throws IOException {
+        progress.warning(Stage.DISCOVERY, "Too many changes at once - rescanning the project");
+
+        Set<Path> all = new LinkedHashSet<>();
+        FileDiscoveryService discovery = new FileDiscoveryService(config);
+        discovery.setProgressSink(progress);
+        discovery.discoverJavaFiles(file -> all.add(file.getFilePath()));
+
+        // Deleted files are the ones we know but the scan didn't find
+        synchronized (this) {
+            all.addAll(files.keySet());
+        }
+        return all;
+    }
+
+    // ==================== BATCH PROCESSING ====================
+
+    /**
+     * Re-analyze changed and added files, drop deleted ones, notify the listener
+     */
+    private void processBatch(Set<Path> changed, ChangeListener listener) {
+        List<JavaFileInfo> updated = new ArrayList<>();
+        List<Path> removed = new ArrayList<>();
+
+        for (Path path : changed) {
+            if (isWatchedSource(path) && Files.isRegularFile(path)) {
+                JavaFileInfo fileInfo = new JavaFileInfo(path);
+                try {
+                    readerService.readFile(fileInfo);
+                    analyzerService.analyzeFile(fileInfo);
+                } catch (IOException e) {
+                    if (!Files.exists(path)) {
+                        // Deleted again before we got to it
+                        removeFile(path, removed);
+                        continue;
+                    }
+                    fileInfo.setParseError("Read failed: " + e.getMessage());
+                }
+                synchronized (this) {
+                    files.put(path, fileInfo);
+                }
+                updated.add(fileInfo);
+            } else if (!Files.exists(path)) {
+                // Gone: drop it, and everything under it if it was a folder
+                removeFile(path, removed);
+            }
+            // Anything else still exists - e.g. a folder whose contents changed
+            // (some platforms report that as a modify on the folder). Its files
+            // get their own events, so there is nothing to do here.
+        }
+
+        if (updated.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        analyzerService.finishAnalysis();
+        listener.onChange(updated, removed, getFiles());
+    }
+
+    private synchronized void removeFile(Path path, List<Path> removed) {
+        if (files.remove(path) != null) {
+            removed.add(path);
+        }
+        // If this was a directory, everything below it went with it
+        Map<Path, JavaFileInfo> below = files.tailMap(path, false);
+        below.keySet().removeIf(file -> {
+            if (file.startsWith(path)) {
+                removed.add(file);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private boolean isWatchedSource(Path path) {
+        return path.toString().endsWith(".java") && !config.shouldExclude(path);
+    }
+}
@@ -0,0 +1,324 @@
+package com.docgen.storage;
+
+import com.docgen.config.AnalysisMode;
+import com.docgen.model.ClassInfo;
+import com.docgen.model.JavaFileInfo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * AnalysisCache - On-disk cache of parsed file structure.
+ *
+ * Most files don't change between two documentation runs, so parsing
+ * them again is wasted work. This cache remembers what CodeAnalyzerService
+ * extracted from a file (imports + the ClassInfo tree), keyed by a hash of
+ * the file CONTENT:
+ *
+ *   content ──► ContentHash ──► <cacheDir>/analysis-v1/ab/ab12...ef.bin
+ *
+ * Because the key is the content (not the path or timestamp), renaming or
+ * touching a file doesn't invalidate it, and editing it always does.
+ *
+ * VERSIONING: Entries live in a directory named after FORMAT_VERSION.
+ * When the extractors change what they produce, bump the version - old
+ * directories are deleted the next time the cache is opened.
+ *
+ * EVICTION: A hit refreshes the entry's modified time. evict() deletes the
+ * least recently used entries until the cache fits in maxBytes again.
+ *
+ * Entries are written to a temp file and moved into place, so several
+ * parser threads can use the same cache safely.
+ */
+public class AnalysisCache {
+
+    /**
+     * Bump this whenever CodeAnalyzerService or ModelEncoder changes its output
+     */
+    public static final int FORMAT_VERSION = 2;
+
+    // "DGAC" - DocGen Analysis Cache
+    private static final int MAGIC = 0x44474143;
+
+    private static final String DIRECTORY_PREFIX = "analysis-v";
+    private static final String ENTRY_SUFFIX = ".bin";
+
+    private final Path directory;
+    private final long maxBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Open (or create) the cache.
+     *
+     * @param cacheRoot Directory that holds all docgen caches
+     * @param maxBytes Size limit enforced by evict()
+     * @throws IOException if the cache directory cannot be created
+     */
+    public AnalysisCache(Path cacheRoot, long maxBytes) throws IOException {
+        this.directory = cacheRoot.resolve(DIRECTORY_PREFIX + FORMAT_VERSION);
+        this.maxBytes = maxBytes;
+
+        Files.createDirectories(directory);
+        deleteOldVersions(cacheRoot);
+    }
+
+    /**
+     * Compute the cache key for a piece of content
+     */
+    public static long keyOf(String content) {
+        return ContentHash.of(content);
+    }
+
+    /**
+     * Compute the cache key for a file's content without decoding it
+     * if it is still held as ASCII bytes (same key either way)
+     */
+    public static long keyOf(JavaFileInfo fileInfo) {
+        byte[] ascii = fileInfo.getAsciiContent();
+        return ascii != null ? ContentHash.ofAscii(ascii) : keyOf(fileInfo.getContent());
+    }
+
+    /**
+     * Compute the cache key for a file analyzed in the given mode.
+     * FULL keeps the plain content key; other modes get their own entries,
+     * since they may see less of the file.
+     */
+    public static long keyOf(JavaFileInfo fileInfo, AnalysisMode mode) {
+        long key = keyOf(fileInfo);
+        return mode == AnalysisMode.FULL ? key : ContentHash.combine(key, mode.ordinal());
+    }
+
+    /**
+     * Look up a file's structure in the cache.
+     *
+     * On a hit, the imports and classes are copied into the file info and
+     * it is marked as parsed - no JavaParser needed.
+     *
+     * @param key The content key (from keyOf)
+     * @param contentLength Length of the content, checked as a guard against hash collisions
+     * @param target The file info to fill in
+     * @return true on a cache hit
+     */
+    public boolean load(long key, int contentLength, JavaFileInfo target) {
+        Path entry = entryPath(key);
+
+        try {
+            if (!Files.exists(entry)) {
+                misses.increment();
+                return false;
+            }
+
+            ModelDecoder decoder = new ModelDecoder(ByteBuffer.wrap(Files.readAllBytes(entry)));
+
+            if (decoder.readFixedInt() != MAGIC
+                    || decoder.readFixedInt() != FORMAT_VERSION
+                    || decoder.readFixedLong() != key
+                    || decoder.readVarInt() != contentLength) {
+                misses.increment();
+                return false;
+            }
+
+            List<String> imports = decoder.readStringList();
+            int classCount = decoder.readCount();
+            List<ClassInfo> classes = new ArrayList<>(classCount);
+            for (int i = 0; i < classCount; i++) {
+                classes.add(decoder.readClassInfo());
+            }
+
+            target.setImports(imports);
+            target.setClasses(classes);
+            target.setParsed(true);
+
+            // Mark as recently used (for LRU eviction)
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+
+            hits.increment();
+            return true;
+
+        } catch (IOException e) {
+            // Unreadable or corrupt entry - drop it and parse normally
+            deleteQuietly(entry);
+            misses.increment();
+            return false;
+        }
+    }
+
+    /**
+     * Store a successfully parsed file's structure.
+     *
+     * Failures are ignored: the cache is an optimization, never a reason
+     * for the analysis itself to fail.
+     *
+     * @param key The content key (from keyOf)
+     * @param contentLength Length of the content
+     * @param source A parsed file info
+     */
+    public void store(long key, int contentLength, JavaFileInfo source) {
+        if (!source.isParsed()) {
+            return;
+        }
+
+        Path entry = entryPath(key);
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+            ModelEncoder encoder = new ModelEncoder(bytes);
+
+            encoder.writeFixedInt(MAGIC);
+            encoder.writeFixedInt(FORMAT_VERSION);
+            encoder.writeFixedLong(key);
+            encoder.writeVarInt(contentLength);
+            encoder.writeStringList(source.getImports());
+            encoder.writeVarInt(source.getClasses().size());
+            for (ClassInfo classInfo : source.getClasses()) {
+                encoder.writeClassInfo(classInfo);
+            }
+            encoder.flush();
+
+            Files.createDirectories(entry.getParent());
+            Path temp = Files.createTempFile(entry.getParent(), "entry", ".tmp");
+            try {
+                Files.write(temp, bytes.toByteArray());
+                Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                deleteQuietly(temp);
+            }
+
+        } catch (IOException e) {
+            // Best effort - next run will simply parse this file again
+        }
+    }
+
+    /**
+     * Delete least recently used entries until the cache fits in maxBytes.
+     *
+     * @return Number of entries deleted
+     */
+    public int evict() {
+        List<Path> entries = new ArrayList<>();
+        long totalBytes = 0;
+
+        try (Stream<Path> paths = Files.walk(directory, 2)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (path.getFileName().toString().endsWith(ENTRY_SUFFIX)) {
+                    entries.add(path);
+                    totalBytes += sizeOf(path);
+                }
+            }
+        } catch (IOException e) {
+            return 0;
+        }
+
+        if (totalBytes <= maxBytes) {
+            return 0;
+        }
+
+        // Oldest (least recently used) first
+        entries.sort(Comparator.comparingLong(AnalysisCache::lastModifiedMillis));
+
+        int deleted = 0;
+        for (Path entry : entries) {
+            if (totalBytes <= maxBytes) {
+                break;
+            }
+            long size = sizeOf(entry);
+            if (deleteQuietly(entry)) {
+                totalBytes -= size;
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    // ==================== STATISTICS ====================
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Fraction of lookups that were hits (0.0 - 1.0)
+     */
+    public double getHitRatio() {
+        long h = getHits();
+        long total = h + getMisses();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    // ==================== HELPERS ====================
+
+    /**
+     * Entries are sharded by the first two hex digits to keep directories small
+     */
+    private Path entryPath(long key) {
+        String hex = ContentHash.toHex(key);
+        return directory.resolve(hex.substring(0, 2)).resolve(hex + ENTRY_SUFFIX);
+    }
+
+    /**
+     * Remove cache directories written by other format versions
+     */
+    private void deleteOldVersions(Path cacheRoot) {
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(cacheRoot, DIRECTORY_PREFIX + "*")) {
+            for (Path dir : dirs) {
+                if (!dir.equals(directory)) {
+                    deleteRecursively(dir);
+                }
+            }
+        } catch (IOException e) {
+            // Stale versions only waste disk space
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(AnalysisCache::deleteQuietly);
+        }
+    }
+
+    private static boolean deleteQuietly(Path path) {
+        try {
+            return Files.deleteIfExists(path);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static long lastModifiedMillis(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
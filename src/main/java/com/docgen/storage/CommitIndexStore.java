@@ -0,0 +1,200 @@
+package com.docgen.storage;
+
+import com.docgen.model.CommitInfo;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CommitIndexStore - Remembers analyzed commits between runs.
+ *
+ * Computing the file changes of a commit means diffing two trees, which
+ * is the slow part of reading Git history. But a commit never changes once
+ * it exists, so its CommitInfo can be saved and reused forever:
+ *
+ *   Run 1:  walk 200k commits, diff all of them, save them here
+ *   Run 2:  walk only the 12 commits that are new since run 1
+ *
+ * Besides the commits (in log order, newest first) the store keeps the
+ * TIPS - the branch/tag heads that were indexed. GitAnalyzerService uses
+ * them to stop walking at already indexed history, and to notice when a
+ * tip disappeared (force-push, deleted branch) so it can drop commits that
+ * are no longer reachable.
+ *
+ * It also keeps the SCOPE - a description of the path filter the commits
+ * were diffed with. Commits diffed with another filter have other file
+ * changes, so GitAnalyzerService resets the store when the scope differs.
+ *
+ * The whole index is one file, replaced atomically on save().
+ */
+public class CommitIndexStore {
+
+    /**
+     * Bump this whenever the stored CommitInfo layout changes
+     */
+    public static final int FORMAT_VERSION = 3;
+
+    // "DGCI" - DocGen Commit Index
+    private static final int MAGIC = 0x44474349;
+
+    private final Path file;
+
+    // Commit hash → commit, in log order (newest first)
+    private final Map<String, CommitInfo> commits = new LinkedHashMap<>();
+
+    // Commit hashes of the ref heads at the time of the last update
+    private final List<String> tips = new ArrayList<>();
+
+    // The path filter the commits were diffed with ("ALL" = every path)
+    private String scope = "ALL";
+
+    private CommitIndexStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Open the store at the given file.
+     *
+     * A missing or outdated file gives an empty store - the next history
+     * walk will simply rebuild it.
+     *
+     * @param file Where the index is kept
+     * @return The loaded (or empty) store
+     * @throws IOException if the file can't be read or is corrupt
+     */
+    public static CommitIndexStore open(Path file) throws IOException {
+        CommitIndexStore store = new CommitIndexStore(file);
+
+        if (Files.exists(file)) {
+            store.load();
+        }
+
+        return store;
+    }
+
+    /**
+     * An empty store that will be saved to the given file (e.g. to replace
+     * an unreadable one)
+     */
+    public static CommitIndexStore empty(Path file) {
+        return new CommitIndexStore(file);
+    }
+
+    private void load() throws IOException {
+        ModelDecoder decoder = new ModelDecoder(ByteBuffer.wrap(Files.readAllBytes(file)));
+
+        if (decoder.readFixedInt() != MAGIC || decoder.readFixedInt() != FORMAT_VERSION) {
+            // Written by another version - start over
+            return;
+        }
+
+        scope = decoder.readString();
+        tips.addAll(decoder.readStringList());
+
+        int count = decoder.readCount();
+        for (int i = 0; i < count; i++) {
+            CommitInfo commit = decoder.readCommitInfo();
+            commits.put(commit.getHash(), commit);
+        }
+    }
+
+    /**
+     * Write the store to disk (temp file + atomic move)
+     */
+    public void save() throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "commit-index", ".tmp");
+
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                ModelEncoder encoder = new ModelEncoder(out);
+                encoder.writeFixedInt(MAGIC);
+                encoder.writeFixedInt(FORMAT_VERSION);
+                encoder.writeString(scope);
+                encoder.writeStringList(tips);
+                encoder.writeVarInt(commits.size());
+                for (CommitInfo commit : commits.values()) {
+                    encoder.writeCommitInfo(commit);
+                }
+                encoder.flush();
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Replace the contents of the store
+     *
+     * @param orderedCommits All indexed commits, in log order (newest first)
+     * @param newTips The ref heads these commits were indexed from
+     */
+    public void replace(List<CommitInfo> orderedCommits, Collection<String> newTips) {
+        commits.clear();
+        for (CommitInfo commit : orderedCommits) {
+            commits.put(commit.getHash(), commit);
+        }
+        tips.clear();
+        tips.addAll(newTips);
+    }
+
+    /**
+     * Forget everything and start over for another scope
+     *
+     * @param newScope Description of the path filter the next commits are diffed with
+     */
+    public void reset(String newScope) {
+        commits.clear();
+        tips.clear();
+        scope = newScope;
+    }
+
+    // ==================== QUERIES ====================
+
+    public CommitInfo get(String hash) {
+        return commits.get(hash);
+    }
+
+    public boolean contains(String hash) {
+        return commits.containsKey(hash);
+    }
+
+    /**
+     * All stored commits in log order (newest first)
+     */
+    public List<CommitInfo> getCommits() {
+        return new ArrayList<>(commits.values());
+    }
+
+    public List<String> getTips() {
+        return new ArrayList<>(tips);
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public int size() {
+        return commits.size();
+    }
+
+    public boolean isEmpty() {
+        return commits.isEmpty();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+}
@@ -0,0 +1,80 @@
+package com.docgen.storage;
+
+/**
+ * ContentHash - A fast 64-bit hash of file content, used as a cache key.
+ *
+ * This is FNV-1a over the UTF-16 chars of the content, seeded with the
+ * length and finished with a 64-bit mixer so nearby inputs spread out.
+ * It is NOT a cryptographic hash - it only needs to tell "same file
+ * content" from "different file content" quickly.
+ */
+public final class ContentHash {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ContentHash() {
+        // Static utility - no instances
+    }
+
+    /**
+     * Hash a piece of text
+     *
+     * @param content The text to hash
+     * @return A 64-bit hash of the text
+     */
+    public static long of(CharSequence content) {
+        int length = content.length();
+        long hash = FNV_OFFSET ^ length;
+        for (int i = 0; i < length; i++) {
+            hash ^= content.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Hash ASCII bytes without decoding them.
+     * Gives the same value as of() on the decoded text, because every
+     * ASCII byte has the same value as its char.
+     *
+     * @param ascii Bytes that are all below 0x80
+     * @return A 64-bit hash of the text
+     */
+    public static long ofAscii(byte[] ascii) {
+        long hash = FNV_OFFSET ^ ascii.length;
+        for (byte b : ascii) {
+            hash ^= b;
+            hash *= FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Derive a second, unrelated hash from a hash and a small value
+     * (e.g. to keep cache entries of different analysis modes apart)
+     */
+    public static long combine(long hash, int value) {
+        return mix((hash ^ value) * FNV_PRIME);
+    }
+
+    /**
+     * Format a hash as a fixed-width hex string (e.g. for file names)
+     */
+    public static String toHex(long hash) {
+        String hex = Long.toHexString(hash);
+        return "0".repeat(16 - hex.length()) + hex;
+    }
+
+    /**
+     * Final avalanche step (from MurmurHash3's fmix64)
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,395 @@
+package com.docgen.storage;
+
+import com.docgen.model.ClassInfo;
+import com.docgen.model.CommitInfo;
+import com.docgen.model.FieldInfo;
+import com.docgen.model.FileChangeInfo;
+import com.docgen.model.JavaModifier;
+import com.docgen.model.LineIndex;
+import com.docgen.model.MethodInfo;
+import com.docgen.model.ParameterInfo;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ModelDecoder - Reads model objects written by ModelEncoder.
+ *
+ * Reads straight from a ByteBuffer, so the data can come from a byte[]
+ * (ByteBuffer.wrap) or from a memory-mapped file without extra copies.
+ *
+ * Truncated or corrupt input is reported as an IOException, never as a
+ * half-filled object.
+ *
+ * Data written by ModelEncoder.withStringTable() must be read with
+ * withStringTable() - each symbol is then decoded once and the same String
+ * instance is shared by every object that uses it.
+ */
+public class ModelDecoder {
+
+    private static final ClassInfo.ClassType[] CLASS_TYPES = ClassInfo.ClassType.values();
+    private static final FileChangeInfo.ChangeType[] CHANGE_TYPES = FileChangeInfo.ChangeType.values();
+
+    private final ByteBuffer buffer;
+
+    // Symbols in the order they were first written, or null without a string table
+    private final List<String> stringTable;
+
+    // Copy buffer for strings read from buffers without a backing array
+    private byte[] scratch = new byte[256];
+
+    /**
+     * Constructor - reads from the buffer's current position
+     *
+     * @param buffer The encoded bytes
+     */
+    public ModelDecoder(ByteBuffer buffer) {
+        this(buffer, false);
+    }
+
+    private ModelDecoder(ByteBuffer buffer, boolean useStringTable) {
+        this.buffer = buffer;
+        this.stringTable = useStringTable ? new ArrayList<>() : null;
+    }
+
+    /**
+     * A decoder for data written by ModelEncoder.withStringTable()
+     *
+     * @param buffer The encoded bytes, read from the current position
+     */
+    public static ModelDecoder withStringTable(ByteBuffer buffer) {
+        return new ModelDecoder(buffer, true);
+    }
+
+    // ==================== PRIMITIVES ====================
+
+    public int readFixedInt() throws IOException {
+        try {
+            return buffer.getInt();
+        } catch (BufferUnderflowException e) {
+            throw truncated();
+        }
+    }
+
+    public long readFixedLong() throws IOException {
+        try {
+            return buffer.getLong();
+        } catch (BufferUnderflowException e) {
+            throw truncated();
+        }
+    }
+
+    public int readVarInt() throws IOException {
+        long value = readVarLong();
+        if (value > 0xFFFFFFFFL) {
+            throw new IOException("Corrupt data: varint too large for an int");
+        }
+        return (int) value;
+    }
+
+    public long readVarLong() throws IOException {
+        long value = 0;
+        int shift = 0;
+        try {
+            while (true) {
+                byte b = buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+                shift += 7;
+                if (shift > 63) {
+                    throw new IOException("Corrupt data: varint is too long");
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            throw truncated();
+        }
+    }
+
+    public boolean readBoolean() throws IOException {
+        try {
+            return buffer.get() != 0;
+        } catch (BufferUnderflowException e) {
+            throw truncated();
+        }
+    }
+
+    public String readString() throws IOException {
+        int length = readVarInt();
+        if (length == 0) {
+            return null;
+        }
+        length--;
+        if (length < 0 || length > buffer.remaining()) {
+            throw truncated();
+        }
+
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                    length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            // Direct or mapped buffer: copy through one reused array
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(scratch, 0, length);
+            value = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    public List<String> readStringList() throws IOException {
+        int count = readCount();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString());
+        }
+        return values;
+    }
+
+    public String readSymbol() throws IOException {
+        if (stringTable == null) {
+            return readString();
+        }
+        int code = readVarInt();
+        if (code == 0) {
+            return null;
+        }
+        if (code == 1) {
+            String value = readString();
+            stringTable.add(value);
+            return value;
+        }
+        int index = code - 2;
+        if (index < 0 || index >= stringTable.size()) {
+            throw new IOException("Corrupt data: unknown symbol " + index);
+        }
+        return stringTable.get(index);
+    }
+
+    public List<String> readSymbolList() throws IOException {
+        int count = readCount();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readSymbol());
+        }
+        return values;
+    }
+
+    public LocalDateTime readDateTime() throws IOException {
+        long encoded = readVarLong();
+        if (encoded == 0) {
+            return null;
+        }
+        long zigzag = encoded - 1;
+        long seconds = (zigzag >>> 1) ^ -(zigzag & 1);
+        int nanos = readVarInt();
+        try {
+            return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+        } catch (DateTimeException e) {
+            throw new IOException("Corrupt data: invalid date-time", e);
+        }
+    }
+
+    /**
+     * Read a list size, rejecting counts that cannot possibly fit in the rest of the data
+     */
+    public int readCount() throws IOException {
+        int count = readVarInt();
+        if (count < 0 || count > buffer.remaining()) {
+            throw new IOException("Corrupt data: list size " + count +
+                    " exceeds remaining " + buffer.remaining() + " bytes");
+        }
+        return count;
+    }
+
+    // ==================== MODEL OBJECTS ====================
+
+    public ClassInfo readClassInfo() throws IOException {
+        ClassInfo classInfo = new ClassInfo();
+
+        classInfo.setName(readSymbol());
+        classInfo.setFullyQualifiedName(readString());
+
+        int typeIndex = readVarInt();
+        if (typeIndex < 0 || typeIndex >= CLASS_TYPES.length) {
+            throw new IOException("Corrupt data: unknown class type " + typeIndex);
+        }
+        classInfo.setClassType(CLASS_TYPES[typeIndex]);
+
+        classInfo.setModifierMask(readModifierMask());
+        classInfo.setSuperClass(readSymbol());
+        classInfo.setInterfaces(readSymbolList());
+        classInfo.setAnnotations(readSymbolList());
+        classInfo.setTypeParameters(readSymbolList());
+        classInfo.setJavadoc(readString());
+        classInfo.setStartLine(readVarInt());
+        classInfo.setEndLine(readVarInt());
+
+        int fieldCount = readCount();
+        for (int i = 0; i < fieldCount; i++) {
+            classInfo.addField(readFieldInfo());
+        }
+
+        int methodCount = readCount();
+        for (int i = 0; i < methodCount; i++) {
+            classInfo.addMethod(readMethodInfo());
+        }
+
+        int nestedCount = readCount();
+        for (int i = 0; i < nestedCount; i++) {
+            classInfo.addNestedClass(readClassInfo());
+        }
+
+        return classInfo;
+    }
+
+    public FieldInfo readFieldInfo() throws IOException {
+        FieldInfo field = new FieldInfo();
+        field.setName(readSymbol());
+        field.setType(readSymbol());
+        field.setModifierMask(readModifierMask());
+        field.setInitialValue(readString());
+        field.setJavadoc(readString());
+        field.setLineNumber(readVarInt());
+        return field;
+    }
+
+    public MethodInfo readMethodInfo() throws IOException {
+        MethodInfo method = new MethodInfo();
+        method.setName(readSymbol());
+        method.setReturnType(readSymbol());
+        method.setConstructor(readBoolean());
+        method.setModifierMask(readModifierMask());
+        method.setThrownExceptions(readSymbolList());
+        method.setAnnotations(readSymbolList());
+        method.setJavadoc(readString());
+        method.setReturnDescription(readString());
+        method.setStartLine(readVarInt());
+        method.setEndLine(readVarInt());
+
+        int paramCount = readCount();
+        for (int i = 0; i < paramCount; i++) {
+            method.addParameter(readParameterInfo());
+        }
+        return method;
+    }
+
+    public ParameterInfo readParameterInfo() throws IOException {
+        ParameterInfo param = new ParameterInfo();
+        param.setName(readSymbol());
+        param.setType(readSymbol());
+        param.setFinal(readBoolean());
+        param.setVarArgs(readBoolean());
+        param.setDescription(readString());
+        return param;
+    }
+
+    public CommitInfo readCommitInfo() throws IOException {
+        CommitInfo commit = new CommitInfo();
+        commit.setHash(readSymbol());
+        commit.setAuthorName(readSymbol());
+        commit.setAuthorEmail(readSymbol());
+        commit.setAuthorDate(readDateTime());
+        commit.setCommitterName(readSymbol());
+        commit.setCommitterEmail(readSymbol());
+        commit.setCommitDate(readDateTime());
+        commit.setFullMessage(readString());
+        commit.setParentHashes(readSymbolList());
+
+        int changeCount = readCount();
+        for (int i = 0; i < changeCount; i++) {
+            commit.addFileChange(readFileChangeInfo());
+        }
+        return commit;
+    }
+
+    public FileChangeInfo readFileChangeInfo() throws IOException {
+        FileChangeInfo change = new FileChangeInfo();
+        change.setPath(readSymbol());
+        change.setOldPath(readSymbol());
+
+        int typeIndex = readVarInt();
+        if (typeIndex < 0 || typeIndex >= CHANGE_TYPES.length) {
+            throw new IOException("Corrupt data: unknown change type " + typeIndex);
+        }
+        change.setChangeType(CHANGE_TYPES[typeIndex]);
+
+        if (readBoolean()) {
+            change.setLineStats(readVarInt(), readVarInt());
+        } else {
+            // Not counted yet - whoever loads this attaches a LineCounter
+            change.setOldBlobId(readString());
+            change.setNewBlobId(readString());
+        }
+        return change;
+    }
+
+    /**
+     * Read a JavaModifier mask
+     */
+    public int readModifierMask() throws IOException {
+        int mask = readVarInt();
+        if ((mask & ~JavaModifier.ALL_BITS) != 0) {
+            throw new IOException("Corrupt data: invalid modifier mask " + mask);
+        }
+        return mask;
+    }
+
+    /**
+     * Read line starts written by ModelEncoder.writeLineIndex()
+     */
+    public LineIndex readLineIndex() throws IOException {
+        int lineCount = readCount();
+        if (lineCount == 0) {
+            return LineIndex.EMPTY;
+        }
+        int[] starts = new int[lineCount];
+        for (int line = 1; line < lineCount; line++) {
+            starts[line] = addOffset(starts[line - 1], readVarInt());
+        }
+        int lastLineEnd = addOffset(starts[lineCount - 1], readVarInt());
+        int length = addOffset(lastLineEnd, readVarInt());
+        try {
+            return LineIndex.ofLineStarts(starts, lastLineEnd, length);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt data: " + e.getMessage(), e);
+        }
+    }
+
+    private static int addOffset(int offset, int distance) throws IOException {
+        long sum = (long) offset + distance;
+        if (sum > Integer.MAX_VALUE) {
+            throw new IOException("Corrupt data: line offset too large");
+        }
+        return (int) sum;
+    }
+
+    /**
+     * Offset of the next unread byte in the buffer
+     */
+    public int position() {
+        return buffer.position();
+    }
+
+    /**
+     * Whether there are unread bytes left
+     */
+    public boolean hasRemaining() {
+        return buffer.hasRemaining();
+    }
+
+    private IOException truncated() {
+        return new IOException("Corrupt data: unexpected end of input");
+    }
+}
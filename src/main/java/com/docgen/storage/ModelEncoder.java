@@ -0,0 +1,313 @@
+package com.docgen.storage;
+
+import com.docgen.model.ClassInfo;
+import com.docgen.model.CommitInfo;
+import com.docgen.model.FieldInfo;
+import com.docgen.model.FileChangeInfo;
+import com.docgen.model.LineIndex;
+import com.docgen.model.MethodInfo;
+import com.docgen.model.ParameterInfo;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ModelEncoder - Writes our model objects in a compact binary form.
+ *
+ * The format is deliberately simple:
+ * - Numbers are VARINTS (7 bits per byte, high bit = "more bytes follow"),
+ *   so small values like line numbers usually take 1-2 bytes
+ * - Strings are a varint length followed by UTF-8 bytes (length 0 = null)
+ * - Lists are a varint count followed by the elements
+ * - Objects are their fields written in a fixed order
+ *
+ * STRING TABLE (optional, see withStringTable): type names, annotations,
+ * author names... repeat thousands of times in a big model. With a table,
+ * these "symbols" are written in full only the first time; every later
+ * occurrence is just its table index:
+ *
+ *   varint 0        →  null
+ *   varint 1        →  a new symbol follows (string), it gets the next index
+ *   varint n >= 2   →  the symbol at index n - 2
+ *
+ * The table is built while writing, so the output can still be streamed.
+ * Without a table, symbols are plain strings (the cache formats use that).
+ *
+ * ModelDecoder reads exactly the same layout back. If you change the order
+ * or add a field here, change ModelDecoder too AND bump the format version
+ * of whatever file uses it (e.g. AnalysisCache.FORMAT_VERSION).
+ */
+public class ModelEncoder {
+
+    private final DataOutputStream out;
+
+    // Symbol → index, or null if symbols are written as plain strings
+    private final Map<String, Integer> stringTable;
+
+    /**
+     * Constructor - wraps the stream we write to
+     *
+     * @param out Where the encoded bytes go (not closed by this class)
+     */
+    public ModelEncoder(OutputStream out) {
+        this(out, false);
+    }
+
+    private ModelEncoder(OutputStream out, boolean useStringTable) {
+        this.out = new DataOutputStream(out);
+        this.stringTable = useStringTable ? new HashMap<>() : null;
+    }
+
+    /**
+     * An encoder that writes each symbol in full only once (see class comment).
+     * Must be read back with ModelDecoder.withStringTable().
+     *
+     * @param out Where the encoded bytes go (not closed by this class)
+     */
+    public static ModelEncoder withStringTable(OutputStream out) {
+        return new ModelEncoder(out, true);
+    }
+
+    // ==================== PRIMITIVES ====================
+
+    /**
+     * Write a fixed 4-byte int (used for magic numbers and versions)
+     */
+    public void writeFixedInt(int value) throws IOException {
+        out.writeInt(value);
+    }
+
+    /**
+     * Write a fixed 8-byte long (used for hashes)
+     */
+    public void writeFixedLong(long value) throws IOException {
+        out.writeLong(value);
+    }
+
+    /**
+     * Write a non-negative int as a varint
+     */
+    public void writeVarInt(int value) throws IOException {
+        writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Write a non-negative long as a varint
+     */
+    public void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    public void writeBoolean(boolean value) throws IOException {
+        out.writeBoolean(value);
+    }
+
+    /**
+     * Write a (nullable) string
+     */
+    public void writeString(String value) throws IOException {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length + 1);
+        out.write(bytes);
+    }
+
+    public void writeStringList(List<String> values) throws IOException {
+        writeVarInt(values.size());
+        for (String value : values) {
+            writeString(value);
+        }
+    }
+
+    /**
+     * Write a (nullable) string that is likely to repeat - a type name,
+     * annotation, author... Goes through the string table if there is one.
+     */
+    public void writeSymbol(String value) throws IOException {
+        if (stringTable == null) {
+            writeString(value);
+            return;
+        }
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        Integer index = stringTable.get(value);
+        if (index != null) {
+            writeVarInt(index + 2);
+            return;
+        }
+        stringTable.put(value, stringTable.size());
+        writeVarInt(1);
+        writeString(value);
+    }
+
+    public void writeSymbolList(List<String> values) throws IOException {
+        writeVarInt(values.size());
+        for (String value : values) {
+            writeSymbol(value);
+        }
+    }
+
+    /**
+     * Write a (nullable) date-time, exact to the nanosecond.
+     * Seconds are zig-zag encoded so dates before 1970 stay small too.
+     */
+    public void writeDateTime(LocalDateTime value) throws IOException {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        long seconds = value.toEpochSecond(ZoneOffset.UTC);
+        writeVarLong(((seconds << 1) ^ (seconds >> 63)) + 1);
+        writeVarInt(value.getNano());
+    }
+
+    // ==================== MODEL OBJECTS ====================
+
+    /**
+     * Write a class, including its fields, methods and nested classes
+     */
+    public void writeClassInfo(ClassInfo classInfo) throws IOException {
+        writeSymbol(classInfo.getName());
+        writeString(classInfo.getFullyQualifiedName());
+        writeVarInt(classInfo.getClassType().ordinal());
+        writeVarInt(classInfo.getModifierMask());
+        writeSymbol(classInfo.getSuperClass());
+        writeSymbolList(classInfo.getInterfaces());
+        writeSymbolList(classInfo.getAnnotations());
+        writeSymbolList(classInfo.getTypeParameters());
+        writeString(classInfo.getJavadoc());
+        writeVarInt(classInfo.getStartLine());
+        writeVarInt(classInfo.getEndLine());
+
+        writeVarInt(classInfo.getFields().size());
+        for (FieldInfo field : classInfo.getFields()) {
+            writeFieldInfo(field);
+        }
+
+        writeVarInt(classInfo.getMethods().size());
+        for (MethodInfo method : classInfo.getMethods()) {
+            writeMethodInfo(method);
+        }
+
+        writeVarInt(classInfo.getNestedClasses().size());
+        for (ClassInfo nested : classInfo.getNestedClasses()) {
+            writeClassInfo(nested);
+        }
+    }
+
+    public void writeFieldInfo(FieldInfo field) throws IOException {
+        writeSymbol(field.getName());
+        writeSymbol(field.getType());
+        writeVarInt(field.getModifierMask());
+        writeString(field.getInitialValue());
+        writeString(field.getJavadoc());
+        writeVarInt(field.getLineNumber());
+    }
+
+    public void writeMethodInfo(MethodInfo method) throws IOException {
+        writeSymbol(method.getName());
+        writeSymbol(method.getReturnType());
+        writeBoolean(method.isConstructor());
+        writeVarInt(method.getModifierMask());
+        writeSymbolList(method.getThrownExceptions());
+        writeSymbolList(method.getAnnotations());
+        writeString(method.getJavadoc());
+        writeString(method.getReturnDescription());
+        writeVarInt(method.getStartLine());
+        writeVarInt(method.getEndLine());
+
+        writeVarInt(method.getParameters().size());
+        for (ParameterInfo param : method.getParameters()) {
+            writeParameterInfo(param);
+        }
+    }
+
+    public void writeParameterInfo(ParameterInfo param) throws IOException {
+        writeSymbol(param.getName());
+        writeSymbol(param.getType());
+        writeBoolean(param.isFinal());
+        writeBoolean(param.isVarArgs());
+        writeString(param.getDescription());
+    }
+
+    /**
+     * Write a commit, including its file changes
+     */
+    public void writeCommitInfo(CommitInfo commit) throws IOException {
+        // A commit's hash comes back as its child's parent hash
+        writeSymbol(commit.getHash());
+        writeSymbol(commit.getAuthorName());
+        writeSymbol(commit.getAuthorEmail());
+        writeDateTime(commit.getAuthorDate());
+        writeSymbol(commit.getCommitterName());
+        writeSymbol(commit.getCommitterEmail());
+        writeDateTime(commit.getCommitDate());
+        writeString(commit.getFullMessage());
+        writeSymbolList(commit.getParentHashes());
+
+        writeVarInt(commit.getFileChanges().size());
+        for (FileChangeInfo change : commit.getFileChanges()) {
+            writeFileChangeInfo(change);
+        }
+    }
+
+    /**
+     * Write a file change. Line counts that aren't known yet are NOT worked
+     * out here - the blob ids are stored instead, so they can be counted later.
+     */
+    public void writeFileChangeInfo(FileChangeInfo change) throws IOException {
+        writeSymbol(change.getPath());
+        writeSymbol(change.getOldPath());
+        writeVarInt(change.getChangeType().ordinal());
+
+        writeBoolean(change.hasLineStats());
+        if (change.hasLineStats()) {
+            writeVarInt(change.getLinesAdded());
+            writeVarInt(change.getLinesDeleted());
+        } else {
+            writeString(change.getOldBlobId());
+            writeString(change.getNewBlobId());
+        }
+    }
+
+    /**
+     * Write the line starts of a file as varints: the line count, then the
+     * length of every line - small numbers, usually one byte each
+     */
+    public void writeLineIndex(LineIndex lineIndex) throws IOException {
+        int lineCount = lineIndex.getLineCount();
+        writeVarInt(lineCount);
+        if (lineCount == 0) {
+            return;
+        }
+        // Each line's distance to the next line start ('\n' included)
+        for (int line = 1; line < lineCount; line++) {
+            writeVarInt(lineIndex.getLineStart(line + 1) - lineIndex.getLineStart(line));
+        }
+        writeVarInt(lineIndex.getLineEnd(lineCount) - lineIndex.getLineStart(lineCount));
+        writeVarInt(lineIndex.getLength() - lineIndex.getLineEnd(lineCount));
+    }
+
+    /**
+     * Flush any buffered bytes to the underlying stream
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+}
@@ -0,0 +1,197 @@
+package com.docgen.storage;
+
+import com.docgen.model.ClassInfo;
+import com.docgen.model.CommitInfo;
+import com.docgen.model.JavaFileInfo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * SnapshotReader - Loads a model saved by SnapshotWriter.
+ *
+ * The snapshot file is MEMORY-MAPPED: the operating system pages it in as
+ * it is read, there is no read() copy into a byte[] first, and repeated
+ * loads of the same snapshot come straight from the page cache.
+ *
+ * Records are decoded one at a time and handed to the caller, so a
+ * snapshot can be scanned without keeping the whole model in memory:
+ *
+ *   try (SnapshotReader reader = SnapshotReader.open(file)) {
+ *       reader.read(
+ *           javaFile -> index(javaFile),
+ *           commit -> index(commit));
+ *   }
+ *
+ * Loaded files have no content. They count as "released" (see
+ * JavaFileInfo.releaseContent), so FileReaderService.loadContent() reads
+ * the text from disk when it is needed; line counts and line lookups work
+ * from the stored line index.
+ *
+ * Loaded commits whose line counts were never worked out report 0 until a
+ * LineCounter is attached (GitAnalyzerService.loadLineStats does that).
+ *
+ * Truncated, corrupt or other-version snapshots are reported as an
+ * IOException. A snapshot must fit in one mapping (2 GB).
+ */
+public class SnapshotReader implements AutoCloseable {
+
+    private ByteBuffer data;
+
+    private final LocalDateTime createdAt;
+    private final Path projectRoot;
+
+    // Where the first record starts
+    private final int recordsStart;
+
+    private SnapshotReader(ByteBuffer data) throws IOException {
+        this.data = data;
+
+        ModelDecoder header = new ModelDecoder(data.duplicate());
+        if (header.readFixedInt() != SnapshotWriter.MAGIC) {
+            throw new IOException("Not a snapshot file");
+        }
+        int version = header.readFixedInt();
+        if (version != SnapshotWriter.FORMAT_VERSION) {
+            throw new IOException("Snapshot format version " + version +
+                    " is not supported (expected " + SnapshotWriter.FORMAT_VERSION + ")");
+        }
+        this.createdAt = header.readDateTime();
+        String root = header.readString();
+        if (root == null) {
+            throw new IOException("Corrupt data: snapshot has no project root");
+        }
+        this.projectRoot = toPath(null, root);
+        this.recordsStart = header.position();
+    }
+
+    /**
+     * Map a snapshot file and read its header
+     *
+     * @param file The snapshot
+     * @return The reader (close it to release the mapping)
+     * @throws IOException if the file cannot be mapped or is not a valid snapshot
+     */
+    public static SnapshotReader open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot is too large to map: " + size + " bytes");
+            }
+            // The mapping stays valid after the channel is closed
+            return new SnapshotReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /**
+     * When the snapshot was written
+     */
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * The project root the file paths were stored relative to
+     */
+    public Path getProjectRoot() {
+        return projectRoot;
+    }
+
+    /**
+     * Decode every record, in the order they were written.
+     * Can be called more than once - every call starts from the first record.
+     *
+     * @param files Receives each file
+     * @param commits Receives each commit
+     * @throws IOException if the snapshot is truncated or corrupt
+     */
+    public void read(Consumer<JavaFileInfo> files, Consumer<CommitInfo> commits) throws IOException {
+        if (data == null) {
+            throw new IllegalStateException("Snapshot reader is closed");
+        }
+
+        ModelDecoder decoder = ModelDecoder.withStringTable(data.duplicate().position(recordsStart));
+        while (true) {
+            int tag = decoder.readVarInt();
+            switch (tag) {
+                case SnapshotWriter.END -> {
+                    return;
+                }
+                case SnapshotWriter.FILE_RECORD -> files.accept(readFile(decoder));
+                case SnapshotWriter.COMMIT_RECORD -> commits.accept(decoder.readCommitInfo());
+                default -> throw new IOException("Corrupt data: unknown record type " + tag);
+            }
+        }
+    }
+
+    /**
+     * Load only the files
+     */
+    public List<JavaFileInfo> readFiles() throws IOException {
+        List<JavaFileInfo> files = new ArrayList<>();
+        read(files::add, commit -> { });
+        return files;
+    }
+
+    /**
+     * Load only the commits (in the order they were written)
+     */
+    public List<CommitInfo> readCommits() throws IOException {
+        List<CommitInfo> commits = new ArrayList<>();
+        read(file -> { }, commits::add);
+        return commits;
+    }
+
+    /**
+     * Drop the mapping (the operating system unmaps it once it is garbage collected)
+     */
+    @Override
+    public void close() {
+        data = null;
+    }
+
+    // ==================== HELPERS ====================
+
+    private JavaFileInfo readFile(ModelDecoder decoder) throws IOException {
+        boolean relative = decoder.readBoolean();
+        String path = decoder.readString();
+        if (path == null) {
+            throw new IOException("Corrupt data: file record has no path");
+        }
+
+        JavaFileInfo fileInfo = new JavaFileInfo(toPath(relative ? projectRoot : null, path));
+        fileInfo.setPackageName(decoder.readSymbol());
+        fileInfo.setFileSize(decoder.readVarLong());
+        fileInfo.setLastModified(decoder.readDateTime());
+        fileInfo.setSourceRevision(decoder.readSymbol());
+        fileInfo.restoreReleased(decoder.readLineIndex());
+
+        fileInfo.setParsed(decoder.readBoolean());
+        fileInfo.setParseError(decoder.readString());
+        fileInfo.setImports(decoder.readSymbolList());
+        int classCount = decoder.readCount();
+        List<ClassInfo> classes = new ArrayList<>(classCount);
+        for (int i = 0; i < classCount; i++) {
+            classes.add(decoder.readClassInfo());
+        }
+        fileInfo.setClasses(classes);
+        return fileInfo;
+    }
+
+    private static Path toPath(Path base, String path) throws IOException {
+        try {
+            return base != null ? base.resolve(path) : Paths.get(path);
+        } catch (InvalidPathException e) {
+            throw new IOException("Corrupt data: invalid path " + path, e);
+        }
+    }
+}
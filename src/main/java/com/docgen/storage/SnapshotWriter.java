@@ -0,0 +1,213 @@
+package com.docgen.storage;
+
+import com.docgen.model.ClassInfo;
+import com.docgen.model.CommitInfo;
+import com.docgen.model.JavaFileInfo;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+
+/**
+ * SnapshotWriter - Saves an analyzed model (files + commits) to one compact binary file.
+ *
+ * Rendering, search or comparing two releases only need the model, not
+ * the parsing. A snapshot lets them load it instead of analyzing again:
+ *
+ *   try (SnapshotWriter writer = SnapshotWriter.create(file, projectRoot)) {
+ *       for (JavaFileInfo javaFile : javaFiles) writer.writeFile(javaFile);
+ *       for (CommitInfo commit : commits) writer.writeCommit(commit);
+ *   }
+ *
+ * FILE LAYOUT:
+ *
+ *   ┌──────────────────────────────────────────────┐
+ *   │ "DGSN"  FORMAT_VERSION  createdAt  root      │  header
+ *   ├──────────────────────────────────────────────┤
+ *   │ FILE   JavaFileInfo (imports, classes, ...)  │  records, in the
+ *   │ COMMIT CommitInfo (file changes)             │  order they were
+ *   │ ...                                          │  written
+ *   ├──────────────────────────────────────────────┤
+ *   │ END                                          │  missing = truncated
+ *   └──────────────────────────────────────────────┘
+ *
+ * Records are encoded by ModelEncoder with a string table, so a type name,
+ * annotation or author is stored in full only once per snapshot. Modifiers
+ * are one varint bitmask, line numbers and line offsets are varints. File
+ * paths are stored relative to the project root.
+ *
+ * Each record is written as soon as it is handed over - the model never
+ * has to be in memory all at once. The snapshot is written to a temp file
+ * and only moved into place by close(), so readers never see half a
+ * snapshot; if a write failed, close() throws the temp file away instead.
+ *
+ * The content of files is NOT stored (see SnapshotReader).
+ */
+public class SnapshotWriter implements AutoCloseable {
+
+    /**
+     * Bump this whenever the snapshot layout or ModelEncoder's output changes
+     */
+    public static final int FORMAT_VERSION = 2;
+
+    // "DGSN" - DocGen SNapshot
+    static final int MAGIC = 0x4447534E;
+
+    // Record tags
+    static final int END = 0;
+    static final int FILE_RECORD = 1;
+    static final int COMMIT_RECORD = 2;
+
+    private final Path file;
+    private final Path temp;
+    private final Path projectRoot;
+    private final OutputStream out;
+    private final ModelEncoder encoder;
+
+    private int fileCount;
+    private int commitCount;
+    private boolean failed;
+    private boolean closed;
+
+    private SnapshotWriter(Path file, Path temp, Path projectRoot, OutputStream out) {
+        this.file = file;
+        this.temp = temp;
+        this.projectRoot = projectRoot;
+        this.out = out;
+        this.encoder = ModelEncoder.withStringTable(out);
+    }
+
+    /**
+     * Start writing a snapshot
+     *
+     * @param file Where the snapshot goes (replaced when the writer is closed)
+     * @param projectRoot File paths are stored relative to this
+     * @return The writer - close it to finish the snapshot
+     * @throws IOException if the file cannot be created
+     */
+    public static SnapshotWriter create(Path file, Path projectRoot) throws IOException {
+        Path absoluteFile = file.toAbsolutePath();
+        Files.createDirectories(absoluteFile.getParent());
+        Path temp = Files.createTempFile(absoluteFile.getParent(), "snapshot", ".tmp");
+
+        SnapshotWriter writer = new SnapshotWriter(absoluteFile, temp,
+                projectRoot.toAbsolutePath().normalize(),
+                new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024));
+        try {
+            writer.encoder.writeFixedInt(MAGIC);
+            writer.encoder.writeFixedInt(FORMAT_VERSION);
+            writer.encoder.writeDateTime(LocalDateTime.now());
+            writer.encoder.writeString(writer.projectRoot.toString());
+        } catch (IOException e) {
+            writer.failed = true;
+            writer.close();
+            throw e;
+        }
+        return writer;
+    }
+
+    /**
+     * Add an analyzed file (structure, line index and metadata - not the content)
+     */
+    public void writeFile(JavaFileInfo fileInfo) throws IOException {
+        checkOpen();
+        try {
+            encoder.writeVarInt(FILE_RECORD);
+            writePath(fileInfo.getFilePath());
+            encoder.writeSymbol(fileInfo.getPackageName());
+            encoder.writeVarLong(fileInfo.getFileSize());
+            encoder.writeDateTime(fileInfo.getLastModified());
+            encoder.writeSymbol(fileInfo.getSourceRevision());
+            encoder.writeLineIndex(fileInfo.getLineIndex());
+
+            encoder.writeBoolean(fileInfo.isParsed());
+            encoder.writeString(fileInfo.getParseError());
+            encoder.writeSymbolList(fileInfo.getImports());
+            encoder.writeVarInt(fileInfo.getClasses().size());
+            for (ClassInfo classInfo : fileInfo.getClasses()) {
+                encoder.writeClassInfo(classInfo);
+            }
+            fileCount++;
+        } catch (IOException | RuntimeException e) {
+            failed = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Add a commit with its file changes. Line counts that were never
+     * worked out are stored as blob ids (see ModelEncoder.writeFileChangeInfo).
+     */
+    public void writeCommit(CommitInfo commit) throws IOException {
+        checkOpen();
+        try {
+            encoder.writeVarInt(COMMIT_RECORD);
+            encoder.writeCommitInfo(commit);
+            commitCount++;
+        } catch (IOException | RuntimeException e) {
+            failed = true;
+            throw e;
+        }
+    }
+
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    public int getCommitCount() {
+        return commitCount;
+    }
+
+    /**
+     * Finish the snapshot and move it into place
+     * (or delete it, if any write failed)
+     *
+     * @throws IOException if the snapshot could not be completed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            if (!failed) {
+                encoder.writeVarInt(END);
+                encoder.flush();
+            }
+            out.close();
+            if (!failed) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // ==================== HELPERS ====================
+
+    /**
+     * Paths under the project root are stored relative to it ('/' separated),
+     * anything else as an absolute path
+     */
+    private void writePath(Path path) throws IOException {
+        Path absolute = path.toAbsolutePath().normalize();
+        boolean relative = absolute.startsWith(projectRoot);
+        encoder.writeBoolean(relative);
+        encoder.writeString(relative
+                ? projectRoot.relativize(absolute).toString().replace('\\', '/')
+                : absolute.toString());
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Snapshot writer is closed");
+        }
+    }
+}